@@ -0,0 +1,60 @@
+package com.dietary.common.security;
+
+import com.dietary.auth.domain.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares per-request JWT handling in the authentication filter:
+ * the original validate-then-parse path (two parsers, two signature checks),
+ * a single verification with the shared parser, the digest cache hit path,
+ * and {@code validateToken} as called by other components.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(
+                "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256",
+                900_000L, 604_800_000L, 10_000, new SimpleMeterRegistry());
+        token = tokenProvider.generateAccessToken(UserPrincipal.fromClaims(
+                UUID.randomUUID(), "bench@example.com", "Bench User", Role.CLIENT, UUID.randomUUID()));
+        tokenProvider.verifyToken(token);
+    }
+
+    @Benchmark
+    public void doubleParse(Blackhole bh) {
+        // Baseline: validateToken followed by getUserIdFromToken, each with a fresh parser
+        bh.consume(Jwts.parser().verifyWith(tokenProvider.getSigningKey()).build().parseSignedClaims(token));
+        Claims claims = Jwts.parser().verifyWith(tokenProvider.getSigningKey()).build()
+                .parseSignedClaims(token).getPayload();
+        bh.consume(UUID.fromString(claims.getSubject()));
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return tokenProvider.parseAndVerify(token);
+    }
+
+    @Benchmark
+    public Claims cachedVerify() {
+        return tokenProvider.verifyToken(token).orElseThrow();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,271 @@
+package com.dietary.fixtures;
+
+import com.dietary.client.domain.Client;
+import com.dietary.client.domain.Gender;
+import com.dietary.food.domain.Food;
+import com.dietary.food.nutrition.NutrientMath;
+import com.dietary.food.nutrition.NutrientVector;
+import com.dietary.food.nutrition.UnitRegistry;
+import com.dietary.goal.domain.ActivityLevel;
+import com.dietary.mealplan.domain.Meal;
+import com.dietary.mealplan.domain.MealOption;
+import com.dietary.mealplan.domain.MealOptionItem;
+import com.dietary.mealplan.domain.MealPlan;
+import com.dietary.mealplan.domain.MealType;
+import com.dietary.mealplan.service.ActivePlanSnapshot;
+import com.dietary.measurement.domain.Measurement;
+import com.dietary.tracking.controller.dto.DailyMealDTO;
+import com.dietary.tracking.controller.dto.DailyPlanDTO;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Deterministic entity graphs for benchmarks. The same seed always produces the
+ * same foods, plans, histories and ids, so runs of different builds measure
+ * identical inputs. Values follow the shapes the API produces: item nutrients
+ * are computed with {@link NutrientMath} and option totals are their sums.
+ */
+public class BenchmarkFixtures {
+
+    private static final String[] SERVING_SIZES = { "100", "1", "0.5", "250", "1 medium", "30", "1 slice" };
+    private static final String[] SERVING_UNITS = { "g", "cup", "tbsp", "ml", "medium", "g", "slice" };
+    private static final String[] QUANTITY_UNITS = { "g", "kg", "oz", "ml", "cup", "tbsp", "serving", "slice" };
+    private static final String[] CATEGORIES = { "Grains", "Fruits", "Vegetables", "Dairy", "Protein", "Snacks" };
+    private static final Instant EPOCH = Instant.parse("2025-01-06T07:30:00Z");
+
+    private final Random random;
+
+    public BenchmarkFixtures(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public List<Food> foods(int count) {
+        List<Food> foods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String size = SERVING_SIZES[i % SERVING_SIZES.length];
+            String unit = SERVING_UNITS[i % SERVING_UNITS.length];
+            foods.add(Food.builder()
+                    .id(uuid())
+                    .name("Food " + i)
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .servingSize(size)
+                    .servingUnit(unit)
+                    // As stored on save
+                    .servingGrams(UnitRegistry.toGrams(size, unit))
+                    .caloriesPerServing(random.nextInt(900))
+                    .proteinGrams(grams())
+                    .carbsGrams(grams())
+                    .fatGrams(grams())
+                    .fiberGrams(i % 3 == 0 ? null : grams())
+                    .sugarGrams(i % 4 == 0 ? null : grams())
+                    .sodiumMg(BigDecimal.valueOf(random.nextInt(200_000), 2))
+                    .build());
+        }
+        return foods;
+    }
+
+    /** A random unit from the ones plans use, to convert quantities through the registry. */
+    public String quantityUnit() {
+        return QUANTITY_UNITS[random.nextInt(QUANTITY_UNITS.length)];
+    }
+
+    public BigDecimal quantity() {
+        return BigDecimal.valueOf(1 + random.nextInt(50_000), 2);
+    }
+
+    /**
+     * A client plan of {@code meals} meals with {@code optionsPerMeal} options of
+     * {@code itemsPerOption} items each, drawn from {@code foods}.
+     */
+    public MealPlan mealPlan(List<Food> foods, int meals, int optionsPerMeal, int itemsPerOption) {
+        MealType[] types = MealType.values();
+        Client client = client();
+        MealPlan plan = MealPlan.builder()
+                .id(uuid())
+                .client(client)
+                .name("Plan for " + client.getFullName())
+                .description("Generated benchmark plan")
+                .isActive(true)
+                .createdAt(EPOCH)
+                .updatedAt(EPOCH)
+                .build();
+
+        for (int m = 0; m < meals; m++) {
+            Meal meal = Meal.builder()
+                    .id(uuid())
+                    .mealPlan(plan)
+                    .mealType(types[m % types.length])
+                    .name(types[m % types.length].name().toLowerCase())
+                    .displayOrder(m)
+                    .createdAt(EPOCH)
+                    .build();
+            for (int o = 0; o < optionsPerMeal; o++) {
+                MealOption option = MealOption.builder()
+                        .id(uuid())
+                        .meal(meal)
+                        .name("Option " + (o + 1))
+                        .displayOrder(o)
+                        .createdAt(EPOCH)
+                        .build();
+                for (int i = 0; i < itemsPerOption; i++) {
+                    option.getItems().add(item(option, foods.get(random.nextInt(foods.size())), i));
+                }
+                option.setTotalCalories(option.getItems().stream().mapToInt(MealOptionItem::getCalories).sum());
+                option.setTotalProteinGrams(sum(option.getItems(), MealOptionItem::getProteinGrams));
+                option.setTotalCarbsGrams(sum(option.getItems(), MealOptionItem::getCarbsGrams));
+                option.setTotalFatGrams(sum(option.getItems(), MealOptionItem::getFatGrams));
+                option.setTotalFiberGrams(sum(option.getItems(), MealOptionItem::getFiberGrams));
+                option.setTotalSugarGrams(sum(option.getItems(), MealOptionItem::getSugarGrams));
+                option.setTotalSodiumMg(sum(option.getItems(), MealOptionItem::getSodiumMg));
+                meal.getOptions().add(option);
+            }
+            plan.getMeals().add(meal);
+        }
+        return plan;
+    }
+
+    /** {@code count} measurements of one client, oldest first, a few days apart. */
+    public List<Measurement> measurements(int count) {
+        Client client = client();
+        List<Measurement> history = new ArrayList<>(count);
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        double weight = 70 + random.nextInt(40);
+        double bodyFat = 18 + random.nextInt(15);
+        for (int i = 0; i < count; i++) {
+            weight += (random.nextDouble() - 0.6) * 0.8;
+            bodyFat += (random.nextDouble() - 0.6) * 0.3;
+            BigDecimal weightKg = decimal(weight);
+            history.add(Measurement.builder()
+                    .id(uuid())
+                    .client(client)
+                    .measurementDate(date)
+                    .weightKg(weightKg)
+                    // Scale readings come with body composition; manual entries often do not
+                    .bodyFatPercentage(i % 3 == 0 ? null : decimal(bodyFat))
+                    .muscleMassKg(i % 3 == 0 ? null : decimal(weight * 0.42))
+                    .bmi(weightKg.divide(BigDecimal.valueOf(2.89), 2, RoundingMode.HALF_UP))
+                    .createdAt(EPOCH.plus(i, ChronoUnit.DAYS))
+                    .build());
+            date = date.plusDays(1 + random.nextInt(7));
+        }
+        return history;
+    }
+
+    public Client client() {
+        int n = random.nextInt(100_000);
+        return Client.builder()
+                .id(uuid())
+                .fullName("Client " + n)
+                .email("client" + n + "@example.com")
+                .birthDate(LocalDate.of(1950 + random.nextInt(55), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                .heightCm(BigDecimal.valueOf(150 + random.nextInt(50)))
+                .gender(random.nextBoolean() ? Gender.FEMALE : Gender.MALE)
+                .build();
+    }
+
+    public ActivityLevel activityLevel() {
+        ActivityLevel[] levels = ActivityLevel.values();
+        return levels[random.nextInt(levels.length)];
+    }
+
+    public double weightKg() {
+        return 50 + random.nextDouble() * 80;
+    }
+
+    /**
+     * The daily plan response for the plan's client, with {@code completed}
+     * meals tracked and some water logged, as built by the tracking service.
+     */
+    public DailyPlanDTO dailyPlan(MealPlan plan, int completed) {
+        ActivePlanSnapshot snapshot = ActivePlanSnapshot.fromEntity(plan);
+        List<DailyMealDTO> meals = new ArrayList<>();
+        int caloriesConsumed = 0;
+        for (int m = 0; m < snapshot.meals().size(); m++) {
+            ActivePlanSnapshot.MealSnapshot meal = snapshot.meals().get(m);
+            boolean done = m < completed;
+            UUID selected = done ? meal.options().get(random.nextInt(meal.options().size())).id() : null;
+            if (done) {
+                caloriesConsumed += meal.options().stream()
+                        .filter(o -> o.id().equals(selected))
+                        .mapToInt(o -> o.totalCalories() != null ? o.totalCalories() : 0)
+                        .sum();
+            }
+            meals.add(DailyMealDTO.builder()
+                    .mealId(meal.mealId())
+                    .mealType(meal.mealType())
+                    .name(meal.name())
+                    .displayOrder(meal.displayOrder())
+                    .isCompleted(done)
+                    .selectedOptionId(selected)
+                    .completedAt(done ? EPOCH.plus(m * 3L, ChronoUnit.HOURS) : null)
+                    .options(meal.options())
+                    .build());
+        }
+        return DailyPlanDTO.builder()
+                .date(LocalDate.of(2025, 1, 6))
+                .mealPlanId(snapshot.planId())
+                .mealPlanName(snapshot.name())
+                .dailyCalorieTarget(snapshot.dailyCalories())
+                .meals(meals)
+                .totalWaterMl(250 * random.nextInt(12))
+                .caloriesConsumed(caloriesConsumed)
+                .mealsCompleted(Math.min(completed, meals.size()))
+                .totalMeals(meals.size())
+                .build();
+    }
+
+    private MealOptionItem item(MealOption option, Food food, int order) {
+        NutrientVector nutrients = NutrientVector.of(food);
+        BigDecimal quantity = quantity();
+        String unit = random.nextInt(4) == 0 ? quantityUnit() : food.getServingUnit();
+        long ratio = NutrientMath.servingRatio(quantity, UnitRegistry.lookup(unit), nutrients);
+        return MealOptionItem.builder()
+                .id(uuid())
+                .mealOption(option)
+                .food(food)
+                .quantity(quantity)
+                .quantityUnit(unit)
+                .calories(NutrientMath.calories(nutrients, ratio))
+                .proteinGrams(NutrientMath.amount(nutrients, NutrientVector.PROTEIN, ratio))
+                .carbsGrams(NutrientMath.amount(nutrients, NutrientVector.CARBS, ratio))
+                .fatGrams(NutrientMath.amount(nutrients, NutrientVector.FAT, ratio))
+                .fiberGrams(NutrientMath.amount(nutrients, NutrientVector.FIBER, ratio))
+                .sugarGrams(NutrientMath.amount(nutrients, NutrientVector.SUGAR, ratio))
+                .sodiumMg(NutrientMath.amount(nutrients, NutrientVector.SODIUM, ratio))
+                .displayOrder(order)
+                .createdAt(EPOCH)
+                .build();
+    }
+
+    private UUID uuid() {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private BigDecimal grams() {
+        return BigDecimal.valueOf(random.nextInt(10_000), 2);
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal sum(List<MealOptionItem> items, Function<MealOptionItem, BigDecimal> nutrient) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (MealOptionItem item : items) {
+            BigDecimal value = nutrient.apply(item);
+            if (value != null) {
+                total = total.add(value);
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,115 @@
+package com.dietary.food.nutrition;
+
+import com.dietary.fixtures.BenchmarkFixtures;
+import com.dietary.food.domain.Food;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes calories and six nutrients for every item of a large meal plan:
+ * the previous BigDecimal arithmetic (serving size parsed per item, with an
+ * exception for sizes like "1 medium") against {@link NutrientMath} with each
+ * food's {@link NutrientVector} parsed once per plan, with quantities in the
+ * serving's own unit and in mixed units that need conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NutrientMathBenchmark {
+
+    private static final int[] NUTRIENTS = {
+            NutrientVector.PROTEIN, NutrientVector.CARBS, NutrientVector.FAT,
+            NutrientVector.FIBER, NutrientVector.SUGAR, NutrientVector.SODIUM
+    };
+
+    // 6 meals x 4 options x 5 items, and a month-long plan of the same shape
+    @Param({ "120", "3600" })
+    private int items;
+
+    private Food[] itemFoods;
+    private BigDecimal[] quantities;
+    private String[] units;
+    private String[] mixedUnits;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(42);
+        List<Food> foods = fixtures.foods(200);
+        Random random = new Random(42);
+        itemFoods = new Food[items];
+        quantities = new BigDecimal[items];
+        units = new String[items];
+        mixedUnits = new String[items];
+        for (int i = 0; i < items; i++) {
+            itemFoods[i] = foods.get(random.nextInt(foods.size()));
+            quantities[i] = fixtures.quantity();
+            // Same unit as the serving, so both variants compute the same numbers
+            units[i] = itemFoods[i].getServingUnit();
+            mixedUnits[i] = fixtures.quantityUnit();
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole bh) {
+        for (int i = 0; i < items; i++) {
+            Food food = itemFoods[i];
+            BigDecimal ratio;
+            try {
+                ratio = quantities[i].divide(new BigDecimal(food.getServingSize()), 4, RoundingMode.HALF_UP);
+            } catch (NumberFormatException e) {
+                ratio = BigDecimal.ONE;
+            }
+            bh.consume(ratio.multiply(BigDecimal.valueOf(food.getCaloriesPerServing()))
+                    .setScale(0, RoundingMode.HALF_UP).intValue());
+            bh.consume(scale(food.getProteinGrams(), ratio));
+            bh.consume(scale(food.getCarbsGrams(), ratio));
+            bh.consume(scale(food.getFatGrams(), ratio));
+            bh.consume(scale(food.getFiberGrams(), ratio));
+            bh.consume(scale(food.getSugarGrams(), ratio));
+            bh.consume(scale(food.getSodiumMg(), ratio));
+        }
+    }
+
+    @Benchmark
+    public void fixedPoint(Blackhole bh) {
+        // Vectors are parsed once per plan build, as in MealPlanService
+        Map<UUID, NutrientVector> vectors = new HashMap<>();
+        for (int i = 0; i < items; i++) {
+            Food food = itemFoods[i];
+            NutrientVector nutrients = vectors.computeIfAbsent(food.getId(), id -> NutrientVector.of(food));
+            long ratio = NutrientMath.servingRatio(quantities[i], UnitRegistry.lookup(units[i]), nutrients);
+            bh.consume(NutrientMath.calories(nutrients, ratio));
+            for (int nutrient : NUTRIENTS) {
+                bh.consume(NutrientMath.amount(nutrients, nutrient, ratio));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fixedPointConverted(Blackhole bh) {
+        // Quantities in other units than the serving: registry lookups and unit conversion
+        Map<UUID, NutrientVector> vectors = new HashMap<>();
+        for (int i = 0; i < items; i++) {
+            Food food = itemFoods[i];
+            NutrientVector nutrients = vectors.computeIfAbsent(food.getId(), id -> NutrientVector.of(food));
+            long ratio = NutrientMath.servingRatio(quantities[i], UnitRegistry.lookup(mixedUnits[i]), nutrients);
+            bh.consume(NutrientMath.calories(nutrients, ratio));
+            for (int nutrient : NUTRIENTS) {
+                bh.consume(NutrientMath.amount(nutrients, nutrient, ratio));
+            }
+        }
+    }
+
+    private static BigDecimal scale(BigDecimal perServing, BigDecimal ratio) {
+        return perServing != null ? perServing.multiply(ratio).setScale(2, RoundingMode.HALF_UP) : null;
+    }
+}
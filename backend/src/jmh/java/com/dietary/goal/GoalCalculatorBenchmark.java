@@ -0,0 +1,73 @@
+package com.dietary.goal;
+
+import com.dietary.client.domain.Client;
+import com.dietary.client.domain.Gender;
+import com.dietary.fixtures.BenchmarkFixtures;
+import com.dietary.goal.domain.ActivityLevel;
+import com.dietary.goal.domain.GoalType;
+import com.dietary.goal.service.GoalCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Goal targets for a batch of client profiles, as computed per client by goal
+ * creation and bulk recalculation: the BMR alone and the full set of targets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GoalCalculatorBenchmark {
+
+    private static final int PROFILES = 1024;
+    private static final GoalType[] GOAL_TYPES = GoalType.values();
+
+    private double[] weights;
+    private double[] heights;
+    private int[] ages;
+    private Gender[] genders;
+    private ActivityLevel[] activityLevels;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(42);
+        LocalDate today = LocalDate.of(2025, 1, 6);
+        weights = new double[PROFILES];
+        heights = new double[PROFILES];
+        ages = new int[PROFILES];
+        genders = new Gender[PROFILES];
+        activityLevels = new ActivityLevel[PROFILES];
+        for (int i = 0; i < PROFILES; i++) {
+            Client client = fixtures.client();
+            weights[i] = fixtures.weightKg();
+            heights[i] = client.getHeightCm().doubleValue();
+            ages[i] = Period.between(client.getBirthDate(), today).getYears();
+            genders[i] = client.getGender();
+            activityLevels[i] = fixtures.activityLevel();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROFILES)
+    public int calculateBMR() {
+        int sum = 0;
+        for (int i = 0; i < PROFILES; i++) {
+            sum += GoalCalculator.calculateBMR(weights[i], heights[i], ages[i], genders[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROFILES)
+    public void calculateTargets(Blackhole bh) {
+        BigDecimal weeklyChange = new BigDecimal("0.5");
+        for (int i = 0; i < PROFILES; i++) {
+            bh.consume(GoalCalculator.calculate(weights[i], heights[i], ages[i], genders[i],
+                    activityLevels[i], GOAL_TYPES[i % GOAL_TYPES.length], weeklyChange, null, null, null));
+        }
+    }
+}
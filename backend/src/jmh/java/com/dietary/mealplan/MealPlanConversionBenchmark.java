@@ -0,0 +1,49 @@
+package com.dietary.mealplan;
+
+import com.dietary.fixtures.BenchmarkFixtures;
+import com.dietary.mealplan.controller.dto.MealPlanDTO;
+import com.dietary.mealplan.domain.MealPlan;
+import com.dietary.mealplan.service.ActivePlanSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-response conversion of a loaded meal plan: the full plan DTO
+ * returned to dietitians, the list summary, and the active plan snapshot the
+ * daily plan endpoint builds on a cache miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MealPlanConversionBenchmark {
+
+    // meals x options per meal x items per option: a light plan, a typical one and a detailed one
+    @Param({ "3x2x3", "6x4x5", "8x6x8" })
+    private String shape;
+
+    private MealPlan plan;
+
+    @Setup
+    public void setUp() {
+        String[] dimensions = shape.split("x");
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(42);
+        plan = fixtures.mealPlan(fixtures.foods(200),
+                Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]), Integer.parseInt(dimensions[2]));
+    }
+
+    @Benchmark
+    public MealPlanDTO fromEntity() {
+        return MealPlanDTO.fromEntity(plan);
+    }
+
+    @Benchmark
+    public MealPlanDTO fromEntitySummary() {
+        return MealPlanDTO.fromEntitySummary(plan);
+    }
+
+    @Benchmark
+    public ActivePlanSnapshot activePlanSnapshot() {
+        return ActivePlanSnapshot.fromEntity(plan);
+    }
+}
@@ -0,0 +1,42 @@
+package com.dietary.measurement;
+
+import com.dietary.fixtures.BenchmarkFixtures;
+import com.dietary.measurement.controller.dto.MeasurementDTO;
+import com.dietary.measurement.domain.Measurement;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A measurement history page converted to DTOs with the change against the
+ * previous measurement, as the measurement list does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MeasurementConversionBenchmark {
+
+    // A default page, and a year of daily weigh-ins
+    @Param({ "20", "365" })
+    private int measurements;
+
+    private List<Measurement> history;
+
+    @Setup
+    public void setUp() {
+        history = new BenchmarkFixtures(42).measurements(measurements);
+    }
+
+    @Benchmark
+    public List<MeasurementDTO> fromEntityWithDelta() {
+        List<MeasurementDTO> result = new ArrayList<>(history.size());
+        Measurement previous = null;
+        for (Measurement measurement : history) {
+            result.add(MeasurementDTO.fromEntityWithDelta(measurement, previous));
+            previous = measurement;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.dietary.tracking;
+
+import com.dietary.common.dto.ApiResponse;
+import com.dietary.fixtures.BenchmarkFixtures;
+import com.dietary.tracking.controller.dto.DailyPlanDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the daily plan response with the application's
+ * Jackson settings (ISO dates, nulls omitted), as written by the message
+ * converter for GET /api/mobile/tracking/daily.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DailyPlanSerializationBenchmark {
+
+    // meals x options per meal x items per option
+    @Param({ "3x2x3", "6x4x5" })
+    private String shape;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<DailyPlanDTO> response;
+
+    @Setup
+    public void setUp() {
+        // Same settings as spring.jackson in application.yml
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        String[] dimensions = shape.split("x");
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(42);
+        int meals = Integer.parseInt(dimensions[0]);
+        DailyPlanDTO plan = fixtures.dailyPlan(fixtures.mealPlan(fixtures.foods(200),
+                meals, Integer.parseInt(dimensions[1]), Integer.parseInt(dimensions[2])), meals / 2);
+        response = ApiResponse.success(plan);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,229 @@
+package com.dietary.tracking;
+
+import com.dietary.DietaryApplication;
+import com.dietary.auth.domain.Role;
+import com.dietary.auth.domain.User;
+import com.dietary.auth.repository.UserRepository;
+import com.dietary.client.repository.ClientRepository;
+import com.dietary.common.security.JwtTokenProvider;
+import com.dietary.common.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput and latency percentiles of the two busiest mobile endpoints,
+ * GET /api/mobile/tracking/daily and POST /api/mobile/tracking/meals, with
+ * requests served on platform threads and on virtual threads.
+ * <p>
+ * Each trial boots the application on a random port against the database in
+ * BENCHMARK_DB_URL, BENCHMARK_DB_USER and BENCHMARK_DB_PASSWORD (the
+ * docker-compose database by default) and seeds one client with an active
+ * plan per benchmark thread. The virtual mode needs a Java 21 runtime. Run with
+ * {@code ./gradlew jmh -PjmhIncludes=TrackingConcurrencyBenchmark}; the
+ * SampleTime results carry the p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(TrackingConcurrencyBenchmark.CONCURRENCY)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+public class TrackingConcurrencyBenchmark {
+
+    // Well above Tomcat's 200 platform worker threads
+    static final int CONCURRENCY = 400;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({ "platform", "virtual" })
+    private String threads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient http;
+    private String baseUrl;
+    private final List<ClientSession> sessions = new ArrayList<>();
+    private final AtomicInteger nextSession = new AtomicInteger();
+
+    record ClientSession(String token, List<UUID> mealIds, List<UUID> optionIds) {
+    }
+
+    @State(Scope.Thread)
+    public static class Session {
+
+        private ClientSession client;
+        private int counter;
+
+        @Setup
+        public void setUp(TrackingConcurrencyBenchmark benchmark) {
+            // One client per thread, so meal tracking does not contend on the same rows
+            client = benchmark.sessions.get(benchmark.nextSession.getAndIncrement() % benchmark.sessions.size());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("The virtual mode needs Java 21; running on " + Runtime.version());
+        }
+
+        SpringApplication application = new SpringApplication(DietaryApplication.class);
+        if (virtual) {
+            application.setAdditionalProfiles("virtual-threads");
+        }
+        context = application.run(
+                "--spring.datasource.url=" + env("BENCHMARK_DB_URL", "jdbc:postgresql://localhost:5432/dietiary_dev"),
+                "--spring.datasource.username=" + env("BENCHMARK_DB_USER", "dietiary"),
+                "--spring.datasource.password=" + env("BENCHMARK_DB_PASSWORD", "dietiary123!"),
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--server.port=0",
+                // application.yml logs every request at DEBUG
+                "--logging.level.root=WARN",
+                "--logging.level.com.dietary=WARN",
+                "--logging.level.org.springframework.security=WARN");
+
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int getDailyPlan(Session session) throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/mobile/tracking/daily"))
+                .header("Authorization", "Bearer " + session.client.token())
+                .GET());
+    }
+
+    @Benchmark
+    public int trackMeal(Session session) throws Exception {
+        ClientSession client = session.client;
+        int i = session.counter++;
+        Map<String, Object> body = Map.of(
+                "mealId", client.mealIds().get(i % client.mealIds().size()),
+                "selectedOptionId", client.optionIds().get(i % client.optionIds().size()));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/mobile/tracking/meals"))
+                .header("Authorization", "Bearer " + client.token())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body))));
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body().length();
+    }
+
+    private void seed() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        String dietitianToken = post("/api/auth/register", null, Map.of(
+                "email", "bench-" + run + "@example.com",
+                "password", "benchmark-password",
+                "fullName", "Benchmark Dietitian")).at("/data/accessToken").asText();
+        String foodId = post("/api/foods", dietitianToken, Map.of(
+                "name", "Benchmark Oats " + run, "servingSize", "100", "servingUnit", "g",
+                "caloriesPerServing", 389, "proteinGrams", 16.9, "carbsGrams", 66.3, "fatGrams", 6.9))
+                .at("/data/id").asText();
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ClientRepository clientRepository = context.getBean(ClientRepository.class);
+        JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                context.getBean(PlatformTransactionManager.class));
+
+        for (int c = 0; c < CONCURRENCY; c++) {
+            String email = "bench-" + run + "-" + c + "@example.com";
+            String fullName = "Benchmark Client " + c;
+            UUID clientId = UUID.fromString(post("/api/clients", dietitianToken, Map.of(
+                    "fullName", fullName, "email", email,
+                    "birthDate", "1990-01-01", "heightCm", 170, "gender", "FEMALE"))
+                    .at("/data/id").asText());
+
+            List<Map<String, Object>> meals = new ArrayList<>();
+            for (String type : List.of("BREAKFAST", "LUNCH", "DINNER")) {
+                List<Map<String, Object>> options = new ArrayList<>();
+                for (int o = 0; o < 3; o++) {
+                    options.add(Map.of("name", type + " " + o, "items", List.of(
+                            Map.of("foodId", foodId, "quantity", 50 + 25 * o, "quantityUnit", "g"))));
+                }
+                meals.add(Map.of("mealType", type, "name", type.toLowerCase(), "options", options));
+            }
+            JsonNode plan = post("/api/meal-plans", dietitianToken, Map.of(
+                    "name", "Benchmark plan", "clientId", clientId, "isTemplate", false, "meals", meals)).at("/data");
+            post("/api/meal-plans/" + plan.at("/id").asText() + "/activate", dietitianToken, null);
+
+            // Client accounts are created directly; accepting invites would only add BCrypt time
+            User user = transactionTemplate.execute(status -> {
+                User created = userRepository.save(User.builder()
+                        .email(email)
+                        .passwordHash("{noop}unused")
+                        .fullName(fullName)
+                        .role(Role.CLIENT)
+                        .build());
+                clientRepository.findById(clientId).orElseThrow().setUser(created);
+                return created;
+            });
+            String token = tokenProvider.generateAccessToken(UserPrincipal.fromClaims(
+                    user.getId(), email, user.getFullName(), Role.CLIENT, clientId));
+
+            List<UUID> mealIds = new ArrayList<>();
+            List<UUID> optionIds = new ArrayList<>();
+            for (JsonNode meal : plan.at("/meals")) {
+                mealIds.add(UUID.fromString(meal.at("/id").asText()));
+                optionIds.add(UUID.fromString(meal.at("/options/0/id").asText()));
+            }
+            sessions.add(new ClientSession(token, mealIds, optionIds));
+        }
+    }
+
+    private JsonNode post(String path, String token, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(body != null
+                        ? HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body))
+                        : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(path + " returned HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+}
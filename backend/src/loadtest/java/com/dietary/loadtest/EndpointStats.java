@@ -0,0 +1,90 @@
+package com.dietary.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and outcomes of one operation during the measured window. Any
+ * response other than 2xx, a timeout, a connection failure or an arrival
+ * dropped at the in-flight limit counts as an error; latencies are kept for
+ * every completed request, successful or not.
+ */
+class EndpointStats {
+
+    private final Operation operation;
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    EndpointStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    synchronized void response(int status, long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (status / 100 != 2) {
+            errors++;
+        }
+        outcomes.merge(String.valueOf(status), 1L, Long::sum);
+    }
+
+    synchronized void failure(String reason) {
+        errors++;
+        outcomes.merge(reason, 1L, Long::sum);
+    }
+
+    /**
+     * A snapshot of the results so far.
+     *
+     * @param measuredSeconds length of the measured window, to turn counts into rates
+     */
+    synchronized Summary summarize(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        long requests = outcomes.values().stream().mapToLong(Long::longValue).sum();
+        return new Summary(
+                operation.endpoint(),
+                requests,
+                requests / measuredSeconds,
+                errors,
+                requests == 0 ? 0 : (double) errors / requests,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.90),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]),
+                new TreeMap<>(outcomes));
+    }
+
+    record Summary(
+            String endpoint,
+            long requests,
+            double throughput,
+            long errors,
+            double errorRate,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs,
+            Map<String, Long> outcomes) {
+    }
+
+    // Nearest rank
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return millis(sorted[Math.max(rank - 1, 0)]);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,122 @@
+package com.dietary.loadtest;
+
+import com.dietary.DietaryApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HTTP load test of the mobile morning peak: clients opening their daily plan,
+ * logging meals and water and signing in again, and dietitians checking
+ * progress, all against one application instance.
+ * <p>
+ * Boots the application on a random port, against an embedded PostgreSQL
+ * unless {@code loadtest.db.url} points at a database, seeds it, drives an
+ * open-loop request mix (see {@link OpenLoopDriver}) and prints throughput,
+ * latency percentiles and error rates per endpoint. The same figures are
+ * written as JSON to {@code build/results/loadtest/report.json}. Run with
+ * {@code ./gradlew loadTest}; settings are in {@link LoadTestConfig}, e.g.
+ * {@code -Ploadtest.rate=200 -Ploadtest.profiles=virtual-threads}. The
+ * embedded database refuses to start as root.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        EmbeddedPostgres embedded = config.dbUrl().isEmpty() ? EmbeddedPostgres.builder().start() : null;
+        ConfigurableApplicationContext context = null;
+        try {
+            String dbUrl = embedded != null ? embedded.getJdbcUrl("postgres", "postgres") : config.dbUrl();
+            SpringApplication application = new SpringApplication(DietaryApplication.class);
+            if (!config.profiles().isEmpty()) {
+                application.setAdditionalProfiles(config.profiles().split(","));
+            }
+            context = application.run(
+                    "--spring.datasource.url=" + dbUrl,
+                    "--spring.datasource.username=" + config.dbUser(),
+                    "--spring.datasource.password=" + config.dbPassword(),
+                    "--spring.jpa.hibernate.ddl-auto=" + (embedded != null ? "create" : "update"),
+                    "--server.port=0",
+                    // Seeded tokens must outlive the run
+                    "--jwt.access-token-expiration-ms=" + Duration.ofDays(1).toMillis(),
+                    // application.yml logs every request at DEBUG
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.dietary=WARN",
+                    "--logging.level.org.springframework.security=WARN",
+                    // Notices about dropping tables that do not exist yet
+                    "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=ERROR");
+
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(config.timeout())
+                    .build();
+
+            System.out.printf("Seeding %d dietitians with %d clients each%n",
+                    config.dietitians(), config.clientsPerDietitian());
+            List<Seeder.ClientSession> sessions = new Seeder(http, baseUrl, context, config).seed();
+
+            System.out.printf("Offering %.0f requests/s for %ds after %ds of warmup%n",
+                    config.rate(), config.duration().toSeconds(), config.warmup().toSeconds());
+            Map<Operation, EndpointStats> stats = new OpenLoopDriver(http, baseUrl, config, sessions).run();
+
+            report(config, stats);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static void report(LoadTestConfig config, Map<Operation, EndpointStats> stats) throws Exception {
+        double seconds = config.duration().toMillis() / 1_000.0;
+        List<EndpointStats.Summary> endpoints = new ArrayList<>();
+        stats.values().forEach(endpoint -> endpoints.add(endpoint.summarize(seconds)));
+
+        System.out.printf("%n%-36s %9s %9s %8s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "outcomes");
+        for (EndpointStats.Summary e : endpoints) {
+            System.out.printf("%-36s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    e.endpoint(), e.requests(), e.throughput(), e.errorRate() * 100,
+                    e.p50Ms(), e.p90Ms(), e.p99Ms(), e.p999Ms(), e.maxMs(), e.outcomes());
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("dietitians", config.dietitians());
+        settings.put("clientsPerDietitian", config.clientsPerDietitian());
+        settings.put("rate", config.rate());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("mix", config.mix());
+        settings.put("profiles", config.profiles());
+        settings.put("java", Runtime.version().toString());
+        settings.put("processors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("settings", settings);
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.report().toFile(), report);
+        System.out.println("\nReport written to " + config.report().toAbsolutePath());
+    }
+}
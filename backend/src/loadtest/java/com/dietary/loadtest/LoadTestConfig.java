@@ -0,0 +1,85 @@
+package com.dietary.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ *
+ * @param dietitians          dietitians to seed
+ * @param clientsPerDietitian clients seeded for each dietitian, each with an active plan
+ * @param rate                offered load in requests per second, independent of response times
+ * @param warmup              time at the full rate before latencies are recorded
+ * @param duration            measured time
+ * @param timeout             a request without a response after this long counts as an error
+ * @param maxInFlight         arrivals beyond this many outstanding requests are dropped and counted as errors
+ * @param mix                 relative weight of each operation
+ * @param dbUrl               external database; an embedded PostgreSQL is started when empty
+ * @param profiles            extra Spring profiles for the application, e.g. virtual-threads
+ * @param report              where the JSON report is written
+ */
+record LoadTestConfig(
+        int dietitians,
+        int clientsPerDietitian,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Duration timeout,
+        int maxInFlight,
+        Map<Operation, Integer> mix,
+        String dbUrl,
+        String dbUser,
+        String dbPassword,
+        String profiles,
+        Path report,
+        long seed) {
+
+    // The morning peak: clients open the app, log breakfast and water; dietitians check progress
+    private static final String DEFAULT_MIX = "daily=40,meals=25,water=20,login=5,progress=10";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.parseInt(property("dietitians", "5")),
+                Integer.parseInt(property("clientsPerDietitian", "40")),
+                Double.parseDouble(property("rate", "50")),
+                Duration.ofSeconds(Long.parseLong(property("warmupSeconds", "15"))),
+                Duration.ofSeconds(Long.parseLong(property("durationSeconds", "60"))),
+                Duration.ofMillis(Long.parseLong(property("timeoutMs", "10000"))),
+                Integer.parseInt(property("maxInFlight", "2000")),
+                parseMix(property("mix", DEFAULT_MIX)),
+                property("db.url", ""),
+                property("db.user", "postgres"),
+                property("db.password", "postgres"),
+                property("profiles", ""),
+                Path.of(property("report", "build/results/loadtest/report.json")),
+                Long.parseLong(property("seed", "42")));
+    }
+
+    int clients() {
+        return dietitians * clientsPerDietitian;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry '" + part + "', expected name=weight");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
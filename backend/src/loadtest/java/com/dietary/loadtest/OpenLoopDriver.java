@@ -0,0 +1,162 @@
+package com.dietary.loadtest;
+
+import com.dietary.loadtest.Seeder.ClientSession;
+import com.dietary.loadtest.Seeder.MealChoice;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed average rate with exponentially distributed gaps,
+ * whatever the server's response times. A closed loop of N users waiting on
+ * each response would slow down with the server and hide its queueing; here
+ * arrivals keep coming, and each latency is measured from the moment the
+ * request was scheduled to go out, not from when the client got to send it,
+ * so a stalled server shows up in the percentiles instead of in fewer samples.
+ */
+class OpenLoopDriver {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final LoadTestConfig config;
+    private final List<ClientSession> sessions;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoopDriver(HttpClient http, String baseUrl, LoadTestConfig config, List<ClientSession> sessions) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.config = config;
+        this.sessions = sessions;
+        this.operations = config.mix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+            stats.put(operations[i], new EndpointStats(operations[i]));
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured window, then waits up to the request
+     * timeout for outstanding responses.
+     *
+     * @return the stats of the measured window, by operation
+     */
+    Map<Operation, EndpointStats> run() {
+        Random random = new Random(config.seed());
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        long scheduled = start;
+        while (scheduled < end) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick(random);
+            ClientSession session = sessions.get(random.nextInt(sessions.size()));
+            send(operation, request(operation, session, random), scheduled, scheduled >= measureFrom);
+            scheduled += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+        }
+
+        long drainUntil = System.nanoTime() + config.timeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return stats;
+    }
+
+    private void send(Operation operation, HttpRequest request, long scheduled, boolean measured) {
+        EndpointStats endpoint = measured ? stats.get(operation) : null;
+        if (inFlight.incrementAndGet() > config.maxInFlight()) {
+            // The client cannot keep up either; count it rather than silently lowering the rate
+            inFlight.decrementAndGet();
+            if (endpoint != null) {
+                endpoint.failure("dropped");
+            }
+            return;
+        }
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - scheduled;
+            inFlight.decrementAndGet();
+            if (endpoint == null) {
+                return;
+            }
+            if (error == null) {
+                endpoint.response(response.statusCode(), latency);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                endpoint.failure(cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName());
+            }
+        });
+    }
+
+    private Operation pick(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Weights exhausted");
+    }
+
+    private HttpRequest request(Operation operation, ClientSession session, Random random) {
+        return switch (operation) {
+            case LOGIN -> post("/api/auth/login", null,
+                    "{\"email\":\"" + session.email() + "\",\"password\":\"" + Seeder.PASSWORD + "\"}");
+            case DAILY_PLAN -> get("/api/mobile/tracking/daily", session.token());
+            case TRACK_MEAL -> {
+                MealChoice meal = session.meals().get(random.nextInt(session.meals().size()));
+                yield post("/api/mobile/tracking/meals", session.token(),
+                        "{\"mealId\":\"" + meal.mealId() + "\",\"selectedOptionId\":\""
+                                + meal.optionIds().get(random.nextInt(meal.optionIds().size())) + "\"}");
+            }
+            case TRACK_WATER -> post("/api/mobile/tracking/water", session.token(),
+                    "{\"amountMl\":" + (150 + 50 * random.nextInt(6)) + "}");
+            case PROGRESS -> {
+                LocalDate today = LocalDate.now();
+                yield get("/api/clients/" + session.clientId() + "/progress?fromDate=" + today.minusDays(90)
+                        + "&toDate=" + today, session.dietitianToken());
+            }
+        };
+    }
+
+    private HttpRequest get(String path, String token) {
+        return builder(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return builder(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(config.timeout());
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
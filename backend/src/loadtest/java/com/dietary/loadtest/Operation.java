@@ -0,0 +1,39 @@
+package com.dietary.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The requests the load test sends, each named after the endpoint it hits.
+ */
+enum Operation {
+
+    LOGIN("login", "POST /api/auth/login"),
+    DAILY_PLAN("daily", "GET /api/mobile/tracking/daily"),
+    TRACK_MEAL("meals", "POST /api/mobile/tracking/meals"),
+    TRACK_WATER("water", "POST /api/mobile/tracking/water"),
+    PROGRESS("progress", "GET /api/clients/{id}/progress");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::key).toList()));
+    }
+}
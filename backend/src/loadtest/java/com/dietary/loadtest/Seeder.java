@@ -0,0 +1,221 @@
+package com.dietary.loadtest;
+
+import com.dietary.auth.domain.Role;
+import com.dietary.common.security.JwtTokenProvider;
+import com.dietary.common.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Seeds dietitians with foods and clients, each client with an active plan,
+ * a login and a measurement history.
+ * <p>
+ * Dietitians, foods, clients and plans go through the API, so they carry the
+ * nutrient totals and caches the application builds itself. Client accounts
+ * and measurements are inserted directly: accepting one invite per client
+ * would spend most of the seeding time in BCrypt, so every client shares one
+ * password hash.
+ */
+class Seeder {
+
+    static final String PASSWORD = "load-test-password";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String[] MEAL_TYPES = { "BREAKFAST", "MORNING_SNACK", "LUNCH", "AFTERNOON_SNACK", "DINNER" };
+    private static final int FOODS_PER_DIETITIAN = 12;
+    private static final int OPTIONS_PER_MEAL = 3;
+    private static final int ITEMS_PER_OPTION = 3;
+    private static final int MEASUREMENTS_PER_CLIENT = 12;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ConfigurableApplicationContext context;
+    private final LoadTestConfig config;
+
+    record ClientSession(UUID clientId, String email, String token, String dietitianToken, List<MealChoice> meals) {
+    }
+
+    record MealChoice(UUID mealId, List<UUID> optionIds) {
+    }
+
+    private record SeededClient(UUID clientId, String email, String fullName, String dietitianToken,
+            List<MealChoice> meals) {
+    }
+
+    Seeder(HttpClient http, String baseUrl, ConfigurableApplicationContext context, LoadTestConfig config) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.context = context;
+        this.config = config;
+    }
+
+    List<ClientSession> seed() throws Exception {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(config.dietitians(), 8));
+        List<SeededClient> clients = new ArrayList<>();
+        try {
+            List<Future<List<SeededClient>>> dietitians = new ArrayList<>();
+            for (int d = 0; d < config.dietitians(); d++) {
+                int dietitian = d;
+                dietitians.add(executor.submit(() -> seedDietitian(run, dietitian)));
+            }
+            for (Future<List<SeededClient>> dietitian : dietitians) {
+                clients.addAll(dietitian.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        insertAccounts(clients);
+        insertMeasurements(clients);
+
+        JwtTokenProvider tokenProvider = context.getBean(JwtTokenProvider.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<ClientSession> sessions = new ArrayList<>(clients.size());
+        for (SeededClient client : clients) {
+            UUID userId = jdbc.queryForObject("SELECT user_id FROM clients WHERE id = ?", UUID.class, client.clientId());
+            String token = tokenProvider.generateAccessToken(UserPrincipal.fromClaims(
+                    userId, client.email(), client.fullName(), Role.CLIENT, client.clientId()));
+            sessions.add(new ClientSession(client.clientId(), client.email(), token, client.dietitianToken(),
+                    client.meals()));
+        }
+        return sessions;
+    }
+
+    private List<SeededClient> seedDietitian(String run, int dietitian) throws Exception {
+        Random random = new Random(config.seed() + dietitian);
+        String token = post("/api/auth/register", null, Map.of(
+                "email", "load-" + run + "-d" + dietitian + "@example.com",
+                "password", PASSWORD,
+                "fullName", "Load Dietitian " + dietitian)).at("/data/accessToken").asText();
+
+        List<String> foodIds = new ArrayList<>();
+        for (int f = 0; f < FOODS_PER_DIETITIAN; f++) {
+            foodIds.add(post("/api/foods", token, Map.of(
+                    "name", "Load Food " + run + " " + dietitian + "-" + f,
+                    "servingSize", "100", "servingUnit", "g",
+                    "caloriesPerServing", 50 + random.nextInt(400),
+                    "proteinGrams", 1 + random.nextInt(30), "carbsGrams", 1 + random.nextInt(70),
+                    "fatGrams", 1 + random.nextInt(25))).at("/data/id").asText());
+        }
+
+        List<SeededClient> clients = new ArrayList<>();
+        for (int c = 0; c < config.clientsPerDietitian(); c++) {
+            String email = "load-" + run + "-d" + dietitian + "-c" + c + "@example.com";
+            String fullName = "Load Client " + dietitian + "-" + c;
+            UUID clientId = UUID.fromString(post("/api/clients", token, Map.of(
+                    "fullName", fullName, "email", email,
+                    "birthDate", LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28)).toString(),
+                    "heightCm", 150 + random.nextInt(45),
+                    "gender", random.nextBoolean() ? "FEMALE" : "MALE"))
+                    .at("/data/id").asText());
+
+            List<Map<String, Object>> meals = new ArrayList<>();
+            for (String type : MEAL_TYPES) {
+                List<Map<String, Object>> options = new ArrayList<>();
+                for (int o = 0; o < OPTIONS_PER_MEAL; o++) {
+                    List<Map<String, Object>> items = new ArrayList<>();
+                    for (int i = 0; i < ITEMS_PER_OPTION; i++) {
+                        items.add(Map.of(
+                                "foodId", foodIds.get(random.nextInt(foodIds.size())),
+                                "quantity", 25 + 25 * random.nextInt(8),
+                                "quantityUnit", "g"));
+                    }
+                    options.add(Map.of("name", type + " " + (o + 1), "items", items));
+                }
+                meals.add(Map.of("mealType", type, "name", type.toLowerCase(), "options", options));
+            }
+            JsonNode plan = post("/api/meal-plans", token, Map.of(
+                    "name", "Plan for " + fullName, "clientId", clientId, "isTemplate", false, "meals", meals))
+                    .at("/data");
+            post("/api/meal-plans/" + plan.at("/id").asText() + "/activate", token, null);
+
+            List<MealChoice> choices = new ArrayList<>();
+            for (JsonNode meal : plan.at("/meals")) {
+                List<UUID> optionIds = new ArrayList<>();
+                for (JsonNode option : meal.at("/options")) {
+                    optionIds.add(UUID.fromString(option.at("/id").asText()));
+                }
+                choices.add(new MealChoice(UUID.fromString(meal.at("/id").asText()),
+                        Collections.unmodifiableList(optionIds)));
+            }
+            clients.add(new SeededClient(clientId, email, fullName, token, List.copyOf(choices)));
+        }
+        return clients;
+    }
+
+    private void insertAccounts(List<SeededClient> clients) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> users = new ArrayList<>(clients.size());
+        List<Object[]> links = new ArrayList<>(clients.size());
+        for (SeededClient client : clients) {
+            UUID userId = UUID.randomUUID();
+            users.add(new Object[] { userId, client.email(), passwordHash, client.fullName(), now, now });
+            links.add(new Object[] { userId, client.clientId() });
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, email, password_hash, full_name, role, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, 'CLIENT', ?, ?)", users);
+        jdbc.batchUpdate("UPDATE clients SET user_id = ? WHERE id = ?", links);
+    }
+
+    // Weekly weigh-ins over the last quarter, so the progress endpoint has a series to summarize
+    private void insertMeasurements(List<SeededClient> clients) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(config.seed());
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(clients.size() * MEASUREMENTS_PER_CLIENT);
+        for (SeededClient client : clients) {
+            double weight = 60 + random.nextInt(50);
+            for (int m = MEASUREMENTS_PER_CLIENT; m > 0; m--) {
+                weight -= random.nextDouble() * 0.8 - 0.2;
+                rows.add(new Object[] {
+                        UUID.randomUUID(), client.clientId(), Date.valueOf(today.minusWeeks(m)),
+                        BigDecimal.valueOf(weight).setScale(2, RoundingMode.HALF_UP), now });
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO measurements (id, client_id, measurement_date, weight_kg, entry_method, created_at) "
+                + "VALUES (?, ?, ?, ?, 'MANUAL', ?)", rows);
+    }
+
+    private JsonNode post(String path, String token, Object body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(body != null
+                        ? HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body))
+                        : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(path + " returned HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return MAPPER.readTree(response.body());
+    }
+}
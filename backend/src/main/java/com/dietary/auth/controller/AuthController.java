@@ -3,6 +3,7 @@ package com.dietary.auth.controller;
 import com.dietary.auth.controller.dto.*;
 import com.dietary.auth.service.AuthService;
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -20,6 +21,7 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/register")
+    @SqlStatementBudget(5)
     @Operation(summary = "Register a new dietitian account", description = "Creates a new dietitian user account and returns access and refresh tokens")
     public ResponseEntity<ApiResponse<AuthResponse>> register(
             @Valid @RequestBody RegisterRequest request) {
@@ -30,6 +32,7 @@ public class AuthController {
     }
 
     @PostMapping("/login")
+    @SqlStatementBudget(6)
     @Operation(summary = "Login with email and password", description = "Authenticates user (dietitian or client) and returns access and refresh tokens")
     public ResponseEntity<ApiResponse<AuthResponse>> login(
             @Valid @RequestBody LoginRequest request) {
@@ -38,6 +41,7 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
+    @SqlStatementBudget(4)
     @Operation(summary = "Refresh access token", description = "Uses a valid refresh token to obtain a new access token")
     public ResponseEntity<ApiResponse<AuthResponse>> refreshToken(
             @Valid @RequestBody TokenRefreshRequest request) {
@@ -46,6 +50,7 @@ public class AuthController {
     }
 
     @PostMapping("/client/accept-invite")
+    @SqlStatementBudget(8)
     @Operation(summary = "Accept client invitation", description = "Client accepts an invitation from their dietitian and sets their password")
     public ResponseEntity<ApiResponse<AuthResponse>> acceptInvite(
             @Valid @RequestBody AcceptInviteRequest request) {
@@ -8,7 +8,12 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+        // Newest tokens per user, for the per-user cap
+        @Index(name = "idx_refresh_tokens_user_created", columnList = "user_id, created_at"),
+        // Expired tokens, for the purge job
+        @Index(name = "idx_refresh_tokens_expires", columnList = "expires_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,8 +29,9 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // SHA-256 of the token handed to the client; the token itself is never stored
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
@@ -2,5 +2,7 @@ package com.dietary.auth.domain;
 
 public enum Role {
     DIETITIAN,
-    CLIENT
+    CLIENT,
+    // Operators; not assignable through the API
+    ADMIN
 }
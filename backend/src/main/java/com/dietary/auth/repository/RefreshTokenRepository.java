@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -14,13 +15,45 @@ import java.util.UUID;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
 
-    Optional<RefreshToken> findByToken(String token);
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    // Returns 0 when a concurrent refresh already consumed the token
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id = :id")
+    int deleteTokenById(UUID id);
 
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user = :user")
     void deleteByUser(User user);
 
+    /**
+     * Deletes all but the {@code keep} newest tokens of a user.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE user_id = :userId
+              AND id NOT IN (
+                SELECT id FROM refresh_tokens
+                WHERE user_id = :userId
+                ORDER BY created_at DESC, id DESC
+                LIMIT :keep)
+            """, nativeQuery = true)
+    int deleteAllButNewest(UUID userId, int keep);
+
+    /**
+     * Deletes up to {@code limit} tokens that expired before {@code now}, in a
+     * transaction of its own so each batch holds its row locks only briefly.
+     */
+    @Transactional
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    void deleteExpiredTokens(Instant now);
+    @Query(value = """
+            DELETE FROM refresh_tokens
+            WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expires_at < :now
+                LIMIT :limit)
+            """, nativeQuery = true)
+    int deleteExpiredBatch(Instant now, int limit);
 }
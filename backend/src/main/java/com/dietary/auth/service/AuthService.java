@@ -5,11 +5,9 @@ import com.dietary.auth.controller.dto.AuthResponse;
 import com.dietary.auth.controller.dto.LoginRequest;
 import com.dietary.auth.controller.dto.RegisterRequest;
 import com.dietary.auth.domain.ClientInvite;
-import com.dietary.auth.domain.RefreshToken;
 import com.dietary.auth.domain.Role;
 import com.dietary.auth.domain.User;
 import com.dietary.auth.repository.ClientInviteRepository;
-import com.dietary.auth.repository.RefreshTokenRepository;
 import com.dietary.auth.repository.UserRepository;
 import com.dietary.client.domain.Client;
 import com.dietary.client.repository.ClientRepository;
@@ -19,7 +17,8 @@ import com.dietary.common.exception.ResourceNotFoundException;
 import com.dietary.common.exception.TokenException;
 import com.dietary.common.security.JwtTokenProvider;
 import com.dietary.common.security.UserPrincipal;
-import lombok.RequiredArgsConstructor;
+import com.dietary.common.security.UserPrincipalCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,87 +26,122 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
+@Timed("dietary.service")
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final ClientInviteRepository clientInviteRepository;
     private final ClientRepository clientRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+
+    private final TransactionTemplate transactionTemplate;
+    private final long accessTokenExpirationMs;
+
+    public AuthService(
+            UserRepository userRepository,
+            RefreshTokenStore refreshTokenStore,
+            ClientInviteRepository clientInviteRepository,
+            ClientRepository clientRepository,
+            PasswordEncoder passwordEncoder,
+            JwtTokenProvider jwtTokenProvider,
+            AuthenticationManager authenticationManager,
+            CustomUserDetailsService userDetailsService,
+            UserPrincipalCache userPrincipalCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${jwt.access-token-expiration-ms}") long accessTokenExpirationMs) {
+        this.userRepository = userRepository;
+        this.refreshTokenStore = refreshTokenStore;
+        this.clientInviteRepository = clientInviteRepository;
+        this.clientRepository = clientRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.authenticationManager = authenticationManager;
+        this.userDetailsService = userDetailsService;
+        this.userPrincipalCache = userPrincipalCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accessTokenExpirationMs = accessTokenExpirationMs;
+    }
 
-    @Value("${jwt.access-token-expiration-ms}")
-    private long accessTokenExpirationMs;
-
-    @Transactional
     public AuthResponse register(RegisterRequest request) {
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new DuplicateResourceException("User", "email", request.getEmail());
         }
 
-        // Create new dietitian user
-        User user = User.builder()
-                .email(request.getEmail().toLowerCase().trim())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
-                .fullName(request.getFullName().trim())
-                .role(Role.DIETITIAN)
-                .build();
+        // Hash before the transaction starts, so no connection is held while BCrypt runs
+        String passwordHash = passwordEncoder.encode(request.getPassword());
 
-        user = userRepository.save(user);
-        log.info("Registered new dietitian: {}", user.getEmail());
+        return transactionTemplate.execute(status -> {
+            // Could have been taken while the password was hashed
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new DuplicateResourceException("User", "email", request.getEmail());
+            }
 
-        return generateAuthResponse(user);
+            // Create new dietitian user
+            User user = User.builder()
+                    .email(request.getEmail().toLowerCase().trim())
+                    .passwordHash(passwordHash)
+                    .fullName(request.getFullName().trim())
+                    .role(Role.DIETITIAN)
+                    .build();
+
+            user = userRepository.save(user);
+            log.info("Registered new dietitian: {}", user.getEmail());
+
+            return generateAuthResponse(user);
+        });
     }
 
-    @Transactional
     public AuthResponse login(LoginRequest request) {
-        // Authenticate user
+        // Authenticate user; the password check runs outside the transaction below
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail().toLowerCase().trim(),
                         request.getPassword()));
 
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        User user = userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findById(userPrincipal.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("User", "id", userPrincipal.getId()));
 
-        log.info("User logged in: {}", user.getEmail());
+            log.info("User logged in: {}", user.getEmail());
 
-        return generateAuthResponse(user);
+            return generateAuthResponse(user);
+        });
     }
 
     @Transactional
     public AuthResponse refreshToken(String refreshTokenValue) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenValue)
-                .orElseThrow(() -> new TokenException("Invalid refresh token"));
-
-        if (refreshToken.isExpired()) {
-            refreshTokenRepository.delete(refreshToken);
-            throw new TokenException("Refresh token has expired. Please login again.");
-        }
-
-        User user = refreshToken.getUser();
-
-        // Delete old refresh token and create new one
-        refreshTokenRepository.delete(refreshToken);
+        // Consumes the old refresh token; a new one is issued below
+        User user = refreshTokenStore.redeem(refreshTokenValue);
 
         log.info("Token refreshed for user: {}", user.getEmail());
 
         return generateAuthResponse(user);
     }
 
-    @Transactional
     public AuthResponse acceptInvite(AcceptInviteRequest request) {
+        // Hash before the transaction starts, so no connection is held while BCrypt runs
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+
+        return transactionTemplate.execute(status -> acceptInvite(request, passwordHash));
+    }
+
+    private AuthResponse acceptInvite(AcceptInviteRequest request, String passwordHash) {
         // Find the invite
         ClientInvite invite = clientInviteRepository.findByToken(request.getInviteToken())
                 .orElseThrow(() -> new TokenException("Invalid invite token"));
@@ -135,7 +169,7 @@ public class AuthService {
         // Create new client user account
         User user = User.builder()
                 .email(invite.getEmail().toLowerCase().trim())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .fullName(client.getFullName())
                 .role(Role.CLIENT)
                 .build();
@@ -150,29 +184,30 @@ public class AuthService {
         invite.setAcceptedAt(Instant.now());
         clientInviteRepository.save(invite);
 
+        // The user is now linked to a client record; drop any principal cached without it
+        userPrincipalCache.invalidate(user.getId());
+
         log.info("Client accepted invite and created account: {}", user.getEmail());
 
-        return generateAuthResponse(user);
+        return generateAuthResponse(user, client.getId());
     }
 
     private AuthResponse generateAuthResponse(User user) {
-        UserPrincipal userPrincipal = UserPrincipal.create(user);
+        return generateAuthResponse(user, userDetailsService.resolveClientId(user));
+    }
+
+    private AuthResponse generateAuthResponse(User user, UUID clientId) {
+        UserPrincipal userPrincipal = UserPrincipal.create(user, clientId);
 
         // Generate access token
         String accessToken = jwtTokenProvider.generateAccessToken(userPrincipal);
 
         // Generate and save refresh token
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(jwtTokenProvider.generateRefreshTokenValue())
-                .expiresAt(Instant.now().plus(jwtTokenProvider.getRefreshTokenExpirationMs(), ChronoUnit.MILLIS))
-                .build();
-
-        refreshTokenRepository.save(refreshToken);
+        String refreshToken = refreshTokenStore.issue(user);
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
-                .refreshToken(refreshToken.getToken())
+                .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(accessTokenExpirationMs / 1000) // Convert to seconds
                 .user(AuthResponse.UserInfo.builder()
@@ -0,0 +1,69 @@
+package com.dietary.auth.service;
+
+import com.dietary.auth.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes expired refresh tokens in batches of {@code auth.refresh-token.purge.batch-size},
+ * each batch in its own short transaction, until none are left.
+ */
+@Slf4j
+@Component
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int batchSize;
+    private final Counter purged;
+    private final Timer purgeTimer;
+    // Row count as of the last run; counting on every scrape would scan the table
+    private final AtomicLong rows = new AtomicLong(-1);
+
+    public RefreshTokenPurgeJob(
+            RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.refresh-token.purge.batch-size:1000}") int batchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.batchSize = Math.max(1, batchSize);
+
+        this.purged = Counter.builder("auth.refresh-tokens.purged")
+                .description("Expired refresh tokens deleted by the purge job")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("auth.refresh-tokens.purge")
+                .description("Duration of purge runs")
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh-tokens.rows", rows, AtomicLong::get)
+                .description("Rows in the refresh token table after the last purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${auth.refresh-token.purge.initial-delay-ms:60000}",
+            fixedDelayString = "${auth.refresh-token.purge.interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        long total = purgeTimer.record(() -> {
+            long deleted = 0;
+            int batch;
+            do {
+                batch = refreshTokenRepository.deleteExpiredBatch(now, batchSize);
+                purged.increment(batch);
+                deleted += batch;
+            } while (batch == batchSize);
+            return deleted;
+        });
+        rows.set(refreshTokenRepository.count());
+
+        if (total > 0) {
+            log.info("Purged {} expired refresh token(s), {} left", total, rows.get());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.dietary.auth.service;
+
+import com.dietary.auth.domain.RefreshToken;
+import com.dietary.auth.domain.User;
+import com.dietary.auth.repository.RefreshTokenRepository;
+import com.dietary.common.exception.TokenException;
+import com.dietary.common.security.JwtTokenProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Issues and redeems refresh tokens.
+ * <p>
+ * Only the SHA-256 of a token is stored, so the unique index holds fixed
+ * 32-byte keys and a leaked table cannot be replayed. Each user keeps at most
+ * {@code auth.refresh-token.max-per-user} tokens; issuing one more drops the
+ * oldest. Expired tokens are removed by {@link RefreshTokenPurgeJob}.
+ */
+@Slf4j
+@Component
+public class RefreshTokenStore {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final int maxPerUser;
+    private final Counter evicted;
+
+    public RefreshTokenStore(
+            RefreshTokenRepository refreshTokenRepository,
+            JwtTokenProvider jwtTokenProvider,
+            MeterRegistry meterRegistry,
+            @Value("${auth.refresh-token.max-per-user:5}") int maxPerUser) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.maxPerUser = Math.max(1, maxPerUser);
+        this.evicted = Counter.builder("auth.refresh-tokens.evicted")
+                .description("Refresh tokens dropped because the user reached the per-user cap")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stores a new refresh token for the user and returns its value. Must run
+     * in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String issue(User user) {
+        // Make room first, so the new token is never the one trimmed
+        int dropped = refreshTokenRepository.deleteAllButNewest(user.getId(), maxPerUser - 1);
+        if (dropped > 0) {
+            evicted.increment(dropped);
+            log.debug("Dropped {} refresh token(s) of user '{}' over the cap", dropped, user.getId());
+        }
+
+        String value = jwtTokenProvider.generateRefreshTokenValue();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(value))
+                .expiresAt(Instant.now().plus(jwtTokenProvider.getRefreshTokenExpirationMs(), ChronoUnit.MILLIS))
+                .build());
+        return value;
+    }
+
+    /**
+     * Consumes a refresh token and returns its user. A token can be redeemed
+     * once; redeeming it again, or after it expired, fails.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public User redeem(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new TokenException("Invalid refresh token");
+        }
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(value))
+                .orElseThrow(() -> new TokenException("Invalid refresh token"));
+
+        if (refreshToken.isExpired()) {
+            // Left for the purge job
+            throw new TokenException("Refresh token has expired. Please login again.");
+        }
+        if (refreshTokenRepository.deleteTokenById(refreshToken.getId()) == 0) {
+            // Redeemed by a concurrent request
+            throw new TokenException("Invalid refresh token");
+        }
+        return refreshToken.getUser();
+    }
+
+    static byte[] hash(String value) {
+        return SHA_256.get().digest(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
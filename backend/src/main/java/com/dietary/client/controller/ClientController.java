@@ -4,9 +4,13 @@ import com.dietary.auth.domain.User;
 import com.dietary.auth.repository.UserRepository;
 import com.dietary.client.controller.dto.ClientDTO;
 import com.dietary.client.controller.dto.ClientRequest;
+import com.dietary.client.controller.dto.ClientSort;
+import com.dietary.client.controller.dto.ClientSummaryDTO;
 import com.dietary.client.service.ClientService;
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.dto.CursorPage;
 import com.dietary.common.exception.ResourceNotFoundException;
+import com.dietary.common.metrics.SqlStatementBudget;
 import com.dietary.common.security.CurrentUser;
 import com.dietary.common.security.UserPrincipal;
 import io.swagger.v3.oas.annotations.Operation;
@@ -33,6 +37,7 @@ public class ClientController {
     private final UserRepository userRepository;
 
     @GetMapping
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get all clients", description = "Retrieves all non-deleted clients for the authenticated dietitian")
     public ResponseEntity<ApiResponse<List<ClientDTO>>> getAllClients(
@@ -41,7 +46,24 @@ public class ClientController {
         return ResponseEntity.ok(ApiResponse.success(clients));
     }
 
+    @GetMapping("/page")
+    @SqlStatementBudget(3)
+    @PreAuthorize("hasRole('DIETITIAN')")
+    @Operation(summary = "Get clients page", description = "Retrieves one page of the authenticated dietitian's clients with the list columns only, sorted by name or newest first and optionally filtered by a name/email search and active status. Pass the returned nextCursor with the same sort to get the following page")
+    public ResponseEntity<ApiResponse<CursorPage<ClientSummaryDTO>>> getClientPage(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "NAME") ClientSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @CurrentUser UserPrincipal currentUser) {
+        CursorPage<ClientSummaryDTO> page = clientService.getClientPage(currentUser.getId(), query, active, sort,
+                cursor, limit);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
     @GetMapping("/{id}")
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get client by ID", description = "Retrieves a specific client by ID for the authenticated dietitian")
     public ResponseEntity<ApiResponse<ClientDTO>> getClientById(
@@ -52,6 +74,7 @@ public class ClientController {
     }
 
     @PostMapping
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Create a new client", description = "Creates a new client profile for the authenticated dietitian")
     public ResponseEntity<ApiResponse<ClientDTO>> createClient(
@@ -66,6 +89,7 @@ public class ClientController {
     }
 
     @PutMapping("/{id}")
+    @SqlStatementBudget(2)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Update a client", description = "Updates an existing client profile for the authenticated dietitian")
     public ResponseEntity<ApiResponse<ClientDTO>> updateClient(
@@ -77,6 +101,7 @@ public class ClientController {
     }
 
     @DeleteMapping("/{id}")
+    @SqlStatementBudget(2)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Delete a client", description = "Soft deletes a client profile for the authenticated dietitian")
     public ResponseEntity<ApiResponse<Void>> deleteClient(
@@ -87,6 +112,7 @@ public class ClientController {
     }
 
     @PatchMapping("/{id}/toggle-active")
+    @SqlStatementBudget(2)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Toggle client active status", description = "Toggles the active status of a client")
     public ResponseEntity<ApiResponse<ClientDTO>> toggleClientActive(
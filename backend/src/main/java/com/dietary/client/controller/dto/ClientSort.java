@@ -0,0 +1,6 @@
+package com.dietary.client.controller.dto;
+
+public enum ClientSort {
+    NAME, // Full name, A to Z
+    CREATED // Newest first
+}
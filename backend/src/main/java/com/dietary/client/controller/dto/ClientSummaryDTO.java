@@ -0,0 +1,28 @@
+package com.dietary.client.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The columns a client list needs, read by a projection query rather than
+ * loading whole {@link com.dietary.client.domain.Client} entities.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientSummaryDTO {
+
+    private UUID id;
+    private String fullName;
+    private String email;
+    private String phone;
+    private Boolean active;
+    private Boolean hasAccount;
+    private Instant createdAt;
+}
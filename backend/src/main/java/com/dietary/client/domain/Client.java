@@ -14,6 +14,10 @@ import java.util.UUID;
 @Entity
 @Table(name = "clients", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "dietitian_id", "email" })
+}, indexes = {
+        // Keyset order of the client list pages
+        @Index(name = "idx_clients_dietitian_name", columnList = "dietitian_id, full_name, id"),
+        @Index(name = "idx_clients_dietitian_created", columnList = "dietitian_id, created_at, id")
 })
 @Getter
 @Setter
@@ -1,10 +1,13 @@
 package com.dietary.client.repository;
 
+import com.dietary.client.controller.dto.ClientSummaryDTO;
 import com.dietary.client.domain.Client;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,11 +18,43 @@ public interface ClientRepository extends JpaRepository<Client, UUID> {
     @Query("SELECT c FROM Client c WHERE c.dietitian.id = :dietitianId AND c.deletedAt IS NULL")
     List<Client> findAllByDietitianId(UUID dietitianId);
 
+    // Client list pages: pattern is an already lower-cased LIKE pattern escaped with '!', active and pattern are optional filters
+
+    String SUMMARY_QUERY = "SELECT new com.dietary.client.controller.dto.ClientSummaryDTO(" +
+            "c.id, c.fullName, c.email, c.phone, c.active, CASE WHEN c.user IS NULL THEN false ELSE true END, " +
+            "c.createdAt) FROM Client c " +
+            "WHERE c.dietitian.id = :dietitianId AND c.deletedAt IS NULL " +
+            "AND (:active IS NULL OR c.active = :active) " +
+            "AND (:pattern IS NULL OR LOWER(c.fullName) LIKE :pattern ESCAPE '!' " +
+            "OR LOWER(c.email) LIKE :pattern ESCAPE '!') ";
+
+    @Query(SUMMARY_QUERY + "ORDER BY c.fullName, c.id")
+    List<ClientSummaryDTO> findAllSummaries(UUID dietitianId, Boolean active, String pattern);
+
+    @Query(SUMMARY_QUERY + "ORDER BY c.fullName, c.id")
+    List<ClientSummaryDTO> findFirstPageByName(UUID dietitianId, Boolean active, String pattern, Limit limit);
+
+    @Query(SUMMARY_QUERY + "AND (c.fullName > :fullName OR (c.fullName = :fullName AND c.id > :id)) " +
+            "ORDER BY c.fullName, c.id")
+    List<ClientSummaryDTO> findPageByNameAfter(UUID dietitianId, Boolean active, String pattern, String fullName,
+            UUID id, Limit limit);
+
+    @Query(SUMMARY_QUERY + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClientSummaryDTO> findFirstPageByCreated(UUID dietitianId, Boolean active, String pattern, Limit limit);
+
+    @Query(SUMMARY_QUERY + "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ClientSummaryDTO> findPageByCreatedBefore(UUID dietitianId, Boolean active, String pattern,
+            Instant createdAt, UUID id, Limit limit);
+
     @Query("SELECT c FROM Client c WHERE c.id = :id AND c.dietitian.id = :dietitianId AND c.deletedAt IS NULL")
     Optional<Client> findByIdAndDietitianId(UUID id, UUID dietitianId);
 
     @Query("SELECT c FROM Client c WHERE c.user.id = :userId AND c.deletedAt IS NULL")
     Optional<Client> findByUserId(UUID userId);
 
+    @Query("SELECT c.id FROM Client c")
+    List<UUID> findAllIds();
+
     boolean existsByDietitianIdAndEmail(UUID dietitianId, String email);
 }
@@ -0,0 +1,46 @@
+package com.dietary.client.service;
+
+import com.dietary.client.controller.dto.ClientSort;
+import com.dietary.client.controller.dto.ClientSummaryDTO;
+import com.dietary.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a client listing, encoded as an opaque URL-safe string. Holds
+ * the sort it was issued for, so a cursor cannot be replayed against another
+ * ordering, and the full sort key including the id tiebreaker.
+ */
+record ClientCursor(ClientSort sort, UUID id, String fullName, Instant createdAt) {
+
+    static ClientCursor of(ClientSort sort, ClientSummaryDTO client) {
+        return new ClientCursor(sort, client.getId(), client.getFullName(), client.getCreatedAt());
+    }
+
+    String encode() {
+        // The name goes last since it may itself contain the separator
+        String key = sort == ClientSort.NAME ? fullName : createdAt.toString();
+        String raw = sort + "|" + id + "|" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ClientCursor decode(String cursor, ClientSort sort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(sort.name())) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            UUID id = UUID.fromString(parts[1]);
+            return sort == ClientSort.NAME
+                    ? new ClientCursor(sort, id, parts[2], null)
+                    : new ClientCursor(sort, id, null, Instant.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -3,16 +3,22 @@ package com.dietary.client.service;
 import com.dietary.auth.domain.User;
 import com.dietary.client.controller.dto.ClientDTO;
 import com.dietary.client.controller.dto.ClientRequest;
+import com.dietary.client.controller.dto.ClientSort;
+import com.dietary.client.controller.dto.ClientSummaryDTO;
 import com.dietary.client.domain.Client;
 import com.dietary.client.repository.ClientRepository;
+import com.dietary.common.dto.CursorPage;
 import com.dietary.common.exception.DuplicateResourceException;
 import com.dietary.common.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -21,6 +27,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ClientService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ClientRepository clientRepository;
 
     @Transactional(readOnly = true)
@@ -30,6 +38,43 @@ public class ClientService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns one page of the dietitian's clients with only the list columns.
+     * {@code query} matches a substring of the name or email, ignoring case.
+     * One extra row is read past the page to tell whether another page exists.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ClientSummaryDTO> getClientPage(UUID dietitianId, String query, Boolean active,
+            ClientSort sort, String cursor, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        String pattern = StringUtils.hasText(query) ? likePattern(query) : null;
+        Limit rowLimit = Limit.of(pageSize + 1);
+
+        List<ClientSummaryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = sort == ClientSort.NAME
+                    ? clientRepository.findFirstPageByName(dietitianId, active, pattern, rowLimit)
+                    : clientRepository.findFirstPageByCreated(dietitianId, active, pattern, rowLimit);
+        } else {
+            ClientCursor position = ClientCursor.decode(cursor, sort);
+            rows = sort == ClientSort.NAME
+                    ? clientRepository.findPageByNameAfter(dietitianId, active, pattern, position.fullName(),
+                            position.id(), rowLimit)
+                    : clientRepository.findPageByCreatedBefore(dietitianId, active, pattern, position.createdAt(),
+                            position.id(), rowLimit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ClientSummaryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? ClientCursor.of(sort, items.get(pageSize - 1)).encode() : null;
+
+        return CursorPage.<ClientSummaryDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public ClientDTO getClientById(UUID clientId, UUID dietitianId) {
         Client client = findClientByIdAndDietitianId(clientId, dietitianId);
@@ -104,6 +149,15 @@ public class ClientService {
         return ClientDTO.fromEntity(client);
     }
 
+    // LIKE wildcards typed by the user are matched literally
+    private static String likePattern(String query) {
+        String escaped = query.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
     private Client findClientByIdAndDietitianId(UUID clientId, UUID dietitianId) {
         return clientRepository.findByIdAndDietitianId(clientId, dietitianId)
                 .orElseThrow(() -> new ResourceNotFoundException("Client", "id", clientId));
@@ -0,0 +1,27 @@
+package com.dietary.common.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Spring Boot ignores {@code spring.threads.virtual.enabled} below Java 21, so
+ * the virtual-threads profile would silently fall back to platform threads.
+ */
+@Slf4j
+@Component
+@Profile("virtual-threads")
+public class VirtualThreadsCheck {
+
+    @PostConstruct
+    void check() {
+        int feature = Runtime.version().feature();
+        if (feature < 21) {
+            log.warn("The virtual-threads profile is active but the runtime is Java {}; "
+                    + "requests are served on platform threads", feature);
+        } else {
+            log.info("Serving requests on virtual threads (Java {})", feature);
+        }
+    }
+}
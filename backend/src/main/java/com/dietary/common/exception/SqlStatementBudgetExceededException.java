@@ -0,0 +1,12 @@
+package com.dietary.common.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+public class SqlStatementBudgetExceededException extends RuntimeException {
+
+    public SqlStatementBudgetExceededException(String handler, long statements, int budget) {
+        super(String.format("%s ran %d SQL statements, over its budget of %d", handler, statements, budget));
+    }
+}
@@ -0,0 +1,88 @@
+package com.dietary.common.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes Hibernate's session factory statistics: entity and collection
+ * loads and fetches, second-level cache and query counts, statements and
+ * flushes. A fetch is a lazy load on access, so a fetch count that grows
+ * with the data size points at an N+1. Needs
+ * {@code hibernate.generate_statistics}; without it nothing is registered.
+ */
+@Slf4j
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!statistics.isStatisticsEnabled()) {
+            log.info("Hibernate statistics are disabled; set hibernate.generate_statistics to publish them");
+            return;
+        }
+
+        counter(registry, "hibernate.entities", "load", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities", "fetch", Statistics::getEntityFetchCount);
+        counter(registry, "hibernate.entities", "insert", Statistics::getEntityInsertCount);
+        counter(registry, "hibernate.entities", "update", Statistics::getEntityUpdateCount);
+        counter(registry, "hibernate.entities", "delete", Statistics::getEntityDeleteCount);
+
+        counter(registry, "hibernate.collections", "load", Statistics::getCollectionLoadCount);
+        counter(registry, "hibernate.collections", "fetch", Statistics::getCollectionFetchCount);
+        counter(registry, "hibernate.collections", "recreate", Statistics::getCollectionRecreateCount);
+        counter(registry, "hibernate.collections", "update", Statistics::getCollectionUpdateCount);
+        counter(registry, "hibernate.collections", "remove", Statistics::getCollectionRemoveCount);
+
+        FunctionCounter.builder("hibernate.second.level.cache.requests", statistics,
+                        Statistics::getSecondLevelCacheHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.second.level.cache.requests", statistics,
+                        Statistics::getSecondLevelCacheMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("hibernate.second.level.cache.puts", statistics,
+                        Statistics::getSecondLevelCachePutCount)
+                .register(registry);
+
+        FunctionCounter.builder("hibernate.query.executions", statistics, Statistics::getQueryExecutionCount)
+                .register(registry);
+        Gauge.builder("hibernate.query.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+                .baseUnit("milliseconds")
+                .register(registry);
+        FunctionCounter.builder("hibernate.statements", statistics, Statistics::getPrepareStatementCount)
+                .tag("status", "prepared")
+                .register(registry);
+        FunctionCounter.builder("hibernate.statements", statistics, Statistics::getCloseStatementCount)
+                .tag("status", "closed")
+                .register(registry);
+        FunctionCounter.builder("hibernate.sessions.open", statistics, Statistics::getSessionOpenCount)
+                .register(registry);
+        FunctionCounter.builder("hibernate.flushes", statistics, Statistics::getFlushCount)
+                .register(registry);
+        FunctionCounter.builder("hibernate.transactions", statistics, Statistics::getSuccessfulTransactionCount)
+                .tag("result", "success")
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String operation, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count)
+                .tag("operation", operation)
+                .register(registry);
+    }
+}
@@ -0,0 +1,56 @@
+package com.dietary.common.metrics;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+
+/**
+ * Timers on service methods annotated with {@code @Timed} and per-request
+ * SQL statement counting. HTTP, repository and connection pool metrics come
+ * from Spring Boot's auto-configuration.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Counts statements at the DataSource, so JdbcTemplate statements are
+     * counted along with Hibernate's.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatementCountingDataSource() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(counter)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Applied by Spring Boot to its task executor, which runs MVC's async
+     * requests and streamed response bodies: their statements count toward
+     * the request.
+     */
+    @Bean
+    public TaskDecorator sqlStatementCountingTaskDecorator() {
+        return SqlStatementCounter::propagate;
+    }
+}
@@ -0,0 +1,31 @@
+package com.dietary.common.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most SQL statements a request to this endpoint may run, counted from the
+ * start of the request (authentication included) to the response body being
+ * written. Budgets are constants: an endpoint whose statement count grows with
+ * the data it returns has an N+1. The statement count tests hold every API
+ * endpoint to its budget on small and large data; at runtime
+ * {@link SqlStatementMetricsFilter} reports overruns and
+ * {@link SqlStatementBudgetAdvice} can fail them.
+ * <p>
+ * An endpoint whose work grows with the data by design, in steps of a fixed
+ * number of statements, declares {@link #UNBOUNDED} and has its steps tested
+ * on their own.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlStatementBudget {
+
+    /** No constant budget; never reported at runtime. */
+    int UNBOUNDED = Integer.MAX_VALUE;
+
+    int value();
+}
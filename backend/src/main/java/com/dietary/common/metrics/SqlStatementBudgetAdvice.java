@@ -0,0 +1,58 @@
+package com.dietary.common.metrics;
+
+import com.dietary.common.exception.SqlStatementBudgetExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Method;
+
+/**
+ * With {@code sql.statement-budget.enforce} (the dev profile), fails requests
+ * to endpoints annotated with {@link SqlStatementBudget} that went over their
+ * budget, just before the response body is written, so a new N+1 breaks the
+ * endpoint in development rather than slowing it in production. A
+ * {@code Callable}'s body is checked on its async dispatch, with the async
+ * work counted.
+ * <p>
+ * Streamed bodies ({@code StreamingResponseBody}) never pass through this
+ * advice and are written after the response is committed, so they cannot be
+ * failed; like every overrun, theirs is reported by
+ * {@link SqlStatementMetricsFilter}.
+ */
+@RestControllerAdvice
+public class SqlStatementBudgetAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean enforce;
+
+    public SqlStatementBudgetAdvice(@Value("${sql.statement-budget.enforce:false}") boolean enforce) {
+        this.enforce = enforce;
+    }
+
+    static String handlerName(Class<?> controller, Method method) {
+        return controller.getSimpleName() + "." + method.getName();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enforce && returnType.hasMethodAnnotation(SqlStatementBudget.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request, ServerHttpResponse response) {
+        int budget = returnType.getMethodAnnotation(SqlStatementBudget.class).value();
+        long statements = SqlStatementCounter.current();
+        if (statements > budget) {
+            throw new SqlStatementBudgetExceededException(
+                    handlerName(returnType.getContainingClass(), returnType.getMethod()), statements, budget);
+        }
+        return body;
+    }
+}
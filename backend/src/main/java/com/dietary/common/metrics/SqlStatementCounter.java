@@ -0,0 +1,106 @@
+package com.dietary.common.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the SQL statements sent through the application's DataSource while a
+ * count is open, so the statements of one HTTP request can be reported (see
+ * {@link SqlStatementMetricsFilter}). Hibernate and JdbcTemplate statements
+ * count alike; a JDBC batch is one round trip and counts once.
+ * <p>
+ * A count is open on the thread that opened or resumed it, and on the threads
+ * running tasks that thread submitted through {@link #propagate(Runnable)}:
+ * Spring Boot's task executor (and with it MVC's async requests and streamed
+ * bodies) and the goal recalculation pool decorate their tasks with it.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Starts counting on this thread, replacing a count already open.
+     *
+     * @return the new count, to be resumed on another dispatch of the same request
+     */
+    public static Tally open() {
+        Tally tally = new Tally();
+        CURRENT.set(tally);
+        return tally;
+    }
+
+    /**
+     * Continues {@code tally} on this thread.
+     */
+    public static void resume(Tally tally) {
+        CURRENT.set(tally);
+    }
+
+    /**
+     * Stops counting on this thread. The count itself stays open to threads
+     * still working for it.
+     */
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the statements counted so far by this thread's count, or 0 if no count is open
+     */
+    public static long current() {
+        Tally tally = CURRENT.get();
+        return tally != null ? tally.statements() : 0;
+    }
+
+    /**
+     * Wraps {@code task} so its statements count toward the count open on the
+     * submitting thread, if any.
+     */
+    public static Runnable propagate(Runnable task) {
+        Tally tally = CURRENT.get();
+        if (tally == null) {
+            return task;
+        }
+        return () -> {
+            Tally previous = CURRENT.get();
+            CURRENT.set(tally);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.statements.incrementAndGet();
+        }
+    }
+
+    /**
+     * The statements of one count, shared by the threads working for it.
+     */
+    public static final class Tally {
+
+        private final AtomicLong statements = new AtomicLong();
+
+        public long statements() {
+            return statements.get();
+        }
+    }
+}
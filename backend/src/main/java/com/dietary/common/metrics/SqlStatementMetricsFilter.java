@@ -0,0 +1,95 @@
+package com.dietary.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request ran, tagged like
+ * {@code http.server.requests} with the method and the matched URI pattern.
+ * Runs ahead of the security filters so the statements of authentication
+ * are included.
+ * <p>
+ * An async request ({@code Callable} or {@code StreamingResponseBody}) keeps
+ * its count across the hand-off to the task executor and is recorded when its
+ * async dispatch completes, with the statements of the async work included.
+ * Requests over their endpoint's {@link SqlStatementBudget} are logged and
+ * counted in {@code http.server.requests.sql.budget.exceeded} here, streamed
+ * responses included; failing them is left to {@link SqlStatementBudgetAdvice}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final String TALLY_ATTRIBUTE = SqlStatementMetricsFilter.class.getName() + ".TALLY";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.Tally tally = (SqlStatementCounter.Tally) request.getAttribute(TALLY_ATTRIBUTE);
+        if (tally != null) {
+            SqlStatementCounter.resume(tally);
+        } else {
+            tally = SqlStatementCounter.open();
+            request.setAttribute(TALLY_ATTRIBUTE, tally);
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.detach();
+            // An async request is recorded once, by the dispatch that completes it
+            if (!request.isAsyncStarted()) {
+                record(request, tally.statements());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, long statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements run per HTTP request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                // Unmatched paths share one tag, as in http.server.requests
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(statements);
+
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            SqlStatementBudget budget = handler.getMethodAnnotation(SqlStatementBudget.class);
+            if (budget != null && statements > budget.value()) {
+                String name = SqlStatementBudgetAdvice.handlerName(handler.getBeanType(), handler.getMethod());
+                Counter.builder("http.server.requests.sql.budget.exceeded")
+                        .description("Requests that ran more SQL statements than their endpoint's budget")
+                        .tag("handler", name)
+                        .register(meterRegistry)
+                        .increment();
+                log.warn("{} ran {} SQL statements, over its budget of {}", name, statements, budget.value());
+            }
+        }
+    }
+}
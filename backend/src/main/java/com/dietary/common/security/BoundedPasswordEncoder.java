@@ -0,0 +1,155 @@
+package com.dietary.common.security;
+
+import com.dietary.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * BCrypt on a dedicated, bounded pool instead of the request thread.
+ * <p>
+ * At most {@code threads} hashes run at once and at most {@code queue-capacity}
+ * wait; a request beyond that fails at once with a 503 rather than holding a
+ * servlet thread. {@code max-wait-ms} bounds how long the caller is held in
+ * total, the wait for a thread and the hash itself, so it must leave room for
+ * one hash; a hash not done by then is cancelled, or dropped from the queue if
+ * it has not started, and the request gets a 503. A burst of logins therefore
+ * cannot take every worker from the rest of the API.
+ */
+@Slf4j
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String BUSY_MESSAGE = "Too many sign-in requests right now. Please try again shortly.";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+
+    private final Timer encodeTimer;
+    private final Timer verifyTimer;
+    private final Timer queueTimer;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public BoundedPasswordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.bcrypt-strength:10}") int strength,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.max-wait-ms:2000}") long maxWaitMs) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxWaitMs));
+
+        this.encodeTimer = hashTimer("encode", meterRegistry);
+        this.verifyTimer = hashTimer("verify", meterRegistry);
+        this.queueTimer = Timer.builder("security.password.hashing.queue")
+                .description("Time a password hash waited for a hashing thread")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.password.hashing.rejected")
+                .description("Hashes refused because the hashing queue was full")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("security.password.hashing.timed-out")
+                .description("Hashes abandoned because they were not done within max-wait-ms")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hashing.queued", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("security.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Password hashing: BCrypt strength {}, {} threads, queue of {}, max wait {} ms",
+                strength, poolSize, queueCapacity, maxWaitMs);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword), verifyTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> hash, Timer timer) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE, retryAfterSeconds);
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancel(future);
+            timedOut.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (InterruptedException e) {
+            cancel(future);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private void cancel(Future<?> future) {
+        future.cancel(true);
+        // A cancelled task still takes a queue slot until a worker reaches it; free the slot now
+        if (future instanceof Runnable task) {
+            executor.remove(task);
+        }
+    }
+
+    private static Timer hashTimer(String operation, MeterRegistry meterRegistry) {
+        return Timer.builder("security.password.hashing")
+                .description("Time to compute one BCrypt hash, excluding the wait for a thread")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
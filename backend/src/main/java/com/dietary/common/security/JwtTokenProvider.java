@@ -1,29 +1,56 @@
 package com.dietary.common.security;
 
+import com.dietary.common.cache.BoundedExpiringCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_FULL_NAME = "fullName";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_CLIENT_ID = "clientId";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
     private final SecretKey key;
+    private final JwtParser parser;
     private final long accessTokenExpirationMs;
     private final long refreshTokenExpirationMs;
 
+    // Digests of tokens whose signature was already checked, kept until the token expires
+    private final BoundedExpiringCache<ByteBuffer, Claims> verifiedTokens;
+
     public JwtTokenProvider(
             @Value("${jwt.secret}") String jwtSecret,
             @Value("${jwt.access-token-expiration-ms}") long accessTokenExpirationMs,
-            @Value("${jwt.refresh-token-expiration-ms}") long refreshTokenExpirationMs) {
+            @Value("${jwt.refresh-token-expiration-ms}") long refreshTokenExpirationMs,
+            @Value("${jwt.verified-token-cache.max-size:10000}") int verifiedTokenCacheSize,
+            MeterRegistry meterRegistry) {
 
         // Ensure secret is at least 256 bits for HS256
         byte[] keyBytes = Decoders.BASE64.decode(java.util.Base64.getEncoder().encodeToString(jwtSecret.getBytes()));
@@ -34,19 +61,35 @@ public class JwtTokenProvider {
             keyBytes = paddedKey;
         }
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(key).build();
         this.accessTokenExpirationMs = accessTokenExpirationMs;
         this.refreshTokenExpirationMs = refreshTokenExpirationMs;
+        this.verifiedTokens = new BoundedExpiringCache<>(verifiedTokenCacheSize);
+
+        FunctionCounter.builder("security.jwt.verified-cache.hits", verifiedTokens, BoundedExpiringCache::hitCount)
+                .description("Token verifications answered from the verified-token cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.jwt.verified-cache.misses", verifiedTokens, BoundedExpiringCache::missCount)
+                .description("Token verifications that parsed and checked the signature")
+                .register(meterRegistry);
     }
 
     public String generateAccessToken(UserPrincipal userPrincipal) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + accessTokenExpirationMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .subject(userPrincipal.getId().toString())
-                .claim("email", userPrincipal.getEmail())
-                .claim("fullName", userPrincipal.getFullName())
-                .claim("role", userPrincipal.getRole().name())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_FULL_NAME, userPrincipal.getFullName())
+                .claim(CLAIM_ROLE, userPrincipal.getRole().name());
+
+        // CLIENT tokens carry their client record so requests need no lookup
+        if (userPrincipal.getClientId() != null) {
+            builder.claim(CLAIM_CLIENT_ID, userPrincipal.getClientId().toString());
+        }
+
+        return builder
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
@@ -62,22 +105,40 @@ public class JwtTokenProvider {
     }
 
     public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return UUID.fromString(getClaimsFromToken(token).getSubject());
+    }
 
-        return UUID.fromString(claims.getSubject());
+    public Claims getClaimsFromToken(String token) {
+        return parseAndVerify(token);
     }
 
     public boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
+    }
+
+    /**
+     * Verifies the token and returns its claims, parsing it at most once.
+     * Tokens that already passed verification are recognised by their SHA-256
+     * digest until they expire, so repeat requests skip the signature check.
+     */
+    public Optional<Claims> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            log.error("JWT claims string is empty");
+            return Optional.empty();
+        }
+
+        ByteBuffer digest = digest(token);
+        Claims cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            Claims claims = parseAndVerify(token);
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(digest, claims, claims.getExpiration().getTime());
+            }
+            return Optional.of(claims);
         } catch (SignatureException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -89,6 +150,18 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
+    }
+
+    Claims parseAndVerify(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    SecretKey getSigningKey() {
+        return key;
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
     }
 }
@@ -45,6 +45,24 @@ public class UserPrincipal implements UserDetails {
                 .build();
     }
 
+    /**
+     * Builds a principal from verified access-token claims, without a password.
+     * Used by the JWT filter so authenticated requests do not need a user lookup.
+     */
+    public static UserPrincipal fromClaims(UUID id, String email, String fullName, Role role, UUID clientId) {
+        List<GrantedAuthority> authorities = List.of(
+                new SimpleGrantedAuthority("ROLE_" + role.name()));
+
+        return UserPrincipal.builder()
+                .id(id)
+                .email(email)
+                .fullName(fullName)
+                .role(role)
+                .clientId(clientId)
+                .authorities(authorities)
+                .build();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -0,0 +1,96 @@
+package com.dietary.common.security;
+
+import com.dietary.auth.domain.Role;
+import com.dietary.common.cache.BoundedExpiringCache;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves the {@link UserPrincipal} for an authenticated request.
+ * Principals are cached by user id; on a miss they are rebuilt from the token
+ * claims, and only tokens issued without the role/clientId claims fall back
+ * to a database lookup.
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final BoundedExpiringCache<UUID, UserPrincipal> cache;
+    private final long ttlMs;
+    private final LongAdder databaseLoads = new LongAdder();
+
+    public UserPrincipalCache(
+            UserDetailsService userDetailsService,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${security.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.userDetailsService = userDetailsService;
+        this.cache = new BoundedExpiringCache<>(maxSize);
+        this.ttlMs = ttlMs;
+
+        FunctionCounter.builder("security.principal.cache.hits", cache, BoundedExpiringCache::hitCount)
+                .description("Principal lookups served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.principal.cache.misses", cache, BoundedExpiringCache::missCount)
+                .description("Principal lookups that had to rebuild the principal")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.principal.cache.db-loads", databaseLoads, LongAdder::sum)
+                .description("Principal lookups that fell back to the user table")
+                .register(meterRegistry);
+        Gauge.builder("security.principal.cache.size", cache, BoundedExpiringCache::size)
+                .register(meterRegistry);
+    }
+
+    public UserPrincipal resolve(Claims claims) {
+        UUID userId = UUID.fromString(claims.getSubject());
+        return cache.get(userId, ttlMs, id -> fromClaimsOrDatabase(id, claims));
+    }
+
+    public void invalidate(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    public long getHitCount() {
+        return cache.hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.missCount();
+    }
+
+    public long getDatabaseLoadCount() {
+        return databaseLoads.sum();
+    }
+
+    private UserPrincipal fromClaimsOrDatabase(UUID userId, Claims claims) {
+        String roleClaim = claims.get(JwtTokenProvider.CLAIM_ROLE, String.class);
+        String clientIdClaim = claims.get(JwtTokenProvider.CLAIM_CLIENT_ID, String.class);
+
+        if (roleClaim != null) {
+            Role role = Role.valueOf(roleClaim);
+            if (role != Role.CLIENT || clientIdClaim != null) {
+                return UserPrincipal.fromClaims(
+                        userId,
+                        claims.get(JwtTokenProvider.CLAIM_EMAIL, String.class),
+                        claims.get(JwtTokenProvider.CLAIM_FULL_NAME, String.class),
+                        role,
+                        clientIdClaim != null ? UUID.fromString(clientIdClaim) : null);
+            }
+        }
+
+        // Token predates the role/clientId claims
+        log.debug("Loading principal for user '{}' from the database", userId);
+        databaseLoads.increment();
+        return (UserPrincipal) userDetailsService.loadUserByUsername(userId.toString());
+    }
+}
@@ -0,0 +1,56 @@
+package com.dietary.common.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Validator of a response for conditional GETs: a weak ETag over the values
+ * the response is built from. Reading these must be cheaper than building the
+ * response; the typical source is a projection of version columns.
+ * <p>
+ * There is deliberately no Last-Modified: its one-second precision misses a
+ * change within the second of the previous response, and responses that also
+ * depend on something other than timestamps (such as the current date) would
+ * answer If-Modified-Since with a stale 304.
+ *
+ * @param eTag weak entity tag, quoted
+ */
+public record ResourceVersion(String eTag) {
+
+    /**
+     * Clients may store responses but must revalidate them before each use.
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * @param parts every value that changes when the response does
+     */
+    public static ResourceVersion of(Object... parts) {
+        String joined = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        String hash = DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersion("W/\"" + hash + "\"");
+    }
+
+    /**
+     * @return whether the request carries If-None-Match, i.e. whether checking a
+     *         version before building the response can save the work
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    /**
+     * Compares the request's If-None-Match header with this version and sets
+     * the ETag response header. When it returns true the response status is
+     * already 304 and the body must not be built.
+     */
+    public boolean isNotModified(WebRequest request) {
+        return request.checkNotModified(eTag);
+    }
+}
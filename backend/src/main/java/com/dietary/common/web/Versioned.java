@@ -0,0 +1,10 @@
+package com.dietary.common.web;
+
+/**
+ * A response body with the validators of the data it was built from.
+ *
+ * @param body    the response body
+ * @param version validators read together with the body
+ */
+public record Versioned<T>(T body, ResourceVersion version) {
+}
@@ -0,0 +1,70 @@
+package com.dietary.export.controller;
+
+import com.dietary.common.metrics.SqlStatementBudget;
+import com.dietary.common.security.CurrentUser;
+import com.dietary.common.security.UserPrincipal;
+import com.dietary.export.controller.dto.ExportDataset;
+import com.dietary.export.controller.dto.ExportFormat;
+import com.dietary.export.service.ClientExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/clients/{clientId}/export")
+@RequiredArgsConstructor
+@Tag(name = "Client Export", description = "Streaming export of a client's full history")
+@SecurityRequirement(name = "bearerAuth")
+public class ClientExportController {
+
+    private final ClientExportService clientExportService;
+
+    @GetMapping
+    @SqlStatementBudget(6)
+    @PreAuthorize("hasRole('DIETITIAN')")
+    @Operation(summary = "Export client history", description = "Streams measurements, goals, meal tracking, water logs and meal plan history. NDJSON returns one stream with a type field per row; CSV returns a ZIP archive with one file per dataset")
+    public ResponseEntity<StreamingResponseBody> exportAll(
+            @PathVariable UUID clientId,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @CurrentUser UserPrincipal currentUser) {
+        clientExportService.checkAccess(clientId, currentUser.getId());
+        boolean zip = format == ExportFormat.CSV;
+        String fileName = "client-" + clientId + (zip ? ".zip" : "." + format.getExtension());
+        return attachment(fileName, zip ? "application/zip" : format.getMediaType(),
+                out -> clientExportService.exportAll(clientId, format, out));
+    }
+
+    @GetMapping("/{dataset}")
+    @SqlStatementBudget(2)
+    @PreAuthorize("hasRole('DIETITIAN')")
+    @Operation(summary = "Export one dataset", description = "Streams one of measurements, goals, tracking, water or meal-plans as CSV or NDJSON")
+    public ResponseEntity<StreamingResponseBody> exportDataset(
+            @PathVariable UUID clientId,
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @CurrentUser UserPrincipal currentUser) {
+        ExportDataset exportDataset = ExportDataset.fromPath(dataset);
+        clientExportService.checkAccess(clientId, currentUser.getId());
+        String fileName = "client-" + clientId + "-" + exportDataset.getPath() + "." + format.getExtension();
+        return attachment(fileName, format.getMediaType(),
+                out -> clientExportService.exportDataset(clientId, exportDataset, format, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String fileName, String mediaType,
+            StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(MediaType.parseMediaType(mediaType))
+                .body(body);
+    }
+}
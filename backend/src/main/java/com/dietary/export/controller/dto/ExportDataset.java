@@ -0,0 +1,60 @@
+package com.dietary.export.controller.dto;
+
+import com.dietary.common.exception.BadRequestException;
+
+import java.util.List;
+
+/**
+ * The parts of a client's history that can be exported, with the name used
+ * in URLs and file names, the record type written to NDJSON rows and the
+ * columns in export order.
+ */
+public enum ExportDataset {
+    MEASUREMENTS("measurements", "measurement", List.of(
+            "measurement_date", "weight_kg", "body_fat_percentage", "muscle_mass_kg", "water_percentage",
+            "bone_mass_kg", "visceral_fat", "basal_metabolic_rate", "metabolic_age", "bmi", "entry_method",
+            "notes", "created_at")),
+    GOALS("goals", "goal", List.of(
+            "created_at", "active", "goal_type", "activity_level", "target_weight_kg", "weekly_weight_change_kg",
+            "bmr", "tdee", "daily_calorie_target", "protein_grams", "carbs_grams", "fat_grams", "notes")),
+    TRACKING("tracking", "meal_tracking", List.of(
+            "tracking_date", "meal_type", "meal_name", "option_name", "option_calories", "completed",
+            "completed_at", "notes")),
+    WATER("water", "water", List.of(
+            "tracking_date", "amount_ml", "logged_at")),
+    MEAL_PLANS("meal-plans", "meal_plan_item", List.of(
+            "plan_id", "plan_name", "plan_active", "daily_calories", "plan_created_at", "meal_type", "meal_name",
+            "option_name", "option_calories", "food_name", "quantity", "quantity_unit", "calories",
+            "protein_grams", "carbs_grams", "fat_grams"));
+
+    private final String path;
+    private final String recordType;
+    private final List<String> columns;
+
+    ExportDataset(String path, String recordType, List<String> columns) {
+        this.path = path;
+        this.recordType = recordType;
+        this.columns = columns;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getRecordType() {
+        return recordType;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public static ExportDataset fromPath(String path) {
+        for (ExportDataset dataset : values()) {
+            if (dataset.path.equals(path)) {
+                return dataset;
+            }
+        }
+        throw new BadRequestException("Unknown export '" + path + "'");
+    }
+}
@@ -0,0 +1,32 @@
+package com.dietary.export.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a repository query streamed by the client export: rows arrive in
+ * batches of {@link #FETCH_SIZE} and the entities are read-only, so Hibernate
+ * keeps no snapshots of them for dirty checking.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ExportStream.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+})
+public @interface ExportStream {
+
+    /**
+     * Rows per round trip, and the default of {@code export.clear-interval}
+     * so the persistence context is cleared once per fetched batch.
+     */
+    int FETCH_SIZE = 500;
+}
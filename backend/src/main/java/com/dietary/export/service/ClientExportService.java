@@ -0,0 +1,206 @@
+package com.dietary.export.service;
+
+import com.dietary.client.repository.ClientRepository;
+import com.dietary.common.exception.ResourceNotFoundException;
+import com.dietary.export.controller.dto.ExportDataset;
+import com.dietary.export.controller.dto.ExportFormat;
+import com.dietary.export.repository.ExportStream;
+import com.dietary.goal.repository.GoalRepository;
+import com.dietary.mealplan.repository.MealPlanRepository;
+import com.dietary.measurement.repository.MeasurementRepository;
+import com.dietary.tracking.repository.DailyTrackingRepository;
+import com.dietary.tracking.repository.WaterTrackingRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams a client's full history as CSV or NDJSON.
+ * <p>
+ * Rows are read from {@link ExportStream} queries that fetch in batches and
+ * mark entities read-only, written straight to the output and dropped from
+ * the persistence context every {@code export.clear-interval} rows (by
+ * default once per fetched batch), so memory use does not
+ * grow with the length of the history. Each dataset is read in its own
+ * read-only transaction, which runs on the thread writing the response.
+ */
+@Slf4j
+@Service
+public class ClientExportService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ClientRepository clientRepository;
+    private final MeasurementRepository measurementRepository;
+    private final GoalRepository goalRepository;
+    private final DailyTrackingRepository dailyTrackingRepository;
+    private final WaterTrackingRepository waterTrackingRepository;
+    private final MealPlanRepository mealPlanRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int clearInterval;
+
+    public ClientExportService(
+            ClientRepository clientRepository,
+            MeasurementRepository measurementRepository,
+            GoalRepository goalRepository,
+            DailyTrackingRepository dailyTrackingRepository,
+            WaterTrackingRepository waterTrackingRepository,
+            MealPlanRepository mealPlanRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${export.clear-interval:" + ExportStream.FETCH_SIZE + "}") int clearInterval) {
+        if (clearInterval <= 0) {
+            throw new IllegalArgumentException("export.clear-interval must be positive");
+        }
+        this.clientRepository = clientRepository;
+        this.measurementRepository = measurementRepository;
+        this.goalRepository = goalRepository;
+        this.dailyTrackingRepository = dailyTrackingRepository;
+        this.waterTrackingRepository = waterTrackingRepository;
+        this.mealPlanRepository = mealPlanRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clearInterval = clearInterval;
+    }
+
+    /**
+     * Checks that the client belongs to the dietitian. Called before the
+     * response starts, so a missing client is still a 404.
+     */
+    public void checkAccess(UUID clientId, UUID dietitianId) {
+        clientRepository.findByIdAndDietitianId(clientId, dietitianId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", "id", clientId));
+    }
+
+    public void exportDataset(UUID clientId, ExportDataset dataset, ExportFormat format, OutputStream out)
+            throws IOException {
+        ExportWriter writer = open(format, out);
+        long rows = write(clientId, dataset, writer);
+        writer.flush();
+        log.info("Exported {} {} rows of client {} as {}", rows, dataset.getPath(), clientId, format);
+    }
+
+    /**
+     * Every dataset: one NDJSON stream whose rows carry their type, or for
+     * CSV a ZIP archive with one file per dataset.
+     */
+    public void exportAll(UUID clientId, ExportFormat format, OutputStream out) throws IOException {
+        long rows = 0;
+        if (format == ExportFormat.NDJSON) {
+            ExportWriter writer = open(format, out);
+            for (ExportDataset dataset : ExportDataset.values()) {
+                rows += write(clientId, dataset, writer);
+            }
+            writer.flush();
+        } else {
+            ZipOutputStream zip = new ZipOutputStream(out);
+            OutputStream entry = new FilterOutputStream(zip) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    zip.write(b, off, len);
+                }
+
+                @Override
+                public void close() {
+                    // Entries are closed through the archive
+                }
+            };
+            for (ExportDataset dataset : ExportDataset.values()) {
+                zip.putNextEntry(new ZipEntry(dataset.getPath() + "." + format.getExtension()));
+                ExportWriter writer = open(format, entry);
+                rows += write(clientId, dataset, writer);
+                writer.flush();
+                zip.closeEntry();
+            }
+            zip.finish();
+        }
+        log.info("Exported {} rows of client {} as {}", rows, clientId, format);
+    }
+
+    private ExportWriter open(ExportFormat format, OutputStream out) throws IOException {
+        return format == ExportFormat.CSV ? new CsvExportWriter(out) : new NdjsonExportWriter(out, objectMapper);
+    }
+
+    private long write(UUID clientId, ExportDataset dataset, ExportWriter writer) throws IOException {
+        writer.begin(dataset);
+        try {
+            return readOnlyTransaction.execute(status -> {
+                try {
+                    return switch (dataset) {
+                        case MEASUREMENTS -> writeRows(measurementRepository.streamAllByClientId(clientId), writer,
+                                m -> new Object[] {
+                                        m.getMeasurementDate(), m.getWeightKg(), m.getBodyFatPercentage(),
+                                        m.getMuscleMassKg(), m.getWaterPercentage(), m.getBoneMassKg(),
+                                        m.getVisceralFat(), m.getBasalMetabolicRate(), m.getMetabolicAge(),
+                                        m.getBmi(), m.getEntryMethod(), m.getNotes(), m.getCreatedAt()
+                                });
+                        case GOALS -> writeRows(goalRepository.streamAllByClientId(clientId), writer,
+                                g -> new Object[] {
+                                        g.getCreatedAt(), g.getIsActive(), g.getGoalType(), g.getActivityLevel(),
+                                        g.getTargetWeightKg(), g.getWeeklyWeightChangeKg(), g.getBmr(), g.getTdee(),
+                                        g.getDailyCalorieTarget(), g.getProteinGrams(), g.getCarbsGrams(),
+                                        g.getFatGrams(), g.getNotes()
+                                });
+                        case TRACKING -> writeRows(dailyTrackingRepository.streamAllByClientId(clientId), writer,
+                                t -> new Object[] {
+                                        t.getTrackingDate(), t.getMeal().getMealType(), t.getMeal().getName(),
+                                        t.getSelectedOption().getName(), t.getSelectedOption().getTotalCalories(),
+                                        t.getIsCompleted(), t.getCompletedAt(), t.getNotes()
+                                });
+                        case WATER -> writeRows(waterTrackingRepository.streamAllByClientId(clientId), writer,
+                                w -> new Object[] { w.getTrackingDate(), w.getAmountMl(), w.getLoggedAt() });
+                        case MEAL_PLANS -> writeRows(mealPlanRepository.streamItemRowsByClientId(clientId), writer,
+                                r -> new Object[] {
+                                        r.getPlanId(), r.getPlanName(), r.getPlanActive(), r.getDailyCalories(),
+                                        r.getPlanCreatedAt(), r.getMealType(), r.getMealName(), r.getOptionName(),
+                                        r.getOptionCalories(), r.getFoodName(), r.getQuantity(),
+                                        r.getQuantityUnit(), r.getCalories(), r.getProteinGrams(),
+                                        r.getCarbsGrams(), r.getFatGrams()
+                                });
+                    };
+                } catch (IOException e) {
+                    // Usually the client went away; ends the transaction and the stream
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> long writeRows(Stream<T> rows, ExportWriter writer, Function<T, Object[]> columns)
+            throws IOException {
+        long count = 0;
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.row(columns.apply(iterator.next()));
+                if (++count % clearInterval == 0) {
+                    // Rows already written are not needed again
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        return count;
+    }
+}
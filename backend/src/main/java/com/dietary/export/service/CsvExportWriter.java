@@ -0,0 +1,75 @@
+package com.dietary.export.service;
+
+import com.dietary.export.controller.dto.ExportDataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header row. Fields containing commas, quotes or line
+ * breaks are quoted; nulls are empty fields.
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private final Writer writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    CsvExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void begin(ExportDataset dataset) throws IOException {
+        row(dataset.getColumns().toArray());
+    }
+
+    @Override
+    public void row(Object... values) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendField(values[i]);
+        }
+        line.append("\r\n");
+        writer.append(line);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void appendField(Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString()
+                : value instanceof Enum<?> constant ? constant.name()
+                : value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
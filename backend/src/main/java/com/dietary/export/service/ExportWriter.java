@@ -0,0 +1,19 @@
+package com.dietary.export.service;
+
+import com.dietary.export.controller.dto.ExportDataset;
+
+import java.io.IOException;
+
+/**
+ * Writes export rows in one output format. Rows must have one value per
+ * column of the current dataset, in column order; null values are allowed.
+ */
+interface ExportWriter {
+
+    void begin(ExportDataset dataset) throws IOException;
+
+    void row(Object... values) throws IOException;
+
+    /** Pushes buffered rows to the underlying stream. */
+    void flush() throws IOException;
+}
@@ -0,0 +1,54 @@
+package com.dietary.export.service;
+
+import com.dietary.export.controller.dto.ExportDataset;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Newline-delimited JSON: one object per row with a {@code type} field
+ * naming the dataset, so several datasets can share one stream. Null values
+ * are left out, as in API responses.
+ */
+class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private String recordType;
+    private List<String> columns;
+
+    NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // The caller owns the stream; a ZIP entry or response must not be closed by the generator
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Rows end with a newline instead of the default space between root values
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void begin(ExportDataset dataset) {
+        this.recordType = dataset.getRecordType();
+        this.columns = dataset.getColumns();
+    }
+
+    @Override
+    public void row(Object... values) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", recordType);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(values[i]);
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,37 @@
+package com.dietary.food.config;
+
+import com.dietary.food.importer.FoodImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+
+@Slf4j
+@Configuration
+public class FoodImportInitializer {
+
+    /**
+     * Imports the food catalog files listed in {@code food.import.path} before
+     * the application starts serving requests. Files that were already
+     * imported are skipped, so the property can stay set across restarts.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "food.import.path")
+    public CommandLineRunner importFoodCatalog(
+            FoodImportService foodImportService,
+            @Value("${food.import.path}") String paths) {
+        return args -> {
+            for (String path : StringUtils.commaDelimitedListToStringArray(paths)) {
+                if (StringUtils.hasText(path)) {
+                    log.info("Importing food catalog from {}...", path.trim());
+                    foodImportService.importFile(Path.of(path.trim()));
+                }
+            }
+        };
+    }
+}
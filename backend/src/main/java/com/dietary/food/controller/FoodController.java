@@ -1,6 +1,7 @@
 package com.dietary.food.controller;
 
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
 import com.dietary.common.security.CurrentUser;
 import com.dietary.common.security.UserPrincipal;
 import com.dietary.food.controller.dto.FoodDTO;
@@ -29,18 +30,21 @@ public class FoodController {
     private final FoodService foodService;
 
     @GetMapping("/search")
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('DIETITIAN')")
-    @Operation(summary = "Search foods", description = "Search foods by name, category, or source. Returns system foods and dietitian's custom foods.")
+    @Operation(summary = "Search foods", description = "Search foods by name, category, or source. Returns system foods and dietitian's custom foods, best matches first. Name search tolerates prefixes and small typos.")
     public ResponseEntity<ApiResponse<List<FoodDTO>>> searchFoods(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) FoodSource source,
+            @RequestParam(required = false) Integer limit,
             @CurrentUser UserPrincipal currentUser) {
-        List<FoodDTO> foods = foodService.searchFoods(currentUser.getId(), query, category, source);
+        List<FoodDTO> foods = foodService.searchFoods(currentUser.getId(), query, category, source, limit);
         return ResponseEntity.ok(ApiResponse.success(foods));
     }
 
     @GetMapping("/categories")
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get food categories", description = "Retrieves all available food categories")
     public ResponseEntity<ApiResponse<List<String>>> getCategories() {
@@ -49,6 +53,7 @@ public class FoodController {
     }
 
     @PostMapping
+    @SqlStatementBudget(2)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Create custom food", description = "Creates a new custom food entry for the dietitian")
     public ResponseEntity<ApiResponse<FoodDTO>> createFood(
@@ -22,6 +22,7 @@ public class FoodDTO {
     private String brand;
     private String servingSize;
     private String servingUnit;
+    private BigDecimal servingGrams;
     private Integer caloriesPerServing;
     private BigDecimal proteinGrams;
     private BigDecimal carbsGrams;
@@ -42,6 +43,7 @@ public class FoodDTO {
                 .brand(food.getBrand())
                 .servingSize(food.getServingSize())
                 .servingUnit(food.getServingUnit())
+                .servingGrams(food.getServingGrams())
                 .caloriesPerServing(food.getCaloriesPerServing())
                 .proteinGrams(food.getProteinGrams())
                 .carbsGrams(food.getCarbsGrams())
@@ -31,6 +31,10 @@ public class FoodRequest {
     @NotBlank(message = "Serving unit is required")
     private String servingUnit;
 
+    // Needed to convert gram quantities for servings such as "1 medium"; derived for mass units
+    @Positive(message = "Serving grams must be positive")
+    private BigDecimal servingGrams;
+
     @NotNull(message = "Calories per serving is required")
     @Positive(message = "Calories must be positive")
     private Integer caloriesPerServing;
@@ -1,6 +1,7 @@
 package com.dietary.food.domain;
 
 import com.dietary.auth.domain.User;
+import com.dietary.food.nutrition.UnitRegistry;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -11,7 +12,9 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "foods")
+@Table(name = "foods", indexes = {
+        @Index(name = "idx_foods_source_name", columnList = "source, name")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -43,6 +46,10 @@ public class Food {
     @Column(name = "serving_unit", nullable = false)
     private String servingUnit;
 
+    // Weight of one serving; derived from mass serving units, given explicitly for "1 medium" and the like
+    @Column(name = "serving_grams", precision = 10, scale = 2)
+    private BigDecimal servingGrams;
+
     @Column(name = "calories_per_serving", nullable = false)
     private Integer caloriesPerServing;
 
@@ -80,4 +87,11 @@ public class Food {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
+
+    @PrePersist
+    void normalizeServing() {
+        if (servingGrams == null) {
+            servingGrams = UnitRegistry.toGrams(servingSize, servingUnit);
+        }
+    }
 }
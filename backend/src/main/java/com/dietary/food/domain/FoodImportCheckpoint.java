@@ -0,0 +1,61 @@
+package com.dietary.food.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Progress of a bulk food catalog import. Updated in the same transaction as
+ * each written batch, so after a crash the import resumes right after the
+ * last committed record.
+ */
+@Entity
+@Table(name = "food_import_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FoodImportCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Absolute path, size and modification time of the imported file
+    @Column(name = "file_key", nullable = false, unique = true, length = 1024)
+    private String fileKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private FoodImportStatus status = FoodImportStatus.IN_PROGRESS;
+
+    @Column(name = "records_read", nullable = false)
+    @Builder.Default
+    private Long recordsRead = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long inserted = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long duplicates = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long rejected = 0L;
+
+    @CreationTimestamp
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private Instant startedAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
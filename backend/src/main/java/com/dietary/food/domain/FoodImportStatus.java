@@ -0,0 +1,6 @@
+package com.dietary.food.domain;
+
+public enum FoodImportStatus {
+    IN_PROGRESS, // Stopped or still running; resumes from recordsRead
+    COMPLETED // Whole file imported; re-running the same file is a no-op
+}
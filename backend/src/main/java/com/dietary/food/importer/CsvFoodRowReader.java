@@ -0,0 +1,101 @@
+package com.dietary.food.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV reader. The first record is the header; quoted fields may
+ * contain commas, doubled quotes and line breaks.
+ */
+class CsvFoodRowReader implements FoodRowReader {
+
+    private static final int BYTE_ORDER_MARK = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final List<String> columns;
+    private final StringBuilder field = new StringBuilder();
+
+    CsvFoodRowReader(Reader in) throws IOException {
+        this.reader = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+        reader.mark(1);
+        if (reader.read() != BYTE_ORDER_MARK) {
+            reader.reset();
+        }
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("CSV file has no header row");
+        }
+        this.columns = header.stream().map(FoodImportRecord::columnKey).toList();
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> values = readRecord();
+        // Skip blank lines
+        while (values != null && values.size() == 1 && values.get(0).isBlank()) {
+            values = readRecord();
+        }
+        if (values == null) {
+            return null;
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < columns.size() && i < values.size(); i++) {
+            row.put(columns.get(i), values.get(i));
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("CSV file ends inside a quoted field");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        // Closing quote; look at the following character unquoted
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == -1 || c == '\n') {
+                values.add(field.toString());
+                return values;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                values.add(field.toString());
+                return values;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.dietary.food.importer;
+
+import com.dietary.food.nutrition.UnitRegistry;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One validated, normalized row of a food catalog import.
+ * Column names are matched loosely ("serving_size", "Serving Size" and
+ * "servingSize" are the same column) and a few common aliases are accepted.
+ */
+record FoodImportRecord(
+        String name,
+        String brand,
+        String servingSize,
+        String servingUnit,
+        BigDecimal servingGrams,
+        int calories,
+        BigDecimal proteinGrams,
+        BigDecimal carbsGrams,
+        BigDecimal fatGrams,
+        BigDecimal fiberGrams,
+        BigDecimal sugarGrams,
+        BigDecimal sodiumMg,
+        String category,
+        String notes) {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    // protein_grams etc. are numeric(6,2), sodium_mg is numeric(8,2)
+    private static final BigDecimal MAX_GRAMS = new BigDecimal("9999.99");
+    private static final BigDecimal MAX_MILLIGRAMS = new BigDecimal("999999.99");
+    // serving_grams is numeric(10,2)
+    private static final BigDecimal MAX_SERVING_GRAMS = new BigDecimal("99999999.99");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]");
+    private static final Pattern SERVING = Pattern.compile("^(\\d+(?:\\.\\d+)?)\\s*(.*)$");
+
+    /**
+     * Validates and normalizes a raw row.
+     *
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    static FoodImportRecord parse(Map<String, String> row) {
+        String name = text(row, "name", "foodname", "description");
+        if (name == null) {
+            throw new IllegalArgumentException("name is required");
+        }
+
+        String size = text(row, "servingsize", "serving");
+        String unit = text(row, "servingunit", "unit");
+        if (size == null && unit == null) {
+            // National nutrient databases report values per 100 g
+            size = "100";
+            unit = "g";
+        } else if (size != null && unit == null) {
+            // "100 g" in a single column
+            Matcher matcher = SERVING.matcher(size);
+            if (matcher.matches() && !matcher.group(2).isBlank()) {
+                size = matcher.group(1);
+                unit = matcher.group(2);
+            }
+        }
+        if (size == null || unit == null) {
+            throw new IllegalArgumentException("serving size and unit are both required");
+        }
+        BigDecimal servingSize = decimal(size, "serving size");
+        if (servingSize.signum() <= 0) {
+            throw new IllegalArgumentException("serving size must be positive");
+        }
+
+        String servingUnit = normalizeUnit(unit);
+        String normalizedSize = servingSize.stripTrailingZeros().toPlainString();
+        BigDecimal servingGrams = amount(row, MAX_SERVING_GRAMS, "serving grams", "servinggrams", "gramweight");
+        if (servingGrams == null) {
+            servingGrams = UnitRegistry.toGrams(normalizedSize, servingUnit);
+        } else if (servingGrams.signum() == 0) {
+            throw new IllegalArgumentException("serving grams must be positive");
+        }
+
+        BigDecimal calories = decimal(text(row, "caloriesperserving", "calories", "kcal", "energykcal"), "calories");
+        if (calories == null || calories.signum() < 0) {
+            throw new IllegalArgumentException("calories are required and must not be negative");
+        }
+
+        return new FoodImportRecord(
+                name,
+                text(row, "brand", "brandowner"),
+                normalizedSize,
+                servingUnit,
+                servingGrams,
+                calories.setScale(0, RoundingMode.HALF_UP).intValueExact(),
+                amount(row, MAX_GRAMS, "protein", "proteingrams", "protein", "proteing"),
+                amount(row, MAX_GRAMS, "carbs", "carbsgrams", "carbs", "carbsg", "carbohydrates", "carbohydratesg"),
+                amount(row, MAX_GRAMS, "fat", "fatgrams", "fat", "fatg", "totalfat"),
+                amount(row, MAX_GRAMS, "fiber", "fibergrams", "fiber", "fiberg"),
+                amount(row, MAX_GRAMS, "sugar", "sugargrams", "sugar", "sugars", "sugarg"),
+                amount(row, MAX_MILLIGRAMS, "sodium", "sodiummg", "sodium"),
+                text(row, "category", "foodcategory"),
+                row.get("notes") != null && !row.get("notes").isBlank() ? row.get("notes").trim() : null);
+    }
+
+    /**
+     * Identity used to recognize a food that is already in the catalog:
+     * same name, brand and serving.
+     */
+    String dedupKey() {
+        return dedupKey(name, brand, servingSize, servingUnit);
+    }
+
+    static String dedupKey(String name, String brand, String servingSize, String servingUnit) {
+        return name + '\u0000' + (brand != null ? brand.toLowerCase(Locale.ROOT) : "") + '\u0000'
+                + servingSize + '\u0000' + servingUnit;
+    }
+
+    /** Canonical form of a column name: lower case letters and digits only. */
+    static String columnKey(String column) {
+        return NON_ALPHANUMERIC.matcher(column.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    /** Known units and their aliases become the registry symbol; anything else is kept in lower case. */
+    private static String normalizeUnit(String unit) {
+        String lower = WHITESPACE.matcher(unit.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        if (lower.endsWith(".")) {
+            lower = lower.substring(0, lower.length() - 1);
+        }
+        UnitRegistry.Unit known = UnitRegistry.lookup(lower);
+        return known != null ? known.symbol() : lower;
+    }
+
+    private static String text(Map<String, String> row, String... columns) {
+        for (String column : columns) {
+            String value = row.get(column);
+            if (value != null && !value.isBlank()) {
+                String collapsed = WHITESPACE.matcher(value.trim()).replaceAll(" ");
+                if (collapsed.length() > MAX_TEXT_LENGTH) {
+                    throw new IllegalArgumentException(columns[0] + " is longer than " + MAX_TEXT_LENGTH + " characters");
+                }
+                return collapsed;
+            }
+        }
+        return null;
+    }
+
+    private static BigDecimal amount(Map<String, String> row, BigDecimal max, String label, String... columns) {
+        BigDecimal value = decimal(text(row, columns), label);
+        if (value == null) {
+            return null;
+        }
+        value = value.setScale(2, RoundingMode.HALF_UP);
+        if (value.signum() < 0 || value.compareTo(max) > 0) {
+            throw new IllegalArgumentException(label + " must be between 0 and " + max);
+        }
+        return value;
+    }
+
+    private static BigDecimal decimal(String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " is not a number: '" + value + "'");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.dietary.food.importer;
+
+import java.time.Duration;
+
+/**
+ * Totals of a food catalog import across all runs of the same file;
+ * {@code elapsed} covers the latest run only.
+ */
+public record FoodImportResult(
+        long recordsRead,
+        long inserted,
+        long duplicates,
+        long rejected,
+        Duration elapsed) {
+}
@@ -0,0 +1,244 @@
+package com.dietary.food.importer;
+
+import com.dietary.food.domain.FoodImportCheckpoint;
+import com.dietary.food.domain.FoodImportStatus;
+import com.dietary.food.repository.FoodImportCheckpointRepository;
+import com.dietary.food.search.FoodSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk-loads SYSTEM foods from CSV, JSON or newline-delimited JSON files.
+ * <p>
+ * The file is streamed, so memory use is bounded by the batch size. Each
+ * batch is de-duplicated against the catalog (same name, brand and serving),
+ * written with a single JDBC batch insert and recorded in the file's
+ * {@link FoodImportCheckpoint} in one transaction. Running the same file
+ * again resumes after the last committed batch, or does nothing once the
+ * file has been imported completely.
+ */
+@Slf4j
+@Service
+public class FoodImportService {
+
+    private static final String INSERT_FOOD = "INSERT INTO foods (id, source, name, brand, serving_size, serving_unit, " +
+            "serving_grams, calories_per_serving, protein_grams, carbs_grams, fat_grams, fiber_grams, sugar_grams, " +
+            "sodium_mg, category, notes, active, created_at, updated_at) " +
+            "VALUES (?, 'SYSTEM', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, ?, ?)";
+
+    private static final String SELECT_EXISTING = "SELECT name, brand, serving_size, serving_unit FROM foods " +
+            "WHERE source = 'SYSTEM' AND name = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final FoodImportCheckpointRepository checkpointRepository;
+    private final FoodSearchIndex foodSearchIndex;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final long progressIntervalMs;
+
+    public FoodImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            FoodImportCheckpointRepository checkpointRepository,
+            FoodSearchIndex foodSearchIndex,
+            ObjectMapper objectMapper,
+            @Value("${food.import.batch-size:1000}") int batchSize,
+            @Value("${food.import.progress-interval-ms:10000}") long progressIntervalMs) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("food.import.batch-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointRepository = checkpointRepository;
+        this.foodSearchIndex = foodSearchIndex;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.progressIntervalMs = progressIntervalMs;
+    }
+
+    public FoodImportResult importFile(Path file) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        if (!Files.isRegularFile(path)) {
+            throw new IOException("Food import file not found: " + path);
+        }
+        // A changed file is a new import rather than a continuation of the old one
+        String fileKey = path + "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis();
+        FoodImportCheckpoint checkpoint = checkpointRepository.findByFileKey(fileKey)
+                .orElseGet(() -> checkpointRepository.save(FoodImportCheckpoint.builder().fileKey(fileKey).build()));
+
+        Progress progress = new Progress(path, checkpoint);
+        if (checkpoint.getStatus() == FoodImportStatus.COMPLETED) {
+            log.info("Food import {} was already completed, skipping", path);
+            return progress.result();
+        }
+        if (checkpoint.getRecordsRead() > 0) {
+            log.info("Resuming food import {} after record {}", path, checkpoint.getRecordsRead());
+        }
+
+        try (FoodRowReader reader = FoodRowReader.open(path, objectMapper)) {
+            long position = 0;
+            while (position < checkpoint.getRecordsRead() && reader.next() != null) {
+                position++;
+            }
+
+            List<FoodImportRecord> batch = new ArrayList<>(batchSize);
+            int rejected = 0;
+            Map<String, String> row;
+            while ((row = reader.next()) != null) {
+                position++;
+                try {
+                    batch.add(FoodImportRecord.parse(row));
+                } catch (IllegalArgumentException e) {
+                    rejected++;
+                    log.debug("Rejected record {} of {}: {}", position, path.getFileName(), e.getMessage());
+                }
+                if (batch.size() + rejected >= batchSize) {
+                    writeBatch(checkpoint.getId(), batch, rejected, position, progress);
+                    batch.clear();
+                    rejected = 0;
+                }
+            }
+            if (!batch.isEmpty() || rejected > 0) {
+                writeBatch(checkpoint.getId(), batch, rejected, position, progress);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.markCompleted(checkpoint.getId()));
+        progress.log("Finished");
+        if (progress.inserted > 0 && foodSearchIndex.isReady()) {
+            foodSearchIndex.load();
+        }
+        return progress.result();
+    }
+
+    private void writeBatch(UUID checkpointId, List<FoodImportRecord> records, int rejected, long position,
+            Progress progress) {
+        int inserted = transactionTemplate.execute(status -> {
+            List<FoodImportRecord> fresh = withoutDuplicates(records);
+            insert(fresh);
+            checkpointRepository.advance(checkpointId, position, fresh.size(), records.size() - fresh.size(), rejected);
+            return fresh.size();
+        });
+        progress.add(position, inserted, records.size() - inserted, rejected);
+        if (progress.isDue(progressIntervalMs)) {
+            progress.log("Progress");
+        }
+    }
+
+    /**
+     * Drops records that are already in the catalog or repeat an earlier
+     * record of the same batch. One indexed lookup per batch, by name.
+     */
+    private List<FoodImportRecord> withoutDuplicates(List<FoodImportRecord> records) {
+        if (records.isEmpty()) {
+            return records;
+        }
+        Object[] names = records.stream().map(FoodImportRecord::name).distinct().toArray();
+        Set<String> seen = new HashSet<>();
+        jdbcTemplate.query(SELECT_EXISTING,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", names)),
+                rs -> {
+                    seen.add(FoodImportRecord.dedupKey(
+                            rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+                });
+
+        List<FoodImportRecord> fresh = new ArrayList<>(records.size());
+        for (FoodImportRecord record : records) {
+            if (seen.add(record.dedupKey())) {
+                fresh.add(record);
+            }
+        }
+        return fresh;
+    }
+
+    private void insert(List<FoodImportRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = Instant.now().atOffset(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(INSERT_FOOD, records, records.size(), (ps, record) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setString(2, record.name());
+            ps.setString(3, record.brand());
+            ps.setString(4, record.servingSize());
+            ps.setString(5, record.servingUnit());
+            ps.setBigDecimal(6, record.servingGrams());
+            ps.setInt(7, record.calories());
+            ps.setBigDecimal(8, record.proteinGrams());
+            ps.setBigDecimal(9, record.carbsGrams());
+            ps.setBigDecimal(10, record.fatGrams());
+            ps.setBigDecimal(11, record.fiberGrams());
+            ps.setBigDecimal(12, record.sugarGrams());
+            ps.setBigDecimal(13, record.sodiumMg());
+            ps.setString(14, record.category());
+            ps.setString(15, record.notes());
+            ps.setObject(16, now);
+            ps.setObject(17, now);
+        });
+    }
+
+    /** Running totals of one import, including what earlier runs committed. */
+    private static final class Progress {
+        private final Path path;
+        private final long startNanos = System.nanoTime();
+        private final long resumedAt;
+        private long lastLogNanos = startNanos;
+        private long recordsRead;
+        private long inserted;
+        private long duplicates;
+        private long rejected;
+
+        Progress(Path path, FoodImportCheckpoint checkpoint) {
+            this.path = path;
+            this.resumedAt = checkpoint.getRecordsRead();
+            this.recordsRead = checkpoint.getRecordsRead();
+            this.inserted = checkpoint.getInserted();
+            this.duplicates = checkpoint.getDuplicates();
+            this.rejected = checkpoint.getRejected();
+        }
+
+        void add(long position, long insertedDelta, long duplicatesDelta, long rejectedDelta) {
+            recordsRead = position;
+            inserted += insertedDelta;
+            duplicates += duplicatesDelta;
+            rejected += rejectedDelta;
+        }
+
+        boolean isDue(long intervalMs) {
+            return System.nanoTime() - lastLogNanos >= intervalMs * 1_000_000;
+        }
+
+        void log(String stage) {
+            lastLogNanos = System.nanoTime();
+            Duration elapsed = Duration.ofNanos(lastLogNanos - startNanos);
+            long perSecond = (recordsRead - resumedAt) * 1000 / Math.max(1, elapsed.toMillis());
+            log.info("{} food import {}: {} records read ({} inserted, {} duplicates, {} rejected), {} records/s",
+                    stage, path.getFileName(), recordsRead, inserted, duplicates, rejected, perSecond);
+        }
+
+        FoodImportResult result() {
+            return new FoodImportResult(recordsRead, inserted, duplicates, rejected,
+                    Duration.ofNanos(System.nanoTime() - startNanos));
+        }
+    }
+}
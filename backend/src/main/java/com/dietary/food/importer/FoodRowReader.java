@@ -0,0 +1,33 @@
+package com.dietary.food.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the rows of an import file one at a time, as raw values keyed by
+ * {@link FoodImportRecord#columnKey(String) canonical column name}.
+ */
+interface FoodRowReader extends Closeable {
+
+    /** The next row, or {@code null} at the end of the file. */
+    Map<String, String> next() throws IOException;
+
+    static FoodRowReader open(Path file, ObjectMapper objectMapper) throws IOException {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (fileName.endsWith(".csv")) {
+            return new CsvFoodRowReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+        }
+        if (fileName.endsWith(".json") || fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")) {
+            return new JsonFoodRowReader(new BufferedInputStream(Files.newInputStream(file)), objectMapper);
+        }
+        throw new IllegalArgumentException("Unsupported food import file type: " + file.getFileName());
+    }
+}
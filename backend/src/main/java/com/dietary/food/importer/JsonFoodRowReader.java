@@ -0,0 +1,47 @@
+package com.dietary.food.importer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads either a JSON array of food objects or newline-delimited objects,
+ * one object at a time. Nested values are ignored.
+ */
+class JsonFoodRowReader implements FoodRowReader {
+
+    private final MappingIterator<Map<String, Object>> objects;
+
+    JsonFoodRowReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        // A root-level array is unwrapped, so both layouts stream element by element
+        this.objects = objectMapper.readerFor(new TypeReference<Map<String, Object>>() { })
+                .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                .readValues(in);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (!objects.hasNextValue()) {
+            return null;
+        }
+        Map<String, String> row = new HashMap<>();
+        objects.nextValue().forEach((key, value) -> {
+            if (value != null && !(value instanceof Map) && !(value instanceof List)) {
+                row.put(FoodImportRecord.columnKey(key), value.toString());
+            }
+        });
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        objects.close();
+    }
+}
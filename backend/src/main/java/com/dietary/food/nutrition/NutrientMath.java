@@ -0,0 +1,204 @@
+package com.dietary.food.nutrition;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Scales a food's per-serving values to a quantity using fixed-point longs.
+ * <p>
+ * Rounding matches the earlier {@link BigDecimal} arithmetic: the serving
+ * ratio is rounded HALF_UP to four decimals, calories to whole numbers and
+ * nutrients to two decimals. Inputs that do not fit a {@code long}, or would
+ * overflow it, fall back to the same computation in BigDecimal.
+ */
+public final class NutrientMath {
+
+    public static final int RATIO_SCALE = 4;
+    public static final long RATIO_ONE = 10_000L;
+
+    // Marks an intermediate result that left long range; MIN_VALUE never occurs as a real product here
+    private static final long OVERFLOW = Long.MIN_VALUE;
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private NutrientMath() {
+    }
+
+    /**
+     * Ratio of the quantity to one serving of the food, in ten-thousandths.
+     * <ul>
+     * <li>A quantity in servings is the ratio itself.</li>
+     * <li>A mass or volume quantity is converted when the food's serving is
+     * given in another unit of the same kind.</li>
+     * <li>A mass quantity against any other serving, such as "1 medium", goes
+     * through the food's gram weight when it is known.</li>
+     * <li>Otherwise the quantity is taken to be in the serving's unit, and when
+     * the serving size is not a number the per-serving values are used as
+     * they are, i.e. the ratio is one.</li>
+     * </ul>
+     */
+    public static long servingRatio(BigDecimal quantity, UnitRegistry.Unit unit, NutrientVector food) {
+        UnitRegistry.Unit serving = food.servingUnit;
+        if (unit != null && unit.kind() == UnitRegistry.Kind.SERVING) {
+            long ratio = fastRatio(quantity, 1, 1, 0);
+            return ratio != OVERFLOW ? ratio : quantity.setScale(RATIO_SCALE, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        }
+        if (unit != null && unit != serving && unit.isMeasure()) {
+            if (serving != null && serving.kind() == unit.kind() && food.numericServing) {
+                // Both sides in millionths of the same base unit
+                long ratio = food.servingScale >= 0
+                        ? fastRatio(quantity, unit.microUnits(), times(food.servingUnscaled, serving.microUnits()),
+                                food.servingScale)
+                        : OVERFLOW;
+                return ratio != OVERFLOW ? ratio : slowRatio(
+                        quantity.multiply(BigDecimal.valueOf(unit.microUnits())),
+                        food.servingSize.multiply(BigDecimal.valueOf(serving.microUnits())));
+            }
+            if (unit.kind() == UnitRegistry.Kind.MASS && food.servingGrams != null) {
+                // Micrograms over hundredths of a gram: ten-thousandths of a serving
+                long ratio = food.servingGramsHundredths != NutrientVector.SLOW_PATH
+                        ? fastRatio(quantity, unit.microUnits(), food.servingGramsHundredths, -4)
+                        : OVERFLOW;
+                return ratio != OVERFLOW ? ratio : slowRatio(
+                        quantity.multiply(BigDecimal.valueOf(unit.microUnits())),
+                        food.servingGrams.multiply(BigDecimal.valueOf(UnitRegistry.MICROS_PER_UNIT)));
+            }
+        }
+
+        if (!food.numericServing) {
+            return RATIO_ONE;
+        }
+        long ratio = food.servingScale >= 0 ? fastRatio(quantity, 1, food.servingUnscaled, food.servingScale) : OVERFLOW;
+        return ratio != OVERFLOW ? ratio : slowRatio(quantity, food.servingSize);
+    }
+
+    /**
+     * Calories for the given serving ratio, rounded HALF_UP.
+     */
+    public static int calories(NutrientVector food, long ratio) {
+        long product = times(ratio, food.caloriesPerServing);
+        if (product == OVERFLOW) {
+            return BigDecimal.valueOf(ratio, RATIO_SCALE)
+                    .multiply(BigDecimal.valueOf(food.caloriesPerServing))
+                    .setScale(0, RoundingMode.HALF_UP)
+                    .intValue();
+        }
+        return (int) divideHalfUp(product, RATIO_ONE);
+    }
+
+    /**
+     * Amount of one {@link NutrientVector} nutrient for the given serving
+     * ratio, rounded HALF_UP to two decimals, or {@code null} when the food
+     * has no value for it.
+     */
+    public static BigDecimal amount(NutrientVector food, int nutrient, long ratio) {
+        long perServing = food.hundredths[nutrient];
+        if (perServing == NutrientVector.ABSENT) {
+            return null;
+        }
+        if (perServing != NutrientVector.SLOW_PATH) {
+            long product = times(perServing, ratio);
+            if (product != OVERFLOW) {
+                return BigDecimal.valueOf(divideHalfUp(product, RATIO_ONE), 2);
+            }
+        }
+        return food.amounts[nutrient].multiply(BigDecimal.valueOf(ratio, RATIO_SCALE))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * {@code (quantity * factor) / (denominator * 10^-denominatorScale)} in
+     * ten-thousandths, or {@link #OVERFLOW} when it does not fit long arithmetic.
+     */
+    private static long fastRatio(BigDecimal quantity, long factor, long denominator, int denominatorScale) {
+        if (denominator == 0 || denominator == OVERFLOW || !fits(quantity)) {
+            return OVERFLOW;
+        }
+        long numerator = times(quantity.unscaledValue().longValue(), factor);
+        int shift = denominatorScale - quantity.scale() + RATIO_SCALE;
+        if (shift >= 0 && shift < POWERS_OF_TEN.length) {
+            numerator = times(numerator, POWERS_OF_TEN[shift]);
+        } else if (shift < 0 && -shift < POWERS_OF_TEN.length) {
+            denominator = times(denominator, POWERS_OF_TEN[-shift]);
+        } else {
+            return OVERFLOW;
+        }
+        if (numerator == OVERFLOW || denominator == OVERFLOW) {
+            return OVERFLOW;
+        }
+        return divideHalfUp(numerator, denominator);
+    }
+
+    private static long slowRatio(BigDecimal numerator, BigDecimal denominator) {
+        return numerator.divide(denominator, RATIO_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /** {@code a * b}, or {@link #OVERFLOW} when the product does not fit a long. */
+    private static long times(long a, long b) {
+        if (a == OVERFLOW || b == OVERFLOW) {
+            return OVERFLOW;
+        }
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        return (high == 0 && low >= 0) || (high == -1 && low < 0) ? low : OVERFLOW;
+    }
+
+    /** {@code dividend / divisor} rounded half away from zero, like {@link RoundingMode#HALF_UP}. */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder != 0 && remainder >= Math.abs(divisor) - remainder) {
+            quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Parses a plain decimal such as "100" or "0.5", or returns {@code null}
+     * for free text such as "1 medium". Only strings that look like exponent
+     * or signed notation, or use digits of other scripts, are handed to the
+     * BigDecimal parser to decide.
+     */
+    static BigDecimal parseDecimal(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        int digits = 0;
+        int dots = 0;
+        boolean plain = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.') {
+                dots++;
+            } else if (c == '+' || c == '-' || c == 'e' || c == 'E' || Character.isDigit(c)) {
+                // Includes non-ASCII digits, which BigDecimal also accepts
+                plain = false;
+            } else {
+                return null;
+            }
+        }
+        if (plain) {
+            return digits > 0 && dots <= 1 ? new BigDecimal(text) : null;
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Whether the value is {@code unscaled * 10^-scale} with a long unscaled value and a usable scale. */
+    static boolean fits(BigDecimal value) {
+        return value.scale() >= 0 && value.scale() < POWERS_OF_TEN.length && value.unscaledValue().bitLength() < 63;
+    }
+}
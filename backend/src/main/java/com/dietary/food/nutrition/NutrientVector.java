@@ -0,0 +1,92 @@
+package com.dietary.food.nutrition;
+
+import com.dietary.food.domain.Food;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-serving values of one food, parsed once into fixed-point longs for
+ * {@link NutrientMath}. Nutrients and the serving's gram weight are held in
+ * hundredths, matching the two-decimal columns of {@code foods}; a value that
+ * does not fit that representation keeps its {@link BigDecimal} and takes the
+ * exact slow path.
+ */
+public final class NutrientVector {
+
+    public static final int PROTEIN = 0;
+    public static final int CARBS = 1;
+    public static final int FAT = 2;
+    public static final int FIBER = 3;
+    public static final int SUGAR = 4;
+    public static final int SODIUM = 5;
+    static final int SIZE = 6;
+
+    static final long ABSENT = Long.MIN_VALUE;
+    static final long SLOW_PATH = Long.MIN_VALUE + 1;
+
+    // Serving size as unscaled * 10^-servingScale; numericServing is false for sizes like "1 medium"
+    final boolean numericServing;
+    final long servingUnscaled;
+    final int servingScale;
+    final BigDecimal servingSize;
+    final UnitRegistry.Unit servingUnit;
+
+    // Weight of one serving in hundredths of a gram, ABSENT when unknown
+    final long servingGramsHundredths;
+    final BigDecimal servingGrams;
+
+    final int caloriesPerServing;
+    final long[] hundredths = new long[SIZE];
+    final BigDecimal[] amounts = new BigDecimal[SIZE];
+
+    private NutrientVector(String servingSize, String servingUnit, BigDecimal servingGrams, int caloriesPerServing,
+            BigDecimal[] perServing) {
+        this.servingSize = NutrientMath.parseDecimal(servingSize);
+        this.numericServing = this.servingSize != null;
+        if (numericServing && NutrientMath.fits(this.servingSize)) {
+            this.servingUnscaled = this.servingSize.unscaledValue().longValue();
+            this.servingScale = this.servingSize.scale();
+        } else {
+            this.servingUnscaled = 0;
+            this.servingScale = -1;
+        }
+        this.servingUnit = UnitRegistry.lookup(servingUnit);
+        this.servingGrams = servingGrams;
+        this.servingGramsHundredths = hundredths(servingGrams);
+        this.caloriesPerServing = caloriesPerServing;
+        for (int i = 0; i < SIZE; i++) {
+            amounts[i] = perServing[i];
+            hundredths[i] = hundredths(perServing[i]);
+        }
+    }
+
+    public static NutrientVector of(Food food) {
+        // Foods saved before serving_grams existed derive it on the fly
+        BigDecimal servingGrams = food.getServingGrams() != null
+                ? food.getServingGrams()
+                : UnitRegistry.toGrams(food.getServingSize(), food.getServingUnit());
+        return new NutrientVector(food.getServingSize(), food.getServingUnit(), servingGrams,
+                food.getCaloriesPerServing(), new BigDecimal[] {
+                food.getProteinGrams(),
+                food.getCarbsGrams(),
+                food.getFatGrams(),
+                food.getFiberGrams(),
+                food.getSugarGrams(),
+                food.getSodiumMg()
+        });
+    }
+
+    public boolean hasNumericServing() {
+        return numericServing;
+    }
+
+    private static long hundredths(BigDecimal value) {
+        if (value == null) {
+            return ABSENT;
+        }
+        if (value.scale() <= 2 && NutrientMath.fits(value.setScale(2))) {
+            return value.setScale(2).unscaledValue().longValue();
+        }
+        return SLOW_PATH;
+    }
+}
@@ -0,0 +1,109 @@
+package com.dietary.food.nutrition;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Known serving and quantity units with their conversion factors.
+ * <p>
+ * Mass units convert to grams and volume units to millilitres; factors are
+ * held in millionths (micrograms, microlitres) so conversions stay in long
+ * arithmetic. Count units such as "slice" or "medium" only convert through a
+ * food's own gram equivalent. Lookups ignore case and surrounding
+ * whitespace, and allocate nothing for names without that whitespace.
+ */
+public final class UnitRegistry {
+
+    public enum Kind {
+        MASS, // Converts to grams
+        VOLUME, // Converts to millilitres
+        COUNT, // Pieces of the food; only the food's gram equivalent relates them to mass
+        SERVING // One serving of whatever the food's serving is
+    }
+
+    public record Unit(String symbol, Kind kind, long microUnits) {
+
+        public boolean isMeasure() {
+            return kind == Kind.MASS || kind == Kind.VOLUME;
+        }
+    }
+
+    public static final long MICROS_PER_UNIT = 1_000_000L;
+
+    // Exact names first; the case-insensitive map only serves "G", "Tbsp" and the like
+    private static final Map<String, Unit> UNITS = new HashMap<>();
+    private static final Map<String, Unit> UNITS_IGNORING_CASE = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        register(Kind.MASS, 1_000_000L, "g", "gram", "grams", "gr", "gm");
+        register(Kind.MASS, 1_000_000_000L, "kg", "kilogram", "kilograms", "kilo", "kilos");
+        register(Kind.MASS, 1_000L, "mg", "milligram", "milligrams");
+        register(Kind.MASS, 1L, "mcg", "microgram", "micrograms", "\u00b5g");
+        register(Kind.MASS, 28_349_523L, "oz", "ounce", "ounces");
+        register(Kind.MASS, 453_592_370L, "lb", "lbs", "pound", "pounds");
+
+        register(Kind.VOLUME, 1_000_000L, "ml", "milliliter", "milliliters", "millilitre", "millilitres", "cc");
+        register(Kind.VOLUME, 100_000_000L, "dl", "deciliter", "deciliters", "decilitre", "decilitres");
+        register(Kind.VOLUME, 1_000_000_000L, "l", "liter", "liters", "litre", "litres");
+        register(Kind.VOLUME, 4_928_922L, "tsp", "teaspoon", "teaspoons");
+        register(Kind.VOLUME, 14_786_765L, "tbsp", "tablespoon", "tablespoons", "tbs", "tbl");
+        register(Kind.VOLUME, 29_573_530L, "fl oz", "floz", "fluid ounce", "fluid ounces");
+        register(Kind.VOLUME, 236_588_237L, "cup", "cups");
+
+        register(Kind.SERVING, 0L, "serving", "servings", "portion", "portions");
+
+        register(Kind.COUNT, 0L, "piece", "pieces", "pc", "pcs");
+        register(Kind.COUNT, 0L, "slice", "slices");
+        register(Kind.COUNT, 0L, "small");
+        register(Kind.COUNT, 0L, "medium");
+        register(Kind.COUNT, 0L, "large");
+        register(Kind.COUNT, 0L, "whole");
+        register(Kind.COUNT, 0L, "scoop", "scoops");
+        register(Kind.COUNT, 0L, "can", "cans");
+        register(Kind.COUNT, 0L, "bottle", "bottles");
+        register(Kind.COUNT, 0L, "bar", "bars");
+        register(Kind.COUNT, 0L, "packet", "packets");
+    }
+
+    private UnitRegistry() {
+    }
+
+    /** The unit for a name or alias, or {@code null} if it is not known. */
+    public static Unit lookup(String name) {
+        if (name == null) {
+            return null;
+        }
+        // Returns the same instance when there is nothing to trim
+        String trimmed = name.trim();
+        Unit unit = UNITS.get(trimmed);
+        return unit != null ? unit : UNITS_IGNORING_CASE.get(trimmed);
+    }
+
+    /**
+     * Grams in {@code size} of a mass unit, rounded to two decimals, or
+     * {@code null} when the unit is not a mass or the size is not a positive number.
+     */
+    public static BigDecimal toGrams(String size, String unitName) {
+        Unit unit = lookup(unitName);
+        BigDecimal amount = NutrientMath.parseDecimal(size);
+        if (unit == null || unit.kind() != Kind.MASS || amount == null || amount.signum() <= 0) {
+            return null;
+        }
+        BigDecimal grams = amount.multiply(BigDecimal.valueOf(unit.microUnits()))
+                .divide(BigDecimal.valueOf(MICROS_PER_UNIT), 2, RoundingMode.HALF_UP);
+        return grams.signum() > 0 ? grams : null;
+    }
+
+    private static void register(Kind kind, long microUnits, String symbol, String... aliases) {
+        Unit unit = new Unit(symbol, kind, microUnits);
+        UNITS.put(symbol, unit);
+        UNITS_IGNORING_CASE.put(symbol, unit);
+        for (String alias : aliases) {
+            UNITS.put(alias, unit);
+            UNITS_IGNORING_CASE.put(alias, unit);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.dietary.food.repository;
+
+import com.dietary.food.domain.FoodImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FoodImportCheckpointRepository extends JpaRepository<FoodImportCheckpoint, UUID> {
+
+    Optional<FoodImportCheckpoint> findByFileKey(String fileKey);
+
+    @Modifying
+    @Query("UPDATE FoodImportCheckpoint c SET c.recordsRead = :recordsRead, c.inserted = c.inserted + :inserted, " +
+            "c.duplicates = c.duplicates + :duplicates, c.rejected = c.rejected + :rejected, " +
+            "c.updatedAt = CURRENT_TIMESTAMP WHERE c.id = :id")
+    void advance(UUID id, long recordsRead, long inserted, long duplicates, long rejected);
+
+    @Modifying
+    @Query("UPDATE FoodImportCheckpoint c SET c.status = 'COMPLETED', c.updatedAt = CURRENT_TIMESTAMP WHERE c.id = :id")
+    void markCompleted(UUID id);
+}
@@ -2,6 +2,7 @@ package com.dietary.food.repository;
 
 import com.dietary.food.domain.Food;
 import com.dietary.food.domain.FoodSource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -12,13 +13,24 @@ import java.util.UUID;
 @Repository
 public interface FoodRepository extends JpaRepository<Food, UUID> {
 
+    // query and category must already be lower case; LOWER() or CONCAT() on a null parameter fails on PostgreSQL
     @Query("SELECT f FROM Food f WHERE f.active = true AND " +
             "(f.source = 'SYSTEM' OR f.dietitian.id = :dietitianId) AND " +
-            "(:query IS NULL OR LOWER(f.name) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
-            "(:category IS NULL OR LOWER(f.category) = LOWER(:category)) AND " +
+            "LOWER(f.name) LIKE CONCAT('%', :query, '%') AND " +
+            "(:category IS NULL OR LOWER(f.category) = :category) AND " +
             "(:source IS NULL OR f.source = :source) " +
             "ORDER BY f.name")
-    List<Food> searchFoods(UUID dietitianId, String query, String category, FoodSource source);
+    List<Food> searchFoods(UUID dietitianId, String query, String category, FoodSource source, Limit limit);
+
+    @Query("SELECT f FROM Food f WHERE f.active = true AND " +
+            "(f.source = 'SYSTEM' OR f.dietitian.id = :dietitianId) AND " +
+            "(:category IS NULL OR LOWER(f.category) = :category) AND " +
+            "(:source IS NULL OR f.source = :source) " +
+            "ORDER BY f.name")
+    List<Food> browseFoods(UUID dietitianId, String category, FoodSource source, Limit limit);
+
+    @Query("SELECT f FROM Food f WHERE f.active = true")
+    List<Food> findAllActive();
 
     @Query("SELECT f FROM Food f WHERE f.source = 'SYSTEM' AND f.active = true ORDER BY f.name")
     List<Food> findAllSystemFoods();
@@ -0,0 +1,455 @@
+package com.dietary.food.search;
+
+import com.dietary.food.domain.Food;
+import com.dietary.food.domain.FoodSource;
+import com.dietary.food.repository.FoodRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory name index over the active food catalog, used for the dietitian
+ * panel's search-as-you-type.
+ * <p>
+ * SYSTEM foods live in one shared shard and CUSTOM foods in one shard per
+ * dietitian, so a search only ever looks at the foods that dietitian may see.
+ * Candidates are gathered from a trigram index, a token-prefix index for short
+ * input and a single-deletion index for misspelled input, and then ranked:
+ * exact name, name prefix, token prefixes, substrings, and finally tokens
+ * within a small edit distance. The index is loaded once the application is
+ * ready and kept current by {@link #indexAfterCommit(Food)}; a shard whose
+ * removed entries pile up is rebuilt from its live ones.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FoodSearchIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Up to this many live entries, every name token sharing a misspelled token's first letter is scored
+    private static final int FIRST_LETTER_EXPANSION_MAX_ENTRIES = 2_000;
+
+    private final FoodRepository foodRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Shard systemShard = new Shard();
+    private Map<UUID, Shard> customShards = new HashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        Shard system = new Shard();
+        Map<UUID, Shard> custom = new HashMap<>();
+        List<Food> foods = foodRepository.findAllActive();
+        for (Food food : foods) {
+            Entry entry = Entry.of(food);
+            if (entry.dietitianId() == null) {
+                system.put(entry);
+            } else {
+                custom.computeIfAbsent(entry.dietitianId(), id -> new Shard()).put(entry);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            systemShard = system;
+            customShards = custom;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} foods for search in {} ms", foods.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds or replaces a food once the surrounding transaction commits, so a
+     * rolled-back insert never becomes searchable.
+     */
+    public void indexAfterCommit(Food food) {
+        Entry entry = Entry.of(food);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(entry);
+                }
+            });
+        } else {
+            put(entry);
+        }
+    }
+
+    public void remove(UUID foodId) {
+        lock.writeLock().lock();
+        try {
+            removeEverywhere(foodId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching foods visible to the dietitian,
+     * best first. Category and source filters behave like the repository search.
+     */
+    public List<UUID> search(UUID dietitianId, String query, String category, FoodSource source, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Query q = new Query(normalized, normalized.split(" "), limit);
+        String categoryFilter = category != null ? category.toLowerCase(Locale.ROOT) : null;
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Hit.WORST_FIRST);
+        lock.readLock().lock();
+        try {
+            if (source != FoodSource.CUSTOM) {
+                systemShard.collect(q, categoryFilter, source, top);
+            }
+            Shard own = customShards.get(dietitianId);
+            if (own != null && source != FoodSource.SYSTEM) {
+                own.collect(q, categoryFilter, source, top);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Hit.WORST_FIRST.reversed());
+        return hits.stream().map(hit -> hit.entry().id()).toList();
+    }
+
+    private void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            // A food keeps its id, so replacing drops any older entry first
+            removeEverywhere(entry.id());
+            if (entry.dietitianId() == null) {
+                systemShard.put(entry);
+            } else {
+                customShards.computeIfAbsent(entry.dietitianId(), id -> new Shard()).put(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Must hold the write lock. */
+    private void removeEverywhere(UUID foodId) {
+        if (systemShard.remove(foodId) && systemShard.needsCompaction()) {
+            systemShard = systemShard.compacted();
+        }
+        for (Iterator<Map.Entry<UUID, Shard>> it = customShards.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<UUID, Shard> custom = it.next();
+            if (custom.getValue().remove(foodId) && custom.getValue().needsCompaction()) {
+                Shard compacted = custom.getValue().compacted();
+                if (compacted.isEmpty()) {
+                    it.remove();
+                } else {
+                    custom.setValue(compacted);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /** Trigrams of each token, with a leading boundary marker so prefixes weigh in. */
+    private static Set<String> trigrams(String[] tokens) {
+        Set<String> grams = new HashSet<>();
+        for (String token : tokens) {
+            String padded = "$" + token;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private record Query(String text, String[] tokens, int limit) {
+    }
+
+    private record Entry(UUID id, UUID dietitianId, String name, String[] tokens, String category, FoodSource source,
+            String displayName) {
+
+        static Entry of(Food food) {
+            String name = normalize(food.getName());
+            return new Entry(
+                    food.getId(),
+                    food.getDietitian() != null ? food.getDietitian().getId() : null,
+                    name,
+                    name.isEmpty() ? new String[0] : name.split(" "),
+                    food.getCategory() != null ? food.getCategory().toLowerCase(Locale.ROOT) : null,
+                    food.getSource(),
+                    food.getName());
+        }
+    }
+
+    private record Hit(Entry entry, int score) {
+        // Lower score first; among equal scores, longer then alphabetically later names first
+        static final Comparator<Hit> WORST_FIRST = Comparator.comparingInt(Hit::score)
+                .thenComparing(hit -> hit.entry().name().length(), Comparator.reverseOrder())
+                .thenComparing(hit -> hit.entry().displayName(), Comparator.reverseOrder());
+    }
+
+    /**
+     * One searchable partition. Entries are addressed by position; removed
+     * entries leave a null slot that the postings simply skip, until
+     * {@link #compacted()} rebuilds the shard without them.
+     */
+    private static final class Shard {
+        private final List<Entry> entries = new ArrayList<>();
+        private final Map<UUID, Integer> positions = new HashMap<>();
+        private final Map<String, IntList> postings = new HashMap<>();
+        private final NavigableMap<String, IntList> tokenIndex = new TreeMap<>();
+        // Each distinct name token under itself and every one-character deletion of it
+        private final Map<String, List<String>> deletions = new HashMap<>();
+
+        void put(Entry entry) {
+            int position = entries.size();
+            entries.add(entry);
+            positions.put(entry.id(), position);
+            for (String gram : trigrams(entry.tokens())) {
+                postings.computeIfAbsent(gram, g -> new IntList()).add(position);
+            }
+            for (String token : entry.tokens()) {
+                IntList tokenPositions = tokenIndex.get(token);
+                if (tokenPositions == null) {
+                    tokenPositions = new IntList();
+                    tokenIndex.put(token, tokenPositions);
+                    indexDeletions(token);
+                }
+                tokenPositions.add(position);
+            }
+        }
+
+        /** @return whether the shard held the entry */
+        boolean remove(UUID id) {
+            Integer position = positions.remove(id);
+            if (position == null) {
+                return false;
+            }
+            entries.set(position, null);
+            return true;
+        }
+
+        boolean isEmpty() {
+            return positions.isEmpty();
+        }
+
+        /** Whether at least a quarter of the slots, and at least 64, belong to removed entries. */
+        boolean needsCompaction() {
+            int removed = entries.size() - positions.size();
+            return removed >= 64 && removed * 4 >= entries.size();
+        }
+
+        Shard compacted() {
+            Shard shard = new Shard();
+            for (Entry entry : entries) {
+                if (entry != null) {
+                    shard.put(entry);
+                }
+            }
+            return shard;
+        }
+
+        private void indexDeletions(String token) {
+            // Query tokens under four characters only match by prefix, so shorter tokens never need this
+            if (token.length() < 3) {
+                return;
+            }
+            deletions.computeIfAbsent(token, d -> new ArrayList<>(1)).add(token);
+            for (String deletion : singleDeletions(token)) {
+                deletions.computeIfAbsent(deletion, d -> new ArrayList<>(1)).add(token);
+            }
+        }
+
+        /**
+         * Adds the entries with a name token one edit or transposition away
+         * from {@code token}: the two share the token itself or a deletion.
+         */
+        private void addTypoCandidates(String token, BitSet candidates) {
+            Set<String> keys = singleDeletions(token);
+            keys.add(token);
+            for (String key : keys) {
+                List<String> tokens = deletions.get(key);
+                if (tokens != null) {
+                    for (String nameToken : tokens) {
+                        tokenIndex.get(nameToken).addTo(candidates);
+                    }
+                }
+            }
+        }
+
+        void collect(Query q, String category, FoodSource source, PriorityQueue<Hit> top) {
+            BitSet candidates = new BitSet(entries.size());
+            for (String gram : trigrams(q.tokens())) {
+                IntList list = postings.get(gram);
+                if (list != null) {
+                    list.addTo(candidates);
+                }
+            }
+            // Short tokens match by prefix. Longer ones may be misspelled so that they share no trigram
+            // with the name: one edit is found through the deletion index, and in a small shard every
+            // name token with the same first letter is considered as well
+            boolean expandFirstLetter = positions.size() <= FIRST_LETTER_EXPANSION_MAX_ENTRIES;
+            for (String token : q.tokens()) {
+                if (token.length() >= 4) {
+                    addTypoCandidates(token, candidates);
+                    if (!expandFirstLetter) {
+                        continue;
+                    }
+                }
+                String head = token.length() >= 4 ? token.substring(0, 1) : token;
+                for (IntList list : tokenIndex.subMap(head, true, head + Character.MAX_VALUE, true).values()) {
+                    list.addTo(candidates);
+                }
+            }
+
+            for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+                Entry entry = entries.get(i);
+                if (entry == null
+                        || (category != null && !category.equals(entry.category()))
+                        || (source != null && source != entry.source())) {
+                    continue;
+                }
+                int score = score(q, entry);
+                if (score > 0) {
+                    top.add(new Hit(entry, score));
+                    if (top.size() > q.limit()) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> singleDeletions(String token) {
+        Set<String> deletions = new HashSet<>();
+        for (int i = 0; i < token.length(); i++) {
+            deletions.add(token.substring(0, i) + token.substring(i + 1));
+        }
+        return deletions;
+    }
+
+    /** Relevance of an entry for the query, or 0 if some query token does not match. */
+    private static int score(Query q, Entry entry) {
+        if (entry.name().equals(q.text())) {
+            return 10_000;
+        }
+        int score = entry.name().startsWith(q.text()) ? 5_000 : 0;
+
+        for (String token : q.tokens()) {
+            int best = 0;
+            for (String candidate : entry.tokens()) {
+                best = Math.max(best, tokenScore(token, candidate));
+            }
+            if (best == 0 && entry.name().contains(token)) {
+                best = 200;
+            }
+            if (best == 0) {
+                return 0;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private static int tokenScore(String token, String candidate) {
+        if (candidate.equals(token)) {
+            return 1_000;
+        }
+        if (candidate.startsWith(token)) {
+            return 600;
+        }
+        int maxEdits = token.length() <= 3 ? 0 : token.length() <= 6 ? 1 : 2;
+        if (maxEdits == 0) {
+            return 0;
+        }
+        int distance = editDistance(token, candidate, maxEdits);
+        if (candidate.length() > token.length()) {
+            // Still typing: compare against the start of the longer name token
+            distance = Math.min(distance, editDistance(token, candidate.substring(0, token.length()), maxEdits));
+        }
+        return distance <= maxEdits ? 100 - distance * 30 : 0;
+    }
+
+    /**
+     * Optimal string alignment distance (edits plus adjacent transpositions),
+     * giving up early once it must exceed {@code max}.
+     */
+    private static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    /** Growable list of entry positions. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(values[i]);
+            }
+        }
+    }
+}
@@ -8,26 +8,61 @@ import com.dietary.food.controller.dto.FoodRequest;
 import com.dietary.food.domain.Food;
 import com.dietary.food.domain.FoodSource;
 import com.dietary.food.repository.FoodRepository;
+import com.dietary.food.search.FoodSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("dietary.service")
 @RequiredArgsConstructor
 public class FoodService {
 
+    private static final int DEFAULT_SEARCH_RESULTS = 50;
+    private static final int MAX_SEARCH_RESULTS = 200;
+
     private final FoodRepository foodRepository;
     private final UserRepository userRepository;
+    private final FoodSearchIndex foodSearchIndex;
 
     @Transactional(readOnly = true)
-    public List<FoodDTO> searchFoods(UUID dietitianId, String query, String category, FoodSource source) {
-        return foodRepository.searchFoods(dietitianId, query, category, source).stream()
+    public List<FoodDTO> searchFoods(UUID dietitianId, String query, String category, FoodSource source,
+            Integer limit) {
+        int maxResults = limit != null ? Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS) : DEFAULT_SEARCH_RESULTS;
+        String lowerCategory = StringUtils.hasText(category) ? category.trim().toLowerCase(Locale.ROOT) : null;
+
+        if (!StringUtils.hasText(query)) {
+            return foodRepository.browseFoods(dietitianId, lowerCategory, source, Limit.of(maxResults)).stream()
+                    .map(FoodDTO::fromEntity)
+                    .collect(Collectors.toList());
+        }
+        if (!foodSearchIndex.isReady()) {
+            // Still starting up; fall back to a plain substring match
+            return foodRepository.searchFoods(dietitianId, query.trim().toLowerCase(Locale.ROOT), lowerCategory, source,
+                            Limit.of(maxResults)).stream()
+                    .map(FoodDTO::fromEntity)
+                    .collect(Collectors.toList());
+        }
+
+        List<UUID> rankedIds = foodSearchIndex.search(dietitianId, query, lowerCategory, source, maxResults);
+        Map<UUID, Food> foodsById = foodRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Food::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(foodsById::get)
+                .filter(Objects::nonNull)
                 .map(FoodDTO::fromEntity)
                 .collect(Collectors.toList());
     }
@@ -50,6 +85,7 @@ public class FoodService {
                 .brand(request.getBrand())
                 .servingSize(request.getServingSize())
                 .servingUnit(request.getServingUnit())
+                .servingGrams(request.getServingGrams())
                 .caloriesPerServing(request.getCaloriesPerServing())
                 .proteinGrams(request.getProteinGrams())
                 .carbsGrams(request.getCarbsGrams())
@@ -63,6 +99,7 @@ public class FoodService {
                 .build();
 
         food = foodRepository.save(food);
+        foodSearchIndex.indexAfterCommit(food);
         log.info("Created custom food '{}' for dietitian '{}'", food.getName(), dietitian.getEmail());
 
         return FoodDTO.fromEntity(food);
@@ -1,6 +1,7 @@
 package com.dietary.goal.controller;
 
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
 import com.dietary.common.security.CurrentUser;
 import com.dietary.common.security.UserPrincipal;
 import com.dietary.goal.controller.dto.GoalDTO;
@@ -28,6 +29,7 @@ public class GoalController {
     private final GoalService goalService;
 
     @GetMapping("/current")
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get current goal", description = "Retrieves the active goal for a client with calculated BMR, TDEE, and calorie targets")
     public ResponseEntity<ApiResponse<GoalDTO>> getCurrentGoal(
@@ -38,6 +40,7 @@ public class GoalController {
     }
 
     @PostMapping
+    @SqlStatementBudget(4)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Create or replace goal", description = "Creates a new goal for a client, deactivating any existing active goal. Calculates BMR, TDEE, and daily calorie target automatically.")
     public ResponseEntity<ApiResponse<GoalDTO>> createOrReplaceGoal(
@@ -0,0 +1,42 @@
+package com.dietary.goal.controller;
+
+import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
+import com.dietary.common.security.CurrentUser;
+import com.dietary.common.security.UserPrincipal;
+import com.dietary.goal.controller.dto.GoalRecalculationResultDTO;
+import com.dietary.goal.service.GoalRecalculationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.Callable;
+
+@RestController
+@RequestMapping("/api/goals")
+@RequiredArgsConstructor
+@Tag(name = "Goals", description = "Client goal management with BMR/TDEE calculations")
+@SecurityRequirement(name = "bearerAuth")
+public class GoalRecalculationController {
+
+    private final GoalRecalculationService goalRecalculationService;
+
+    @PostMapping("/recalculate")
+    // One read and at most three writes per chunk of goals; see GoalStatementBudgetTest
+    @SqlStatementBudget(SqlStatementBudget.UNBOUNDED)
+    @PreAuthorize("hasRole('DIETITIAN')")
+    @Operation(summary = "Recalculate goals", description = "Recalculates the active goals of all clients with a measurement newer than their goal, or of every client when all=true. Changed goals are replaced, keeping the previous goal as history. A dietitian runs one recalculation at a time (409 otherwise); when too many run at once the request gets a 503 with Retry-After.")
+    public Callable<ResponseEntity<ApiResponse<GoalRecalculationResultDTO>>> recalculateGoals(
+            @RequestParam(defaultValue = "false") boolean all,
+            @CurrentUser UserPrincipal currentUser) {
+        // Runs on the MVC async executor, so the job does not hold a servlet thread
+        return () -> {
+            GoalRecalculationResultDTO result = goalRecalculationService.recalculate(currentUser.getId(), all);
+            return ResponseEntity.ok(ApiResponse.success("Goals recalculated", result));
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.dietary.goal.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalRecalculationResultDTO {
+
+    // Active goals whose client has a measurement newer than the goal (or all active goals)
+    private Integer examined;
+    // Replaced by a new active goal with the recalculated targets
+    private Integer replaced;
+    // Recalculated to the same targets; only marked as up to date
+    private Integer unchanged;
+    // Client lacks weight, height, gender or birth date
+    private Integer skipped;
+    // Replaced or deactivated by someone else while the job ran
+    private Integer conflicts;
+
+    private Integer chunks;
+    private Integer parallelism;
+
+    // Summed over chunks, so they can exceed the elapsed time when chunks run in parallel
+    private Long computeMs;
+    private Long writeMs;
+    private Long elapsedMs;
+}
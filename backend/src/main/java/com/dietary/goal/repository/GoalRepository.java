@@ -1,5 +1,6 @@
 package com.dietary.goal.repository;
 
+import com.dietary.export.repository.ExportStream;
 import com.dietary.goal.domain.Goal;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, UUID> {
@@ -21,4 +23,8 @@ public interface GoalRepository extends JpaRepository<Goal, UUID> {
     @Modifying
     @Query("UPDATE Goal g SET g.isActive = false WHERE g.client.id = :clientId AND g.isActive = true")
     void deactivateAllByClientId(UUID clientId);
+
+    @ExportStream
+    @Query("SELECT g FROM Goal g WHERE g.client.id = :clientId ORDER BY g.createdAt, g.id")
+    Stream<Goal> streamAllByClientId(UUID clientId);
 }
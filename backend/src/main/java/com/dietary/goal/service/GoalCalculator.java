@@ -0,0 +1,113 @@
+package com.dietary.goal.service;
+
+import com.dietary.client.domain.Gender;
+import com.dietary.goal.domain.ActivityLevel;
+import com.dietary.goal.domain.GoalType;
+
+import java.math.BigDecimal;
+
+/**
+ * BMR, TDEE, calorie and macro targets for a goal. Pure functions, shared by
+ * single goal creation and bulk recalculation so both produce the same numbers.
+ */
+public final class GoalCalculator {
+
+    public static final String BMR_FORMULA = "Harris-Benedict";
+
+    // Activity level multipliers for TDEE calculation
+    private static final double SEDENTARY_MULTIPLIER = 1.2;
+    private static final double LIGHT_MULTIPLIER = 1.375;
+    private static final double MODERATE_MULTIPLIER = 1.55;
+    private static final double ACTIVE_MULTIPLIER = 1.725;
+    private static final double VERY_ACTIVE_MULTIPLIER = 1.9;
+
+    // Calorie adjustment per kg of weekly weight change
+    private static final int CALORIES_PER_KG = 7700; // ~1100 kcal deficit per day for 1kg/week loss
+
+    public record Targets(
+            int bmr,
+            double activityMultiplier,
+            int tdee,
+            int calorieAdjustment,
+            int dailyCalorieTarget,
+            int proteinGrams,
+            int carbsGrams,
+            int fatGrams) {
+    }
+
+    private GoalCalculator() {
+    }
+
+    /**
+     * Targets for a client of the given weight, height, age and gender.
+     * Macro overrides that are {@code null} are derived from the calorie target.
+     */
+    public static Targets calculate(double weightKg, double heightCm, int age, Gender gender,
+            ActivityLevel activityLevel, GoalType goalType, BigDecimal weeklyWeightChangeKg,
+            Integer proteinGrams, Integer carbsGrams, Integer fatGrams) {
+        int bmr = calculateBMR(weightKg, heightCm, age, gender);
+
+        double activityMultiplier = getActivityMultiplier(activityLevel);
+        int tdee = (int) Math.round(bmr * activityMultiplier);
+
+        // Calculate daily calorie target based on goal type
+        int calorieAdjustment = 0;
+        if (weeklyWeightChangeKg != null && weeklyWeightChangeKg.compareTo(BigDecimal.ZERO) > 0) {
+            // Weekly calorie adjustment = kg * 7700 kcal / 7 days
+            calorieAdjustment = (int) Math.round(weeklyWeightChangeKg.doubleValue() * CALORIES_PER_KG / 7);
+        }
+
+        int dailyCalorieTarget = switch (goalType) {
+            case LOSE_WEIGHT -> tdee - calorieAdjustment;
+            case GAIN_WEIGHT -> tdee + calorieAdjustment;
+            case MAINTAIN_WEIGHT -> tdee;
+        };
+
+        return new Targets(bmr, activityMultiplier, tdee, calorieAdjustment, dailyCalorieTarget,
+                proteinGrams != null ? proteinGrams : defaultProteinGrams(dailyCalorieTarget),
+                carbsGrams != null ? carbsGrams : defaultCarbsGrams(dailyCalorieTarget),
+                fatGrams != null ? fatGrams : defaultFatGrams(dailyCalorieTarget));
+    }
+
+    // Default macro split: 30% protein, 40% carbs, 30% fat
+
+    public static int defaultProteinGrams(int dailyCalorieTarget) {
+        return (int) Math.round(dailyCalorieTarget * 0.30 / 4); // 4 cal per gram
+    }
+
+    public static int defaultCarbsGrams(int dailyCalorieTarget) {
+        return (int) Math.round(dailyCalorieTarget * 0.40 / 4); // 4 cal per gram
+    }
+
+    public static int defaultFatGrams(int dailyCalorieTarget) {
+        return (int) Math.round(dailyCalorieTarget * 0.30 / 9); // 9 cal per gram
+    }
+
+    /**
+     * Harris-Benedict BMR formula (revised 1984)
+     * Men: BMR = 88.362 + (13.397 × weight in kg) + (4.799 × height in cm) - (5.677
+     * × age in years)
+     * Women: BMR = 447.593 + (9.247 × weight in kg) + (3.098 × height in cm) -
+     * (4.330 × age in years)
+     */
+    public static int calculateBMR(double weightKg, double heightCm, int age, Gender gender) {
+        double bmr;
+        if (gender == Gender.MALE) {
+            bmr = 88.362 + (13.397 * weightKg) + (4.799 * heightCm) - (5.677 * age);
+        } else {
+            // Use female formula for FEMALE and OTHER
+            bmr = 447.593 + (9.247 * weightKg) + (3.098 * heightCm) - (4.330 * age);
+        }
+        return (int) Math.round(bmr);
+    }
+
+    public static double getActivityMultiplier(ActivityLevel level) {
+        return switch (level) {
+            case SEDENTARY -> SEDENTARY_MULTIPLIER;
+            case LIGHT -> LIGHT_MULTIPLIER;
+            case MODERATE -> MODERATE_MULTIPLIER;
+            case ACTIVE -> ACTIVE_MULTIPLIER;
+            case VERY_ACTIVE -> VERY_ACTIVE_MULTIPLIER;
+        };
+    }
+}
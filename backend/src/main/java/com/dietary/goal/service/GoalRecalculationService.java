@@ -0,0 +1,393 @@
+package com.dietary.goal.service;
+
+import com.dietary.client.domain.Gender;
+import com.dietary.common.metrics.SqlStatementCounter;
+import com.dietary.goal.controller.dto.GoalRecalculationResultDTO;
+import com.dietary.goal.domain.ActivityLevel;
+import com.dietary.goal.domain.GoalType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Recalculates the active goals of a dietitian's clients from their latest
+ * measurement.
+ * <p>
+ * Only goals whose client has a measurement recorded after the goal was last
+ * written are picked up, unless all goals are requested (e.g. after the
+ * activity multipliers changed). Candidates are read in keyset-ordered chunks
+ * with the client and latest weight in one query; each chunk is computed on a
+ * bounded pool and written in its own transaction: one deactivation of the
+ * goals that changed, one batch insert of their replacements and one update
+ * marking the unchanged goals as up to date. Replacing rather than updating
+ * keeps the goal history, as {@link GoalService#createOrReplaceGoal} does.
+ * <p>
+ * All runs share one pool of {@code parallelism} workers, so recalculation
+ * never holds more than that many connections for chunk writes plus one per
+ * running job for reading. A dietitian runs one recalculation at a time and at
+ * most {@code max-concurrent-runs} run in total; see {@link RecalculationRuns}.
+ */
+@Slf4j
+@Service
+public class GoalRecalculationService implements DisposableBean {
+
+    private static final String SELECT_CANDIDATES = """
+            SELECT g.id, g.client_id, g.goal_type, g.target_weight_kg, g.activity_level, g.bmr, g.tdee,
+                   g.daily_calorie_target, g.protein_grams, g.carbs_grams, g.fat_grams,
+                   g.weekly_weight_change_kg, g.notes, c.height_cm, c.gender, c.birth_date, m.weight_kg
+            FROM goals g
+            JOIN clients c ON c.id = g.client_id
+            CROSS JOIN LATERAL (
+                SELECT weight_kg, created_at FROM measurements
+                WHERE client_id = g.client_id
+                ORDER BY measurement_date DESC, created_at DESC, id DESC
+                LIMIT 1) m
+            WHERE c.dietitian_id = ? AND c.deleted_at IS NULL AND g.is_active = true
+              AND g.updated_at < ? AND g.id > ?
+              AND (? OR m.created_at > g.updated_at)
+            ORDER BY g.id
+            LIMIT ?
+            """;
+
+    // RETURNING tells which goals were still active, so a goal replaced meanwhile is not replaced twice
+    private static final String DEACTIVATE_GOALS = "UPDATE goals SET is_active = false, updated_at = ? " +
+            "WHERE id = ANY (?) AND is_active = true RETURNING id";
+
+    private static final String INSERT_GOAL = "INSERT INTO goals (id, client_id, goal_type, target_weight_kg, " +
+            "activity_level, bmr, tdee, daily_calorie_target, protein_grams, carbs_grams, fat_grams, " +
+            "weekly_weight_change_kg, is_active, notes, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, ?, ?, ?)";
+
+    private static final String TOUCH_GOALS = "UPDATE goals SET updated_at = ? WHERE id = ANY (?) AND is_active = true";
+
+    // Smallest UUID in PostgreSQL's ordering, the cursor of the first chunk
+    private static final UUID FIRST = new UUID(0L, 0L);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ThreadPoolTaskExecutor executor;
+    private final RecalculationRuns runs;
+
+    public GoalRecalculationService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${goal.recalculation.chunk-size:500}") int chunkSize,
+            @Value("${goal.recalculation.parallelism:4}") int parallelism,
+            @Value("${goal.recalculation.max-concurrent-runs:2}") int maxConcurrentRuns) {
+        if (chunkSize <= 0 || parallelism <= 0 || maxConcurrentRuns <= 0) {
+            throw new IllegalArgumentException(
+                    "goal.recalculation.chunk-size, parallelism and max-concurrent-runs must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.runs = new RecalculationRuns(maxConcurrentRuns);
+
+        // Not a bean of its own: an Executor bean would replace Spring Boot's applicationTaskExecutor
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        // Each run has at most parallelism chunks in flight, so the queue never fills
+        executor.setQueueCapacity(parallelism * maxConcurrentRuns);
+        executor.setThreadNamePrefix("goal-recalculation-");
+        // Chunk writes count toward the statements of the request that started the run
+        executor.setTaskDecorator(SqlStatementCounter::propagate);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Recalculates the dietitian's stale goals, or every active goal when
+     * {@code all} is set, and reports what was done.
+     *
+     * @throws com.dietary.common.exception.ConflictException if the dietitian's previous run is still going
+     * @throws com.dietary.common.exception.ServiceUnavailableException if too many runs are going
+     */
+    public GoalRecalculationResultDTO recalculate(UUID dietitianId, boolean all) {
+        long started = System.nanoTime();
+        // Goals written by this run are newer than this and are not read again
+        Instant startedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDate today = LocalDate.now();
+
+        Totals totals;
+        RecalculationRuns.Run run = runs.start(dietitianId);
+        try {
+            totals = recalculateChunks(dietitianId, all, startedAt, today);
+        } finally {
+            run.close();
+        }
+
+        GoalRecalculationResultDTO result = totals.result(parallelism, (System.nanoTime() - started) / 1_000_000);
+        log.info("Recalculated goals for dietitian {}: {} examined, {} replaced, {} unchanged, {} skipped, "
+                        + "{} conflicts in {} chunks, {} ms",
+                dietitianId, result.getExamined(), result.getReplaced(), result.getUnchanged(),
+                result.getSkipped(), result.getConflicts(), result.getChunks(), result.getElapsedMs());
+        return result;
+    }
+
+    private Totals recalculateChunks(UUID dietitianId, boolean all, Instant startedAt, LocalDate today) {
+        Totals totals = new Totals();
+        Deque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+        try {
+            UUID cursor = FIRST;
+            List<Candidate> chunk;
+            while (!(chunk = loadChunk(dietitianId, all, startedAt, cursor)).isEmpty()) {
+                cursor = chunk.get(chunk.size() - 1).goalId();
+                List<Candidate> candidates = chunk;
+                inFlight.add(executor.submit(() -> process(candidates, today)));
+                // Reading ahead by at most one chunk per worker bounds memory
+                if (inFlight.size() >= parallelism) {
+                    totals.add(await(inFlight.poll()));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                totals.add(await(inFlight.poll()));
+            }
+        } finally {
+            // Chunks of a failed run that have not started yet are not written
+            inFlight.forEach(future -> future.cancel(false));
+        }
+        return totals;
+    }
+
+    private List<Candidate> loadChunk(UUID dietitianId, boolean all, Instant startedAt, UUID cursor) {
+        return jdbcTemplate.query(SELECT_CANDIDATES, (rs, rowNum) -> Candidate.map(rs),
+                dietitianId, startedAt.atOffset(ZoneOffset.UTC), cursor, all, chunkSize);
+    }
+
+    private ChunkResult process(List<Candidate> candidates, LocalDate today) {
+        long computeStarted = System.nanoTime();
+        List<Replacement> replacements = new ArrayList<>();
+        List<UUID> unchanged = new ArrayList<>();
+        int skipped = 0;
+        for (Candidate candidate : candidates) {
+            if (candidate.weightKg() == null || candidate.heightCm() == null || candidate.gender() == null
+                    || candidate.birthDate() == null) {
+                skipped++;
+                continue;
+            }
+            GoalCalculator.Targets targets = recalculate(candidate, today);
+            if (candidate.matches(targets)) {
+                unchanged.add(candidate.goalId());
+            } else {
+                replacements.add(new Replacement(candidate, targets));
+            }
+        }
+        long computeNanos = System.nanoTime() - computeStarted;
+
+        long writeStarted = System.nanoTime();
+        int replaced = transactionTemplate.execute(status -> write(replacements, unchanged));
+        long writeNanos = System.nanoTime() - writeStarted;
+
+        return new ChunkResult(candidates.size(), replaced, unchanged.size(), skipped,
+                replacements.size() - replaced, computeNanos, writeNanos);
+    }
+
+    private static GoalCalculator.Targets recalculate(Candidate candidate, LocalDate today) {
+        int age = Period.between(candidate.birthDate(), today).getYears();
+        // Stored macros equal to the derived split of the old target follow the new target; anything else was set by hand
+        int oldTarget = candidate.dailyCalorieTarget();
+        return GoalCalculator.calculate(candidate.weightKg().doubleValue(), candidate.heightCm().doubleValue(), age,
+                candidate.gender(), candidate.activityLevel(), candidate.goalType(),
+                candidate.weeklyWeightChangeKg(),
+                customMacro(candidate.proteinGrams(), GoalCalculator.defaultProteinGrams(oldTarget)),
+                customMacro(candidate.carbsGrams(), GoalCalculator.defaultCarbsGrams(oldTarget)),
+                customMacro(candidate.fatGrams(), GoalCalculator.defaultFatGrams(oldTarget)));
+    }
+
+    private static Integer customMacro(Integer stored, int derived) {
+        return stored != null && stored != derived ? stored : null;
+    }
+
+    /** Writes one chunk and returns the number of goals replaced. */
+    private int write(List<Replacement> replacements, List<UUID> unchanged) {
+        OffsetDateTime now = Instant.now().atOffset(ZoneOffset.UTC);
+        int replaced = 0;
+        if (!replacements.isEmpty()) {
+            Object[] goalIds = replacements.stream().map(r -> r.candidate().goalId()).toArray();
+            Set<UUID> deactivated = new HashSet<>(jdbcTemplate.query(DEACTIVATE_GOALS,
+                    ps -> {
+                        ps.setObject(1, now);
+                        ps.setArray(2, ps.getConnection().createArrayOf("uuid", goalIds));
+                    },
+                    (rs, rowNum) -> rs.getObject(1, UUID.class)));
+            List<Replacement> inserts = replacements.stream()
+                    .filter(r -> deactivated.contains(r.candidate().goalId()))
+                    .toList();
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_GOAL, inserts, inserts.size(), (ps, replacement) -> {
+                    Candidate goal = replacement.candidate();
+                    GoalCalculator.Targets targets = replacement.targets();
+                    ps.setObject(1, UUID.randomUUID());
+                    ps.setObject(2, goal.clientId());
+                    ps.setString(3, goal.goalType().name());
+                    ps.setBigDecimal(4, goal.targetWeightKg());
+                    ps.setString(5, goal.activityLevel().name());
+                    ps.setInt(6, targets.bmr());
+                    ps.setInt(7, targets.tdee());
+                    ps.setInt(8, targets.dailyCalorieTarget());
+                    ps.setInt(9, targets.proteinGrams());
+                    ps.setInt(10, targets.carbsGrams());
+                    ps.setInt(11, targets.fatGrams());
+                    ps.setBigDecimal(12, goal.weeklyWeightChangeKg());
+                    ps.setString(13, goal.notes());
+                    ps.setObject(14, now);
+                    ps.setObject(15, now);
+                });
+            }
+            replaced = inserts.size();
+        }
+        if (!unchanged.isEmpty()) {
+            Object[] goalIds = unchanged.toArray();
+            jdbcTemplate.update(TOUCH_GOALS, ps -> {
+                ps.setObject(1, now);
+                ps.setArray(2, ps.getConnection().createArrayOf("uuid", goalIds));
+            });
+        }
+        return replaced;
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Goal recalculation was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Goal recalculation failed", e.getCause());
+        }
+    }
+
+    /** An active goal with what its recalculation needs. */
+    private record Candidate(
+            UUID goalId,
+            UUID clientId,
+            GoalType goalType,
+            BigDecimal targetWeightKg,
+            ActivityLevel activityLevel,
+            Integer bmr,
+            Integer tdee,
+            Integer dailyCalorieTarget,
+            Integer proteinGrams,
+            Integer carbsGrams,
+            Integer fatGrams,
+            BigDecimal weeklyWeightChangeKg,
+            String notes,
+            BigDecimal heightCm,
+            Gender gender,
+            LocalDate birthDate,
+            BigDecimal weightKg) {
+
+        static Candidate map(ResultSet rs) throws SQLException {
+            String gender = rs.getString("gender");
+            return new Candidate(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("client_id", UUID.class),
+                    GoalType.valueOf(rs.getString("goal_type")),
+                    rs.getBigDecimal("target_weight_kg"),
+                    ActivityLevel.valueOf(rs.getString("activity_level")),
+                    rs.getObject("bmr", Integer.class),
+                    rs.getObject("tdee", Integer.class),
+                    rs.getObject("daily_calorie_target", Integer.class),
+                    rs.getObject("protein_grams", Integer.class),
+                    rs.getObject("carbs_grams", Integer.class),
+                    rs.getObject("fat_grams", Integer.class),
+                    rs.getBigDecimal("weekly_weight_change_kg"),
+                    rs.getString("notes"),
+                    rs.getBigDecimal("height_cm"),
+                    gender != null ? Gender.valueOf(gender) : null,
+                    rs.getObject("birth_date", LocalDate.class),
+                    rs.getBigDecimal("weight_kg"));
+        }
+
+        boolean matches(GoalCalculator.Targets targets) {
+            return Objects.equals(bmr, targets.bmr())
+                    && Objects.equals(tdee, targets.tdee())
+                    && Objects.equals(dailyCalorieTarget, targets.dailyCalorieTarget())
+                    && Objects.equals(proteinGrams, targets.proteinGrams())
+                    && Objects.equals(carbsGrams, targets.carbsGrams())
+                    && Objects.equals(fatGrams, targets.fatGrams());
+        }
+    }
+
+    private record Replacement(Candidate candidate, GoalCalculator.Targets targets) {
+    }
+
+    private record ChunkResult(int examined, int replaced, int unchanged, int skipped, int conflicts,
+            long computeNanos, long writeNanos) {
+    }
+
+    private static final class Totals {
+        private int examined;
+        private int replaced;
+        private int unchanged;
+        private int skipped;
+        private int conflicts;
+        private int chunks;
+        private long computeNanos;
+        private long writeNanos;
+
+        void add(ChunkResult chunk) {
+            examined += chunk.examined();
+            replaced += chunk.replaced();
+            unchanged += chunk.unchanged();
+            skipped += chunk.skipped();
+            conflicts += chunk.conflicts();
+            chunks++;
+            computeNanos += chunk.computeNanos();
+            writeNanos += chunk.writeNanos();
+        }
+
+        GoalRecalculationResultDTO result(int parallelism, long elapsedMs) {
+            return GoalRecalculationResultDTO.builder()
+                    .examined(examined)
+                    .replaced(replaced)
+                    .unchanged(unchanged)
+                    .skipped(skipped)
+                    .conflicts(conflicts)
+                    .chunks(chunks)
+                    .parallelism(parallelism)
+                    .computeMs(computeNanos / 1_000_000)
+                    .writeMs(writeNanos / 1_000_000)
+                    .elapsedMs(elapsedMs)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dietary.goal.service;
+
+import com.dietary.common.exception.ConflictException;
+import com.dietary.common.exception.ServiceUnavailableException;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admits at most one goal recalculation per dietitian and at most
+ * {@code maxRuns} in total. A run that is not admitted fails at once: a
+ * dietitian's second run with a 409, a run beyond the global limit with a 503.
+ */
+final class RecalculationRuns {
+
+    // A run usually takes seconds; clients are told to come back after this long
+    static final long RETRY_AFTER_SECONDS = 10;
+
+    private final Semaphore permits;
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    RecalculationRuns(int maxRuns) {
+        this.permits = new Semaphore(maxRuns);
+    }
+
+    /**
+     * Admits a run for the dietitian, to be ended by closing the returned run.
+     */
+    Run start(UUID dietitianId) {
+        if (!running.add(dietitianId)) {
+            throw new ConflictException("A goal recalculation is already running for this account");
+        }
+        if (!permits.tryAcquire()) {
+            running.remove(dietitianId);
+            throw new ServiceUnavailableException(
+                    "Too many goal recalculations are running. Please try again shortly.", RETRY_AFTER_SECONDS);
+        }
+        return () -> {
+            permits.release();
+            running.remove(dietitianId);
+        };
+    }
+
+    interface Run extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
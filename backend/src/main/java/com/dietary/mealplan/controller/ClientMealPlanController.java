@@ -1,6 +1,7 @@
 package com.dietary.mealplan.controller;
 
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
 import com.dietary.common.security.CurrentUser;
 import com.dietary.common.security.UserPrincipal;
 import com.dietary.mealplan.controller.dto.MealPlanDTO;
@@ -25,6 +26,7 @@ public class ClientMealPlanController {
     private final MealPlanService mealPlanService;
 
     @GetMapping("/active")
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get active meal plan", description = "Retrieves the currently active meal plan for a client")
     public ResponseEntity<ApiResponse<MealPlanDTO>> getActiveMealPlan(
@@ -1,8 +1,11 @@
 package com.dietary.mealplan.controller;
 
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
 import com.dietary.common.security.CurrentUser;
 import com.dietary.common.security.UserPrincipal;
+import com.dietary.common.web.ResourceVersion;
+import com.dietary.common.web.Versioned;
 import com.dietary.mealplan.controller.dto.MealPlanDTO;
 import com.dietary.mealplan.controller.dto.MealPlanRequest;
 import com.dietary.mealplan.service.MealPlanService;
@@ -15,8 +18,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -29,6 +34,7 @@ public class MealPlanController {
     private final MealPlanService mealPlanService;
 
     @GetMapping("/templates")
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get meal plan templates", description = "Retrieves all meal plan templates created by the dietitian")
     public ResponseEntity<ApiResponse<List<MealPlanDTO>>> getTemplates(
@@ -38,16 +44,29 @@ public class MealPlanController {
     }
 
     @GetMapping("/{id}")
+    @SqlStatementBudget(4)
     @PreAuthorize("hasRole('DIETITIAN')")
-    @Operation(summary = "Get meal plan by ID", description = "Retrieves a specific meal plan with all meals, options, and items")
+    @Operation(summary = "Get meal plan by ID", description = "Retrieves a specific meal plan with all meals, options, and items. Answers If-None-Match with 304 when the plan did not change.")
     public ResponseEntity<ApiResponse<MealPlanDTO>> getMealPlanById(
             @PathVariable UUID id,
-            @CurrentUser UserPrincipal currentUser) {
-        MealPlanDTO plan = mealPlanService.getMealPlanById(id, currentUser.getId());
-        return ResponseEntity.ok(ApiResponse.success(plan));
+            @CurrentUser UserPrincipal currentUser,
+            WebRequest webRequest) {
+        // Conditional requests are checked against the version columns first; others skip that query
+        if (ResourceVersion.isConditional(webRequest)) {
+            Optional<ResourceVersion> version = mealPlanService.getMealPlanVersion(id, currentUser.getId());
+            if (version.isPresent() && version.get().isNotModified(webRequest)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ResourceVersion.REVALIDATE).build();
+            }
+        }
+        Versioned<MealPlanDTO> plan = mealPlanService.getMealPlanById(id, currentUser.getId());
+        if (plan.version().isNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ResourceVersion.REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE).body(ApiResponse.success(plan.body()));
     }
 
     @PostMapping
+    @SqlStatementBudget(7)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Create meal plan", description = "Creates a new meal plan template or client-assigned plan")
     public ResponseEntity<ApiResponse<MealPlanDTO>> createMealPlan(
@@ -60,6 +79,7 @@ public class MealPlanController {
     }
 
     @PutMapping("/{id}")
+    @SqlStatementBudget(23)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Update meal plan", description = "Updates an existing meal plan with new meals and options")
     public ResponseEntity<ApiResponse<MealPlanDTO>> updateMealPlan(
@@ -71,6 +91,7 @@ public class MealPlanController {
     }
 
     @PostMapping("/{id}/activate")
+    @SqlStatementBudget(5)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Activate meal plan", description = "Activates a meal plan for a client, deactivating any previous active plans")
     public ResponseEntity<ApiResponse<MealPlanDTO>> activateMealPlan(
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -23,6 +25,9 @@ public class MealOptionDTO {
     private Integer totalProtein;
     private Integer totalCarbs;
     private Integer totalFat;
+    private Integer totalFiber;
+    private Integer totalSugar;
+    private Integer totalSodiumMg;
     private Integer displayOrder;
     private List<MealOptionItemDTO> items;
 
@@ -31,18 +36,24 @@ public class MealOptionDTO {
                 .map(MealOptionItemDTO::fromEntity)
                 .collect(Collectors.toList());
 
-        // Calculate totals from items
-        int totalCals = option.getItems().stream()
-                .mapToInt(i -> i.getCalories() != null ? i.getCalories() : 0)
-                .sum();
-
+        // Totals are stored on the option when it is saved
         return MealOptionDTO.builder()
                 .id(option.getId())
                 .name(option.getName())
                 .description(option.getDescription())
-                .totalCalories(totalCals > 0 ? totalCals : option.getTotalCalories())
+                .totalCalories(option.getTotalCalories())
+                .totalProtein(rounded(option.getTotalProteinGrams()))
+                .totalCarbs(rounded(option.getTotalCarbsGrams()))
+                .totalFat(rounded(option.getTotalFatGrams()))
+                .totalFiber(rounded(option.getTotalFiberGrams()))
+                .totalSugar(rounded(option.getTotalSugarGrams()))
+                .totalSodiumMg(rounded(option.getTotalSodiumMg()))
                 .displayOrder(option.getDisplayOrder())
                 .items(itemDTOs)
                 .build();
     }
+
+    private static Integer rounded(BigDecimal value) {
+        return value != null ? value.setScale(0, RoundingMode.HALF_UP).intValue() : null;
+    }
 }
@@ -25,6 +25,9 @@ public class MealOptionItemDTO {
     private BigDecimal proteinGrams;
     private BigDecimal carbsGrams;
     private BigDecimal fatGrams;
+    private BigDecimal fiberGrams;
+    private BigDecimal sugarGrams;
+    private BigDecimal sodiumMg;
     private Integer displayOrder;
     private String notes;
 
@@ -36,6 +39,12 @@ public class MealOptionItemDTO {
                 .quantity(item.getQuantity())
                 .quantityUnit(item.getQuantityUnit())
                 .calories(item.getCalories())
+                .proteinGrams(item.getProteinGrams())
+                .carbsGrams(item.getCarbsGrams())
+                .fatGrams(item.getFatGrams())
+                .fiberGrams(item.getFiberGrams())
+                .sugarGrams(item.getSugarGrams())
+                .sodiumMg(item.getSodiumMg())
                 .displayOrder(item.getDisplayOrder())
                 .notes(item.getNotes())
                 .build();
@@ -0,0 +1,45 @@
+package com.dietary.mealplan.controller.dto;
+
+import com.dietary.mealplan.domain.MealOption;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable form of {@link MealOptionDTO}, serialized the same way. Active
+ * plan snapshots hand the same instances to every daily plan response.
+ */
+public record ReadOnlyMealOptionDTO(
+        UUID id,
+        String name,
+        String description,
+        Integer totalCalories,
+        Integer totalProtein,
+        Integer totalCarbs,
+        Integer totalFat,
+        Integer totalFiber,
+        Integer totalSugar,
+        Integer totalSodiumMg,
+        Integer displayOrder,
+        List<ReadOnlyMealOptionItemDTO> items) {
+
+    public static ReadOnlyMealOptionDTO fromEntity(MealOption option) {
+        return of(MealOptionDTO.fromEntity(option));
+    }
+
+    public static ReadOnlyMealOptionDTO of(MealOptionDTO option) {
+        return new ReadOnlyMealOptionDTO(
+                option.getId(),
+                option.getName(),
+                option.getDescription(),
+                option.getTotalCalories(),
+                option.getTotalProtein(),
+                option.getTotalCarbs(),
+                option.getTotalFat(),
+                option.getTotalFiber(),
+                option.getTotalSugar(),
+                option.getTotalSodiumMg(),
+                option.getDisplayOrder(),
+                option.getItems().stream().map(ReadOnlyMealOptionItemDTO::of).toList());
+    }
+}
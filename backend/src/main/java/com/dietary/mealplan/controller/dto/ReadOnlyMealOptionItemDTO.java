@@ -0,0 +1,42 @@
+package com.dietary.mealplan.controller.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Immutable form of {@link MealOptionItemDTO}, serialized the same way.
+ */
+public record ReadOnlyMealOptionItemDTO(
+        UUID id,
+        UUID foodId,
+        String foodName,
+        BigDecimal quantity,
+        String quantityUnit,
+        Integer calories,
+        BigDecimal proteinGrams,
+        BigDecimal carbsGrams,
+        BigDecimal fatGrams,
+        BigDecimal fiberGrams,
+        BigDecimal sugarGrams,
+        BigDecimal sodiumMg,
+        Integer displayOrder,
+        String notes) {
+
+    public static ReadOnlyMealOptionItemDTO of(MealOptionItemDTO item) {
+        return new ReadOnlyMealOptionItemDTO(
+                item.getId(),
+                item.getFoodId(),
+                item.getFoodName(),
+                item.getQuantity(),
+                item.getQuantityUnit(),
+                item.getCalories(),
+                item.getProteinGrams(),
+                item.getCarbsGrams(),
+                item.getFatGrams(),
+                item.getFiberGrams(),
+                item.getSugarGrams(),
+                item.getSodiumMg(),
+                item.getDisplayOrder(),
+                item.getNotes());
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +36,25 @@ public class MealOption {
     @Column(name = "total_calories")
     private Integer totalCalories;
 
+    // Sums over the items; null when no item's food has a value for the nutrient
+    @Column(name = "total_protein_grams", precision = 10, scale = 2)
+    private BigDecimal totalProteinGrams;
+
+    @Column(name = "total_carbs_grams", precision = 10, scale = 2)
+    private BigDecimal totalCarbsGrams;
+
+    @Column(name = "total_fat_grams", precision = 10, scale = 2)
+    private BigDecimal totalFatGrams;
+
+    @Column(name = "total_fiber_grams", precision = 10, scale = 2)
+    private BigDecimal totalFiberGrams;
+
+    @Column(name = "total_sugar_grams", precision = 10, scale = 2)
+    private BigDecimal totalSugarGrams;
+
+    @Column(name = "total_sodium_mg", precision = 12, scale = 2)
+    private BigDecimal totalSodiumMg;
+
     @Column(name = "display_order")
     private Integer displayOrder;
 
@@ -39,6 +39,25 @@ public class MealOptionItem {
     @Column(name = "calories")
     private Integer calories;
 
+    // Nutrients for this quantity of the food, computed when the item is saved
+    @Column(name = "protein_grams", precision = 10, scale = 2)
+    private BigDecimal proteinGrams;
+
+    @Column(name = "carbs_grams", precision = 10, scale = 2)
+    private BigDecimal carbsGrams;
+
+    @Column(name = "fat_grams", precision = 10, scale = 2)
+    private BigDecimal fatGrams;
+
+    @Column(name = "fiber_grams", precision = 10, scale = 2)
+    private BigDecimal fiberGrams;
+
+    @Column(name = "sugar_grams", precision = 10, scale = 2)
+    private BigDecimal sugarGrams;
+
+    @Column(name = "sodium_mg", precision = 12, scale = 2)
+    private BigDecimal sodiumMg;
+
     @Column(name = "display_order")
     private Integer displayOrder;
 
@@ -0,0 +1,46 @@
+package com.dietary.mealplan.repository;
+
+import com.dietary.mealplan.domain.MealType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One meal plan item with its plan, meal and option, flattened for export.
+ * Meal, option and item columns are null where the plan has none.
+ */
+public interface MealPlanItemRow {
+
+    UUID getPlanId();
+
+    String getPlanName();
+
+    Boolean getPlanActive();
+
+    Integer getDailyCalories();
+
+    Instant getPlanCreatedAt();
+
+    MealType getMealType();
+
+    String getMealName();
+
+    String getOptionName();
+
+    Integer getOptionCalories();
+
+    String getFoodName();
+
+    BigDecimal getQuantity();
+
+    String getQuantityUnit();
+
+    Integer getCalories();
+
+    BigDecimal getProteinGrams();
+
+    BigDecimal getCarbsGrams();
+
+    BigDecimal getFatGrams();
+}
@@ -1,18 +1,25 @@
 package com.dietary.mealplan.repository;
 
+import com.dietary.export.repository.ExportStream;
+import com.dietary.mealplan.domain.Meal;
+import com.dietary.mealplan.domain.MealOption;
 import com.dietary.mealplan.domain.MealPlan;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface MealPlanRepository extends JpaRepository<MealPlan, UUID> {
 
+    @EntityGraph(attributePaths = {"client", "meals"})
     @Query("SELECT mp FROM MealPlan mp WHERE mp.dietitian.id = :dietitianId AND mp.client IS NULL ORDER BY mp.name")
     List<MealPlan> findAllTemplatesByDietitianId(UUID dietitianId);
 
@@ -22,6 +29,17 @@ public interface MealPlanRepository extends JpaRepository<MealPlan, UUID> {
     @Query("SELECT mp FROM MealPlan mp WHERE mp.client.id = :clientId AND mp.isActive = true")
     Optional<MealPlan> findActiveByClientId(UUID clientId);
 
+    @Query("SELECT mp.id AS id, mp.updatedAt AS updatedAt FROM MealPlan mp WHERE mp.client.id = :clientId AND mp.isActive = true")
+    Optional<MealPlanVersion> findActiveVersionByClientId(UUID clientId);
+
+    @Query("SELECT mp.updatedAt AS updatedAt, mp.isActive AS isActive, c.updatedAt AS clientUpdatedAt " +
+            "FROM MealPlan mp LEFT JOIN mp.client c WHERE mp.id = :id AND mp.dietitian.id = :dietitianId")
+    Optional<MealPlanRevision> findRevisionByIdAndDietitianId(UUID id, UUID dietitianId);
+
+    @Query("SELECT mp.client.id AS clientId, COUNT(m) AS meals FROM MealPlan mp LEFT JOIN mp.meals m " +
+            "WHERE mp.client.dietitian.id = :dietitianId AND mp.isActive = true GROUP BY mp.client.id")
+    List<PlannedMealCount> findActiveMealCountsByDietitianId(UUID dietitianId);
+
     @Query("SELECT mp FROM MealPlan mp WHERE mp.client.id = :clientId AND mp.client.dietitian.id = :dietitianId AND mp.isActive = true")
     Optional<MealPlan> findActiveByClientIdAndDietitianId(UUID clientId, UUID dietitianId);
 
@@ -31,4 +49,53 @@ public interface MealPlanRepository extends JpaRepository<MealPlan, UUID> {
     @Modifying
     @Query("UPDATE MealPlan mp SET mp.isActive = false WHERE mp.client.id = :clientId AND mp.isActive = true")
     void deactivateAllByClientId(UUID clientId);
+
+    // Aggregate loading: the plan with its meals, then options per meal, then items and foods per option
+
+    @Query("SELECT mp FROM MealPlan mp LEFT JOIN FETCH mp.client LEFT JOIN FETCH mp.meals WHERE mp.id = :id AND mp.dietitian.id = :dietitianId")
+    Optional<MealPlan> findWithMealsByIdAndDietitianId(UUID id, UUID dietitianId);
+
+    @Query("SELECT mp FROM MealPlan mp LEFT JOIN FETCH mp.client LEFT JOIN FETCH mp.meals WHERE mp.client.id = :clientId AND mp.isActive = true")
+    Optional<MealPlan> findActiveWithMealsByClientId(UUID clientId);
+
+    @Query("SELECT mp FROM MealPlan mp LEFT JOIN FETCH mp.client c LEFT JOIN FETCH mp.meals WHERE c.id = :clientId AND c.dietitian.id = :dietitianId AND mp.isActive = true")
+    Optional<MealPlan> findActiveWithMealsByClientIdAndDietitianId(UUID clientId, UUID dietitianId);
+
+    @Query("SELECT DISTINCT m FROM Meal m LEFT JOIN FETCH m.options WHERE m IN :meals")
+    List<Meal> fetchOptions(Collection<Meal> meals);
+
+    @Query("SELECT DISTINCT o FROM MealOption o LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.food WHERE o IN :options")
+    List<MealOption> fetchItems(Collection<MealOption> options);
+
+    /**
+     * Initializes the options, items and foods of a plan whose meals are already
+     * loaded, using two queries regardless of how many meals and options it has.
+     */
+    default MealPlan fetchAggregate(MealPlan plan) {
+        if (plan.getMeals().isEmpty()) {
+            return plan;
+        }
+        List<MealOption> options = fetchOptions(plan.getMeals()).stream()
+                .flatMap(meal -> meal.getOptions().stream())
+                .toList();
+        if (!options.isEmpty()) {
+            fetchItems(options);
+        }
+        return plan;
+    }
+
+    // Export: one row per item, with plans, meals and options that have no items as rows of their own
+    @ExportStream
+    @Query("""
+            SELECT mp.id AS planId, mp.name AS planName, mp.isActive AS planActive, mp.dailyCalories AS dailyCalories,
+                   mp.createdAt AS planCreatedAt, m.mealType AS mealType, m.name AS mealName, o.name AS optionName,
+                   o.totalCalories AS optionCalories, f.name AS foodName, i.quantity AS quantity,
+                   i.quantityUnit AS quantityUnit, i.calories AS calories, i.proteinGrams AS proteinGrams,
+                   i.carbsGrams AS carbsGrams, i.fatGrams AS fatGrams
+            FROM MealPlan mp
+            LEFT JOIN mp.meals m LEFT JOIN m.options o LEFT JOIN o.items i LEFT JOIN i.food f
+            WHERE mp.client.id = :clientId
+            ORDER BY mp.createdAt, mp.id, m.displayOrder, m.id, o.displayOrder, o.id, i.displayOrder, i.id
+            """)
+    Stream<MealPlanItemRow> streamItemRowsByClientId(UUID clientId);
 }
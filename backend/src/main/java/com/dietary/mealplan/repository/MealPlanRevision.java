@@ -0,0 +1,17 @@
+package com.dietary.mealplan.repository;
+
+import java.time.Instant;
+
+/**
+ * The columns a full {@code MealPlanDTO} changes with, besides its food
+ * names: the plan's version, whether it is active, and its client's version
+ * (the client's name is part of the DTO).
+ */
+public interface MealPlanRevision {
+
+    Instant getUpdatedAt();
+
+    Boolean getIsActive();
+
+    Instant getClientUpdatedAt();
+}
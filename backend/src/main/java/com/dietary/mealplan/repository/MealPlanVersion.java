@@ -0,0 +1,15 @@
+package com.dietary.mealplan.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Identity and last modification time of a meal plan, used to check cached
+ * plan data without loading the plan itself.
+ */
+public interface MealPlanVersion {
+
+    UUID getId();
+
+    Instant getUpdatedAt();
+}
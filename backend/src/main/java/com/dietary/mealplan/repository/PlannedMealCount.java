@@ -0,0 +1,13 @@
+package com.dietary.mealplan.repository;
+
+import java.util.UUID;
+
+/**
+ * Number of meals per day in a client's active meal plan.
+ */
+public interface PlannedMealCount {
+
+    UUID getClientId();
+
+    Long getMeals();
+}
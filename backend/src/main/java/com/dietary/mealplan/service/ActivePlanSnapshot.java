@@ -0,0 +1,78 @@
+package com.dietary.mealplan.service;
+
+import com.dietary.mealplan.controller.dto.ReadOnlyMealOptionDTO;
+import com.dietary.mealplan.domain.Meal;
+import com.dietary.mealplan.domain.MealOption;
+import com.dietary.mealplan.domain.MealPlan;
+import com.dietary.mealplan.domain.MealType;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Precomputed, read-only view of a client's active meal plan.
+ * Meals are already sorted and their option trees already converted, so a
+ * snapshot can be shared by every request until the plan changes. Every part
+ * of it, down to the option items, is immutable.
+ */
+public record ActivePlanSnapshot(
+        UUID clientId,
+        UUID planId,
+        Instant updatedAt,
+        String name,
+        Integer dailyCalories,
+        List<MealSnapshot> meals,
+        Map<UUID, Integer> optionCalories) {
+
+    public record MealSnapshot(
+            UUID mealId,
+            MealType mealType,
+            String name,
+            Integer displayOrder,
+            List<ReadOnlyMealOptionDTO> options) {
+    }
+
+    public static ActivePlanSnapshot fromEntity(MealPlan plan) {
+        Map<UUID, Integer> optionCalories = new HashMap<>();
+        List<MealSnapshot> meals = plan.getMeals().stream()
+                .sorted(Comparator.comparing(Meal::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(meal -> {
+                    for (MealOption option : meal.getOptions()) {
+                        optionCalories.put(option.getId(),
+                                option.getTotalCalories() != null ? option.getTotalCalories() : 0);
+                    }
+                    return new MealSnapshot(
+                            meal.getId(),
+                            meal.getMealType(),
+                            meal.getName(),
+                            meal.getDisplayOrder(),
+                            meal.getOptions().stream().map(ReadOnlyMealOptionDTO::fromEntity).toList());
+                })
+                .toList();
+
+        return new ActivePlanSnapshot(
+                plan.getClient().getId(),
+                plan.getId(),
+                plan.getUpdatedAt(),
+                plan.getName(),
+                plan.getDailyCalories(),
+                meals,
+                Map.copyOf(optionCalories));
+    }
+
+    /**
+     * Whether this snapshot was built from the given plan version. Timestamps
+     * are compared at the database's microsecond precision.
+     */
+    public boolean isVersion(UUID planId, Instant updatedAt) {
+        return this.planId.equals(planId)
+                && this.updatedAt != null
+                && updatedAt != null
+                && this.updatedAt.truncatedTo(ChronoUnit.MICROS).equals(updatedAt.truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,103 @@
+package com.dietary.mealplan.service;
+
+import com.dietary.common.cache.BoundedExpiringCache;
+import com.dietary.mealplan.domain.MealPlan;
+import com.dietary.mealplan.repository.MealPlanRepository;
+import com.dietary.mealplan.repository.MealPlanVersion;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-client cache of {@link ActivePlanSnapshot}s.
+ * Snapshots are published by {@link MealPlanService} when a plan is activated
+ * or updated. Reads confirm the cached snapshot still matches the active
+ * plan's id and {@code updatedAt} with a single projection query, and only
+ * rebuild it when it does not (first read after startup, or a change made
+ * outside this instance). At most {@code max-size} snapshots are kept, each
+ * for {@code ttl-ms} after it was built, so clients that stopped reading
+ * their plan do not hold memory.
+ */
+@Slf4j
+@Component
+public class ActivePlanSnapshotCache {
+
+    private final MealPlanRepository mealPlanRepository;
+    private final BoundedExpiringCache<UUID, ActivePlanSnapshot> snapshots;
+    private final long ttlMs;
+
+    public ActivePlanSnapshotCache(
+            MealPlanRepository mealPlanRepository,
+            MeterRegistry meterRegistry,
+            @Value("${mealplan.snapshot-cache.max-size:10000}") int maxSize,
+            @Value("${mealplan.snapshot-cache.ttl-ms:3600000}") long ttlMs) {
+        this.mealPlanRepository = mealPlanRepository;
+        this.snapshots = new BoundedExpiringCache<>(maxSize);
+        this.ttlMs = ttlMs;
+
+        FunctionCounter.builder("mealplan.snapshot.cache.hits", snapshots, BoundedExpiringCache::hitCount)
+                .description("Active plan reads that found a snapshot, current or not")
+                .register(meterRegistry);
+        FunctionCounter.builder("mealplan.snapshot.cache.misses", snapshots, BoundedExpiringCache::missCount)
+                .description("Active plan reads that found no snapshot")
+                .register(meterRegistry);
+        Gauge.builder("mealplan.snapshot.cache.size", snapshots, BoundedExpiringCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the snapshot of the client's active plan. Must be called inside a
+     * transaction, since a stale or missing snapshot is rebuilt from the entities.
+     */
+    public Optional<ActivePlanSnapshot> getActivePlan(UUID clientId) {
+        Optional<MealPlanVersion> version = mealPlanRepository.findActiveVersionByClientId(clientId);
+        if (version.isEmpty()) {
+            snapshots.invalidate(clientId);
+            return Optional.empty();
+        }
+
+        ActivePlanSnapshot cached = snapshots.get(clientId);
+        if (cached != null && cached.isVersion(version.get().getId(), version.get().getUpdatedAt())) {
+            return Optional.of(cached);
+        }
+
+        return mealPlanRepository.findActiveWithMealsByClientId(clientId).map(plan -> {
+            mealPlanRepository.fetchAggregate(plan);
+            log.debug("Rebuilding active plan snapshot for client '{}'", clientId);
+            ActivePlanSnapshot snapshot = ActivePlanSnapshot.fromEntity(plan);
+            put(snapshot);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Builds a snapshot of the given active plan and publishes it once the
+     * surrounding transaction commits. The plan must be flushed so that its
+     * ids and {@code updatedAt} are final.
+     */
+    public void publish(MealPlan plan) {
+        ActivePlanSnapshot snapshot = ActivePlanSnapshot.fromEntity(plan);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(snapshot);
+                }
+            });
+        } else {
+            put(snapshot);
+        }
+    }
+
+    private void put(ActivePlanSnapshot snapshot) {
+        snapshots.put(snapshot.clientId(), snapshot, System.currentTimeMillis() + ttlMs);
+    }
+}
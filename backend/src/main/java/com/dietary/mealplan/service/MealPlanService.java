@@ -6,24 +6,36 @@ import com.dietary.client.domain.Client;
 import com.dietary.client.repository.ClientRepository;
 import com.dietary.common.exception.BadRequestException;
 import com.dietary.common.exception.ResourceNotFoundException;
+import com.dietary.common.web.ResourceVersion;
+import com.dietary.common.web.Versioned;
 import com.dietary.food.domain.Food;
+import com.dietary.food.nutrition.NutrientMath;
+import com.dietary.food.nutrition.NutrientVector;
+import com.dietary.food.nutrition.UnitRegistry;
 import com.dietary.food.repository.FoodRepository;
 import com.dietary.mealplan.controller.dto.*;
 import com.dietary.mealplan.domain.*;
 import com.dietary.mealplan.repository.MealPlanRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("dietary.service")
 @RequiredArgsConstructor
 public class MealPlanService {
 
@@ -31,6 +43,7 @@ public class MealPlanService {
     private final ClientRepository clientRepository;
     private final UserRepository userRepository;
     private final FoodRepository foodRepository;
+    private final ActivePlanSnapshotCache activePlanSnapshotCache;
 
     @Transactional(readOnly = true)
     public List<MealPlanDTO> getTemplates(UUID dietitianId) {
@@ -39,16 +52,45 @@ public class MealPlanService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The plan with all meals, options and items, loaded in three queries, and
+     * its validators taken from the loaded rows.
+     */
     @Transactional(readOnly = true)
-    public MealPlanDTO getMealPlanById(UUID planId, UUID dietitianId) {
-        MealPlan plan = mealPlanRepository.findByIdAndDietitianId(planId, dietitianId)
+    public Versioned<MealPlanDTO> getMealPlanById(UUID planId, UUID dietitianId) {
+        MealPlan plan = mealPlanRepository.findWithMealsByIdAndDietitianId(planId, dietitianId)
+                .map(mealPlanRepository::fetchAggregate)
                 .orElseThrow(() -> new ResourceNotFoundException("MealPlan", "id", planId));
-        return MealPlanDTO.fromEntity(plan);
+        ResourceVersion version = planVersion(planId, plan.getUpdatedAt(), plan.getIsActive(),
+                plan.getClient() != null ? plan.getClient().getUpdatedAt() : null);
+        return new Versioned<>(MealPlanDTO.fromEntity(plan), version);
+    }
+
+    /**
+     * Validators of {@link #getMealPlanById}'s response, read without loading the
+     * plan. Food names in the items are not covered: like the active plan
+     * snapshots, the plan picks up renamed foods on its next change.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> getMealPlanVersion(UUID planId, UUID dietitianId) {
+        return mealPlanRepository.findRevisionByIdAndDietitianId(planId, dietitianId)
+                .map(revision -> planVersion(
+                        planId, revision.getUpdatedAt(), revision.getIsActive(), revision.getClientUpdatedAt()));
+    }
+
+    /**
+     * The ETag of a full plan, from the columns {@link com.dietary.mealplan.repository.MealPlanRevision} lists;
+     * the loaded plan and its revision must agree on it.
+     */
+    private static ResourceVersion planVersion(UUID planId, Instant updatedAt, Boolean isActive,
+            Instant clientUpdatedAt) {
+        return ResourceVersion.of(planId, updatedAt, isActive, clientUpdatedAt);
     }
 
     @Transactional(readOnly = true)
     public MealPlanDTO getActivePlanForClient(UUID clientId, UUID dietitianId) {
-        MealPlan plan = mealPlanRepository.findActiveByClientIdAndDietitianId(clientId, dietitianId)
+        MealPlan plan = mealPlanRepository.findActiveWithMealsByClientIdAndDietitianId(clientId, dietitianId)
+                .map(mealPlanRepository::fetchAggregate)
                 .orElseThrow(() -> new ResourceNotFoundException("Active meal plan", "clientId", clientId));
         return MealPlanDTO.fromEntity(plan);
     }
@@ -75,9 +117,10 @@ public class MealPlanService {
 
         // Add meals if provided
         if (request.getMeals() != null) {
+            Map<UUID, PlanFood> foods = resolveFoods(request.getMeals());
             for (int i = 0; i < request.getMeals().size(); i++) {
                 MealRequest mealRequest = request.getMeals().get(i);
-                Meal meal = createMeal(mealRequest, i + 1);
+                Meal meal = createMeal(mealRequest, i + 1, foods);
                 mealPlan.addMeal(meal);
             }
         }
@@ -90,7 +133,8 @@ public class MealPlanService {
 
     @Transactional
     public MealPlanDTO updateMealPlan(UUID planId, MealPlanRequest request, UUID dietitianId) {
-        MealPlan mealPlan = mealPlanRepository.findByIdAndDietitianId(planId, dietitianId)
+        MealPlan mealPlan = mealPlanRepository.findWithMealsByIdAndDietitianId(planId, dietitianId)
+                .map(mealPlanRepository::fetchAggregate)
                 .orElseThrow(() -> new ResourceNotFoundException("MealPlan", "id", planId));
 
         mealPlan.setName(request.getName().trim());
@@ -99,23 +143,31 @@ public class MealPlanService {
 
         // Clear and recreate meals if provided
         if (request.getMeals() != null) {
+            Map<UUID, PlanFood> foods = resolveFoods(request.getMeals());
             mealPlan.getMeals().clear();
             for (int i = 0; i < request.getMeals().size(); i++) {
                 MealRequest mealRequest = request.getMeals().get(i);
-                Meal meal = createMeal(mealRequest, i + 1);
+                Meal meal = createMeal(mealRequest, i + 1, foods);
                 mealPlan.addMeal(meal);
             }
         }
 
-        mealPlan = mealPlanRepository.save(mealPlan);
+        // Replacing meals alone would not dirty the plan row; bump the version explicitly
+        mealPlan.setUpdatedAt(Instant.now());
+        mealPlan = mealPlanRepository.saveAndFlush(mealPlan);
         log.info("Updated meal plan '{}'", mealPlan.getName());
 
+        if (Boolean.TRUE.equals(mealPlan.getIsActive())) {
+            activePlanSnapshotCache.publish(mealPlan);
+        }
+
         return MealPlanDTO.fromEntity(mealPlan);
     }
 
     @Transactional
     public MealPlanDTO activateMealPlan(UUID planId, UUID dietitianId) {
-        MealPlan mealPlan = mealPlanRepository.findByIdAndDietitianId(planId, dietitianId)
+        MealPlan mealPlan = mealPlanRepository.findWithMealsByIdAndDietitianId(planId, dietitianId)
+                .map(mealPlanRepository::fetchAggregate)
                 .orElseThrow(() -> new ResourceNotFoundException("MealPlan", "id", planId));
 
         if (mealPlan.getClient() == null) {
@@ -127,7 +179,9 @@ public class MealPlanService {
 
         // Activate this plan
         mealPlan.setIsActive(true);
-        mealPlan = mealPlanRepository.save(mealPlan);
+        mealPlan.setUpdatedAt(Instant.now());
+        mealPlan = mealPlanRepository.saveAndFlush(mealPlan);
+        activePlanSnapshotCache.publish(mealPlan);
 
         log.info("Activated meal plan '{}' for client '{}'",
                 mealPlan.getName(), mealPlan.getClient().getFullName());
@@ -135,7 +189,33 @@ public class MealPlanService {
         return MealPlanDTO.fromEntity(mealPlan);
     }
 
-    private Meal createMeal(MealRequest request, int defaultOrder) {
+    /**
+     * Loads every food referenced by the requested items in one query and
+     * parses each one's nutrient values once for all of its items.
+     */
+    private Map<UUID, PlanFood> resolveFoods(List<MealRequest> meals) {
+        Set<UUID> foodIds = meals.stream()
+                .filter(meal -> meal.getOptions() != null)
+                .flatMap(meal -> meal.getOptions().stream())
+                .filter(option -> option.getItems() != null)
+                .flatMap(option -> option.getItems().stream())
+                .map(MealOptionItemRequest::getFoodId)
+                .collect(Collectors.toSet());
+        if (foodIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, PlanFood> foods = foodRepository.findAllById(foodIds).stream()
+                .collect(Collectors.toMap(Food::getId, food -> new PlanFood(food, NutrientVector.of(food))));
+        for (UUID foodId : foodIds) {
+            if (!foods.containsKey(foodId)) {
+                throw new ResourceNotFoundException("Food", "id", foodId);
+            }
+        }
+        return foods;
+    }
+
+    private Meal createMeal(MealRequest request, int defaultOrder, Map<UUID, PlanFood> foods) {
         Meal meal = Meal.builder()
                 .mealType(request.getMealType())
                 .name(request.getName().trim())
@@ -145,7 +225,7 @@ public class MealPlanService {
         if (request.getOptions() != null) {
             for (int i = 0; i < request.getOptions().size(); i++) {
                 MealOptionRequest optionRequest = request.getOptions().get(i);
-                MealOption option = createMealOption(optionRequest, i + 1);
+                MealOption option = createMealOption(optionRequest, i + 1, foods);
                 meal.addOption(option);
             }
         }
@@ -153,7 +233,7 @@ public class MealPlanService {
         return meal;
     }
 
-    private MealOption createMealOption(MealOptionRequest request, int defaultOrder) {
+    private MealOption createMealOption(MealOptionRequest request, int defaultOrder, Map<UUID, PlanFood> foods) {
         MealOption option = MealOption.builder()
                 .name(request.getName().trim())
                 .description(request.getDescription())
@@ -165,7 +245,7 @@ public class MealPlanService {
         if (request.getItems() != null) {
             for (int i = 0; i < request.getItems().size(); i++) {
                 MealOptionItemRequest itemRequest = request.getItems().get(i);
-                MealOptionItem item = createMealOptionItem(itemRequest, i + 1);
+                MealOptionItem item = createMealOptionItem(itemRequest, i + 1, foods.get(itemRequest.getFoodId()));
                 option.addItem(item);
                 if (item.getCalories() != null) {
                     totalCalories += item.getCalories();
@@ -173,39 +253,47 @@ public class MealPlanService {
             }
         }
 
+        // Stored so that reads never have to add up the items again
         option.setTotalCalories(totalCalories);
+        option.setTotalProteinGrams(sum(option.getItems(), MealOptionItem::getProteinGrams));
+        option.setTotalCarbsGrams(sum(option.getItems(), MealOptionItem::getCarbsGrams));
+        option.setTotalFatGrams(sum(option.getItems(), MealOptionItem::getFatGrams));
+        option.setTotalFiberGrams(sum(option.getItems(), MealOptionItem::getFiberGrams));
+        option.setTotalSugarGrams(sum(option.getItems(), MealOptionItem::getSugarGrams));
+        option.setTotalSodiumMg(sum(option.getItems(), MealOptionItem::getSodiumMg));
         return option;
     }
 
-    private MealOptionItem createMealOptionItem(MealOptionItemRequest request, int defaultOrder) {
-        Food food = foodRepository.findById(request.getFoodId())
-                .orElseThrow(() -> new ResourceNotFoundException("Food", "id", request.getFoodId()));
-
-        // Calculate calories based on quantity
-        int calories = calculateCalories(food, request.getQuantity(), request.getQuantityUnit());
+    private MealOptionItem createMealOptionItem(MealOptionItemRequest request, int defaultOrder, PlanFood planFood) {
+        // Scale the food's per-serving values to the requested quantity and unit
+        NutrientVector nutrients = planFood.nutrients();
+        UnitRegistry.Unit unit = UnitRegistry.lookup(request.getQuantityUnit());
+        long ratio = NutrientMath.servingRatio(request.getQuantity(), unit, nutrients);
 
         return MealOptionItem.builder()
-                .food(food)
+                .food(planFood.food())
                 .quantity(request.getQuantity())
                 .quantityUnit(request.getQuantityUnit())
-                .calories(calories)
+                .calories(NutrientMath.calories(nutrients, ratio))
+                .proteinGrams(NutrientMath.amount(nutrients, NutrientVector.PROTEIN, ratio))
+                .carbsGrams(NutrientMath.amount(nutrients, NutrientVector.CARBS, ratio))
+                .fatGrams(NutrientMath.amount(nutrients, NutrientVector.FAT, ratio))
+                .fiberGrams(NutrientMath.amount(nutrients, NutrientVector.FIBER, ratio))
+                .sugarGrams(NutrientMath.amount(nutrients, NutrientVector.SUGAR, ratio))
+                .sodiumMg(NutrientMath.amount(nutrients, NutrientVector.SODIUM, ratio))
                 .displayOrder(request.getDisplayOrder() != null ? request.getDisplayOrder() : defaultOrder)
                 .notes(request.getNotes())
                 .build();
     }
 
-    private int calculateCalories(Food food, BigDecimal quantity, String unit) {
-        // Simple calculation: assume serving size is in same unit for now
-        // Calories = (quantity / serving_size) * calories_per_serving
-        try {
-            BigDecimal servingSize = new BigDecimal(food.getServingSize());
-            BigDecimal ratio = quantity.divide(servingSize, 4, RoundingMode.HALF_UP);
-            return ratio.multiply(BigDecimal.valueOf(food.getCaloriesPerServing()))
-                    .setScale(0, RoundingMode.HALF_UP)
-                    .intValue();
-        } catch (NumberFormatException e) {
-            // If serving size is not a number (e.g., "1 medium"), use calories directly
-            return food.getCaloriesPerServing();
-        }
+    private static BigDecimal sum(List<MealOptionItem> items, Function<MealOptionItem, BigDecimal> nutrient) {
+        return items.stream()
+                .map(nutrient)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal::add)
+                .orElse(null);
+    }
+
+    private record PlanFood(Food food, NutrientVector nutrients) {
     }
 }
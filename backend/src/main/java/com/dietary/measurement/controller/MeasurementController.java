@@ -1,6 +1,8 @@
 package com.dietary.measurement.controller;
 
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.dto.CursorPage;
+import com.dietary.common.metrics.SqlStatementBudget;
 import com.dietary.common.security.CurrentUser;
 import com.dietary.common.security.UserPrincipal;
 import com.dietary.measurement.controller.dto.MeasurementDTO;
@@ -29,6 +31,7 @@ public class MeasurementController {
     private final MeasurementService measurementService;
 
     @GetMapping
+    @SqlStatementBudget(4)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get all measurements", description = "Retrieves all measurements for a client with delta comparisons")
     public ResponseEntity<ApiResponse<List<MeasurementDTO>>> getAllMeasurements(
@@ -38,7 +41,21 @@ public class MeasurementController {
         return ResponseEntity.ok(ApiResponse.success(measurements));
     }
 
+    @GetMapping("/page")
+    @SqlStatementBudget(4)
+    @PreAuthorize("hasRole('DIETITIAN')")
+    @Operation(summary = "Get measurements page", description = "Retrieves one page of a client's measurements, newest first, with delta comparisons. Pass the returned nextCursor to get the following page")
+    public ResponseEntity<ApiResponse<CursorPage<MeasurementDTO>>> getMeasurementPage(
+            @PathVariable UUID clientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @CurrentUser UserPrincipal currentUser) {
+        CursorPage<MeasurementDTO> page = measurementService.getMeasurementPage(clientId, cursor, limit, currentUser.getId());
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
     @GetMapping("/latest")
+    @SqlStatementBudget(4)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get latest measurement", description = "Retrieves the most recent measurement for a client with delta from previous")
     public ResponseEntity<ApiResponse<MeasurementDTO>> getLatestMeasurement(
@@ -49,6 +66,7 @@ public class MeasurementController {
     }
 
     @PostMapping
+    @SqlStatementBudget(4)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Create a measurement", description = "Records a new measurement for a client with automatic BMI calculation")
     public ResponseEntity<ApiResponse<MeasurementDTO>> createMeasurement(
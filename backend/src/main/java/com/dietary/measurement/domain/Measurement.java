@@ -11,7 +11,10 @@ import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
-@Table(name = "measurements")
+@Table(name = "measurements", indexes = {
+        // Latest measurement per client, in history order
+        @Index(name = "idx_measurements_client_history", columnList = "client_id, measurement_date, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
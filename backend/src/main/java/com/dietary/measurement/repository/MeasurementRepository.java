@@ -1,13 +1,18 @@
 package com.dietary.measurement.repository;
 
+import com.dietary.export.repository.ExportStream;
 import com.dietary.measurement.domain.Measurement;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface MeasurementRepository extends JpaRepository<Measurement, UUID> {
@@ -15,14 +20,38 @@ public interface MeasurementRepository extends JpaRepository<Measurement, UUID>
     @Query("SELECT m FROM Measurement m WHERE m.client.id = :clientId ORDER BY m.measurementDate DESC")
     List<Measurement> findAllByClientIdOrderByDateDesc(UUID clientId);
 
-    @Query("SELECT m FROM Measurement m WHERE m.client.id = :clientId ORDER BY m.measurementDate DESC LIMIT 1")
+    // History order is (measurementDate, createdAt, id) descending; "previous" means the next row in that order
+
+    @Query("SELECT m FROM Measurement m WHERE m.client.id = :clientId ORDER BY m.measurementDate DESC, m.createdAt DESC, m.id DESC LIMIT 1")
     Optional<Measurement> findLatestByClientId(UUID clientId);
 
-    @Query("SELECT m FROM Measurement m WHERE m.client.id = :clientId AND m.id != :excludeId ORDER BY m.measurementDate DESC LIMIT 1")
-    Optional<Measurement> findPreviousByClientId(UUID clientId, UUID excludeId);
+    @Query("""
+            SELECT m FROM Measurement m WHERE m.client.id = :clientId
+              AND (m.measurementDate < :date
+                   OR (m.measurementDate = :date AND (m.createdAt < :createdAt
+                       OR (m.createdAt = :createdAt AND m.id < :id))))
+            ORDER BY m.measurementDate DESC, m.createdAt DESC, m.id DESC LIMIT 1
+            """)
+    Optional<Measurement> findPreviousByClientId(UUID clientId, LocalDate date, Instant createdAt, UUID id);
 
-    @Query("SELECT m FROM Measurement m WHERE m.client.id = :clientId AND m.client.dietitian.id = :dietitianId ORDER BY m.measurementDate DESC")
+    @Query("SELECT m FROM Measurement m WHERE m.client.id = :clientId AND m.client.dietitian.id = :dietitianId ORDER BY m.measurementDate DESC, m.createdAt DESC, m.id DESC")
     List<Measurement> findAllByClientIdAndDietitianId(UUID clientId, UUID dietitianId);
 
+    @Query("SELECT m FROM Measurement m WHERE m.client.id = :clientId ORDER BY m.measurementDate DESC, m.createdAt DESC, m.id DESC")
+    List<Measurement> findFirstPageByClientId(UUID clientId, Limit limit);
+
+    @Query("""
+            SELECT m FROM Measurement m WHERE m.client.id = :clientId
+              AND (m.measurementDate < :date
+                   OR (m.measurementDate = :date AND (m.createdAt < :createdAt
+                       OR (m.createdAt = :createdAt AND m.id < :id))))
+            ORDER BY m.measurementDate DESC, m.createdAt DESC, m.id DESC
+            """)
+    List<Measurement> findPageAfter(UUID clientId, LocalDate date, Instant createdAt, UUID id, Limit limit);
+
     boolean existsByClientIdAndClientDietitianId(UUID clientId, UUID dietitianId);
+
+    @ExportStream
+    @Query("SELECT m FROM Measurement m WHERE m.client.id = :clientId ORDER BY m.measurementDate, m.createdAt, m.id")
+    Stream<Measurement> streamAllByClientId(UUID clientId);
 }
@@ -0,0 +1,41 @@
+package com.dietary.measurement.service;
+
+import com.dietary.common.exception.BadRequestException;
+import com.dietary.measurement.domain.Measurement;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a client's measurement history, encoded as an opaque URL-safe
+ * string. Holds the full sort key so pages stay stable when several
+ * measurements share a date.
+ */
+record MeasurementCursor(LocalDate date, Instant createdAt, UUID id) {
+
+    static MeasurementCursor of(Measurement measurement) {
+        return new MeasurementCursor(measurement.getMeasurementDate(), measurement.getCreatedAt(), measurement.getId());
+    }
+
+    String encode() {
+        String raw = date + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static MeasurementCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new MeasurementCursor(LocalDate.parse(parts[0]), Instant.parse(parts[1]), UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -2,44 +2,76 @@ package com.dietary.measurement.service;
 
 import com.dietary.client.domain.Client;
 import com.dietary.client.repository.ClientRepository;
+import com.dietary.common.dto.CursorPage;
 import com.dietary.common.exception.ResourceNotFoundException;
 import com.dietary.measurement.controller.dto.MeasurementDTO;
 import com.dietary.measurement.controller.dto.MeasurementRequest;
 import com.dietary.measurement.domain.Measurement;
 import com.dietary.measurement.repository.MeasurementRepository;
+import com.dietary.tracking.service.DailySummaryService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("dietary.service")
 @RequiredArgsConstructor
 public class MeasurementService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final MeasurementRepository measurementRepository;
     private final ClientRepository clientRepository;
+    private final DailySummaryService dailySummaryService;
 
     @Transactional(readOnly = true)
     public List<MeasurementDTO> getAllMeasurements(UUID clientId, UUID dietitianId) {
         validateClientBelongsToDietitian(clientId, dietitianId);
 
         List<Measurement> measurements = measurementRepository.findAllByClientIdAndDietitianId(clientId, dietitianId);
+        return withDeltas(measurements, measurements.size());
+    }
+
+    /**
+     * Returns one page of the client's history, newest first. One extra row is
+     * read past the page: it tells whether another page exists and supplies
+     * the delta for the page's last entry.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MeasurementDTO> getMeasurementPage(UUID clientId, String cursor, int limit, UUID dietitianId) {
+        validateClientBelongsToDietitian(clientId, dietitianId);
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<Measurement> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = measurementRepository.findFirstPageByClientId(clientId, Limit.of(pageSize + 1));
+        } else {
+            MeasurementCursor position = MeasurementCursor.decode(cursor);
+            rows = measurementRepository.findPageAfter(clientId, position.date(), position.createdAt(), position.id(),
+                    Limit.of(pageSize + 1));
+        }
 
-        // Add delta for each measurement compared to previous
-        return measurements.stream()
-                .map(m -> {
-                    Optional<Measurement> previous = measurementRepository.findPreviousByClientId(clientId, m.getId());
-                    return MeasurementDTO.fromEntityWithDelta(m, previous.orElse(null));
-                })
-                .collect(Collectors.toList());
+        boolean hasMore = rows.size() > pageSize;
+        List<MeasurementDTO> items = withDeltas(rows, Math.min(rows.size(), pageSize));
+        String nextCursor = hasMore ? MeasurementCursor.of(rows.get(pageSize - 1)).encode() : null;
+
+        return CursorPage.<MeasurementDTO>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -49,8 +81,7 @@ public class MeasurementService {
         Measurement latest = measurementRepository.findLatestByClientId(clientId)
                 .orElseThrow(() -> new ResourceNotFoundException("Measurement", "clientId", clientId));
 
-        Optional<Measurement> previous = measurementRepository.findPreviousByClientId(clientId, latest.getId());
-        return MeasurementDTO.fromEntityWithDelta(latest, previous.orElse(null));
+        return MeasurementDTO.fromEntityWithDelta(latest, findPrevious(latest).orElse(null));
     }
 
     @Transactional
@@ -78,11 +109,32 @@ public class MeasurementService {
                 .build();
 
         measurement = measurementRepository.save(measurement);
+        dailySummaryService.refreshWeight(clientId, measurement.getMeasurementDate());
         log.info("Created measurement for client '{}' with BMI: {}", client.getFullName(), bmi);
 
         // Get previous measurement for delta calculation
-        Optional<Measurement> previous = measurementRepository.findPreviousByClientId(clientId, measurement.getId());
-        return MeasurementDTO.fromEntityWithDelta(measurement, previous.orElse(null));
+        return MeasurementDTO.fromEntityWithDelta(measurement, findPrevious(measurement).orElse(null));
+    }
+
+    /**
+     * Converts rows in history order (newest first) to DTOs, pairing each row
+     * with the one after it for deltas. Only the first {@code count} rows are
+     * returned; any further row is used as the last returned row's previous.
+     */
+    private List<MeasurementDTO> withDeltas(List<Measurement> rows, int count) {
+        List<MeasurementDTO> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Measurement previous = i + 1 < rows.size() ? rows.get(i + 1) : null;
+            result.add(MeasurementDTO.fromEntityWithDelta(rows.get(i), previous));
+        }
+        return result;
+    }
+
+    private Optional<Measurement> findPrevious(Measurement measurement) {
+        // A freshly persisted createdAt may carry more precision than the column stores
+        return measurementRepository.findPreviousByClientId(measurement.getClient().getId(),
+                measurement.getMeasurementDate(), measurement.getCreatedAt().truncatedTo(ChronoUnit.MICROS),
+                measurement.getId());
     }
 
     private BigDecimal calculateBmi(BigDecimal weightKg, BigDecimal heightCm) {
@@ -0,0 +1,26 @@
+package com.dietary.tracking.config;
+
+import com.dietary.tracking.service.DailySummaryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class DailySummaryInitializer {
+
+    /**
+     * Recomputes all daily summaries from the raw logs at startup. Enable once
+     * after introducing the summaries table, or after editing the logs by hand.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "tracking.daily-summaries.rebuild-on-startup", havingValue = "true")
+    public CommandLineRunner rebuildDailySummaries(DailySummaryService dailySummaryService) {
+        return args -> {
+            log.info("Rebuilding daily summaries from tracking and measurement logs...");
+            dailySummaryService.rebuildAll();
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.dietary.tracking.controller;
+
+import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
+import com.dietary.common.security.CurrentUser;
+import com.dietary.common.security.UserPrincipal;
+import com.dietary.tracking.controller.dto.DashboardDTO;
+import com.dietary.tracking.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Tag(name = "Client Progress", description = "Dietitian-facing client progress and analytics")
+@SecurityRequirement(name = "bearerAuth")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    @SqlStatementBudget(6)
+    @PreAuthorize("hasRole('DIETITIAN')")
+    @Operation(summary = "Get dashboard", description = "Retrieves the status of every client of the authenticated dietitian for a date (default today): meals completed vs planned, water, last weigh-in and 7-day meal compliance")
+    public ResponseEntity<ApiResponse<DashboardDTO>> getDashboard(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Boolean active,
+            @CurrentUser UserPrincipal currentUser) {
+        LocalDate targetDate = date != null ? date : LocalDate.now();
+        DashboardDTO dashboard = dashboardService.getDashboard(currentUser.getId(), targetDate, active);
+        return ResponseEntity.ok(ApiResponse.success(dashboard));
+    }
+}
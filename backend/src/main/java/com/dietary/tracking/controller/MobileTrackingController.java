@@ -1,21 +1,28 @@
 package com.dietary.tracking.controller;
 
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
 import com.dietary.common.security.CurrentUser;
 import com.dietary.common.security.UserPrincipal;
+import com.dietary.common.web.ResourceVersion;
+import com.dietary.common.web.Versioned;
 import com.dietary.tracking.controller.dto.*;
 import com.dietary.tracking.service.TrackingService;
+import com.dietary.tracking.service.TrackingSyncService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -26,19 +33,34 @@ import java.util.UUID;
 public class MobileTrackingController {
 
     private final TrackingService trackingService;
+    private final TrackingSyncService trackingSyncService;
 
     @GetMapping("/daily")
+    @SqlStatementBudget(6)
     @PreAuthorize("hasRole('CLIENT')")
-    @Operation(summary = "Get daily plan", description = "Retrieves the meal plan for a specific date with tracking status")
+    @Operation(summary = "Get daily plan", description = "Retrieves the meal plan for a specific date with tracking status. Answers If-None-Match with 304 when neither the plan nor the day's tracking changed.")
     public ResponseEntity<ApiResponse<DailyPlanDTO>> getDailyPlan(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
-            @CurrentUser UserPrincipal currentUser) {
+            @CurrentUser UserPrincipal currentUser,
+            WebRequest webRequest) {
         LocalDate targetDate = date != null ? date : LocalDate.now();
-        DailyPlanDTO plan = trackingService.getDailyPlan(currentUser.getClientId(), targetDate);
-        return ResponseEntity.ok(ApiResponse.success(plan));
+        // Conditional requests are checked against the version columns first; others skip that query
+        if (ResourceVersion.isConditional(webRequest)) {
+            Optional<ResourceVersion> version =
+                    trackingService.getDailyPlanVersion(currentUser.getClientId(), targetDate);
+            if (version.isPresent() && version.get().isNotModified(webRequest)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ResourceVersion.REVALIDATE).build();
+            }
+        }
+        Versioned<DailyPlanDTO> plan = trackingService.getDailyPlan(currentUser.getClientId(), targetDate);
+        if (plan.version().isNotModified(webRequest)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ResourceVersion.REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(ResourceVersion.REVALIDATE).body(ApiResponse.success(plan.body()));
     }
 
     @PostMapping("/meals")
+    @SqlStatementBudget(7)
     @PreAuthorize("hasRole('CLIENT')")
     @Operation(summary = "Track meal", description = "Records meal completion with selected option")
     public ResponseEntity<ApiResponse<DailyMealDTO>> trackMeal(
@@ -49,6 +71,7 @@ public class MobileTrackingController {
     }
 
     @PostMapping("/water")
+    @SqlStatementBudget(3)
     @PreAuthorize("hasRole('CLIENT')")
     @Operation(summary = "Track water", description = "Records water intake and returns total for the day")
     public ResponseEntity<ApiResponse<Integer>> trackWater(
@@ -57,4 +80,15 @@ public class MobileTrackingController {
         Integer totalWater = trackingService.trackWater(currentUser.getClientId(), request);
         return ResponseEntity.ok(ApiResponse.success("Water tracked successfully", totalWater));
     }
+
+    @PostMapping("/sync")
+    @SqlStatementBudget(10)
+    @PreAuthorize("hasRole('CLIENT')")
+    @Operation(summary = "Sync offline events", description = "Applies an ordered batch of meal and water events recorded offline. Events are identified by client-generated idempotency keys, so replaying a batch is safe")
+    public ResponseEntity<ApiResponse<SyncResultDTO>> sync(
+            @Valid @RequestBody SyncRequest request,
+            @CurrentUser UserPrincipal currentUser) {
+        SyncResultDTO result = trackingSyncService.sync(currentUser.getClientId(), request);
+        return ResponseEntity.ok(ApiResponse.success("Tracking events synced", result));
+    }
 }
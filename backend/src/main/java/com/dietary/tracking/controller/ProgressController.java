@@ -1,6 +1,7 @@
 package com.dietary.tracking.controller;
 
 import com.dietary.common.dto.ApiResponse;
+import com.dietary.common.metrics.SqlStatementBudget;
 import com.dietary.common.security.CurrentUser;
 import com.dietary.common.security.UserPrincipal;
 import com.dietary.tracking.controller.dto.ProgressDTO;
@@ -27,6 +28,7 @@ public class ProgressController {
     private final TrackingService trackingService;
 
     @GetMapping
+    @SqlStatementBudget(6)
     @PreAuthorize("hasRole('DIETITIAN')")
     @Operation(summary = "Get client progress", description = "Retrieves client progress including weight trend, compliance, and averages")
     public ResponseEntity<ApiResponse<ProgressDTO>> getProgress(
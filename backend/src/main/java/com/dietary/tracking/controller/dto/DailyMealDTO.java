@@ -1,6 +1,6 @@
 package com.dietary.tracking.controller.dto;
 
-import com.dietary.mealplan.controller.dto.MealOptionDTO;
+import com.dietary.mealplan.controller.dto.ReadOnlyMealOptionDTO;
 import com.dietary.mealplan.domain.MealType;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,5 +24,6 @@ public class DailyMealDTO {
     private Boolean isCompleted;
     private UUID selectedOptionId;
     private Instant completedAt;
-    private List<MealOptionDTO> options;
+    // Shared with the active plan snapshot
+    private List<ReadOnlyMealOptionDTO> options;
 }
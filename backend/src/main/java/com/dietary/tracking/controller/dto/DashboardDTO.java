@@ -0,0 +1,49 @@
+package com.dietary.tracking.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+
+    private LocalDate date;
+    // Compliance covers this many days, ending on date
+    private Integer complianceDays;
+    private List<ClientStatus> clients;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClientStatus {
+        private UUID clientId;
+        private String fullName;
+        private Boolean active;
+        private Boolean hasActivePlan;
+
+        // Today
+        private Integer mealsPlanned;
+        private Integer mealsCompleted;
+        private Integer waterMl;
+
+        // Last weigh-in
+        private LocalDate lastWeighInDate;
+        private BigDecimal lastWeightKg;
+
+        // Compliance over the last complianceDays days
+        private Integer daysTracked;
+        private Integer periodMealsExpected;
+        private Integer periodMealsCompleted;
+        private Double mealCompliancePercentage;
+    }
+}
@@ -0,0 +1,40 @@
+package com.dietary.tracking.controller.dto;
+
+import com.dietary.tracking.domain.SyncEventType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncEventRequest {
+
+    @NotBlank(message = "Idempotency key is required")
+    @Size(max = 100, message = "Idempotency key must be at most 100 characters")
+    private String idempotencyKey;
+
+    @NotNull(message = "Event type is required")
+    private SyncEventType type;
+
+    // MEAL events
+    private UUID mealId;
+    private UUID selectedOptionId;
+    private String notes;
+
+    // WATER events
+    private Integer amountMl;
+
+    private LocalDate trackingDate; // Defaults to today if not provided
+
+    private Instant occurredAt; // When the event happened on the device; defaults to sync time
+}
@@ -0,0 +1,22 @@
+package com.dietary.tracking.controller.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncRequest {
+
+    @NotEmpty(message = "At least one event is required")
+    @Size(max = 500, message = "At most 500 events can be synced at once")
+    private List<@Valid SyncEventRequest> events;
+}
@@ -0,0 +1,31 @@
+package com.dietary.tracking.controller.dto;
+
+import com.dietary.tracking.domain.SyncEventStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResultDTO {
+
+    private Integer applied;
+    private Integer duplicates;
+    private Integer rejected;
+    private List<EventResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EventResult {
+        private String idempotencyKey;
+        private SyncEventStatus status;
+        private String message;
+    }
+}
@@ -0,0 +1,57 @@
+package com.dietary.tracking.domain;
+
+import com.dietary.client.domain.Client;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Per-client, per-day rollup of tracking activity. Kept in step with
+ * {@link DailyTracking}, {@link WaterTracking} and measurement writes so that
+ * daily totals and progress reports never aggregate the raw logs.
+ */
+@Entity
+@Table(name = "daily_summaries", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "client_id", "summary_date" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(name = "meals_completed", nullable = false)
+    private Integer mealsCompleted;
+
+    @Column(name = "calories_consumed", nullable = false)
+    private Integer caloriesConsumed;
+
+    @Column(name = "water_ml", nullable = false)
+    private Integer waterMl;
+
+    // Latest measurement taken that day, if any
+    @Column(name = "weight_kg", precision = 5, scale = 2)
+    private BigDecimal weightKg;
+
+    @Column(name = "bmi", precision = 5, scale = 2)
+    private BigDecimal bmi;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
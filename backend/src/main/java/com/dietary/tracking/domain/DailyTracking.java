@@ -61,7 +61,11 @@ public class DailyTracking {
     private Instant updatedAt;
 
     public void markCompleted() {
+        markCompleted(Instant.now());
+    }
+
+    public void markCompleted(Instant completedAt) {
         this.isCompleted = true;
-        this.completedAt = Instant.now();
+        this.completedAt = completedAt;
     }
 }
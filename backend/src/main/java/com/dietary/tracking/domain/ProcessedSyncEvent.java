@@ -0,0 +1,44 @@
+package com.dietary.tracking.domain;
+
+import com.dietary.client.domain.Client;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Idempotency key of an offline tracking event that has already been applied,
+ * so replays of the same event from the mobile app are ignored.
+ */
+@Entity
+@Table(name = "processed_sync_events", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "client_id", "idempotency_key" })
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedSyncEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id", nullable = false)
+    private Client client;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private SyncEventType eventType;
+
+    @CreationTimestamp
+    @Column(name = "processed_at", nullable = false, updatable = false)
+    private Instant processedAt;
+}
@@ -0,0 +1,7 @@
+package com.dietary.tracking.domain;
+
+public enum SyncEventStatus {
+    APPLIED,
+    DUPLICATE,
+    REJECTED
+}
@@ -0,0 +1,6 @@
+package com.dietary.tracking.domain;
+
+public enum SyncEventType {
+    MEAL,
+    WATER
+}
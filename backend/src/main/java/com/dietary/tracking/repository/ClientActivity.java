@@ -0,0 +1,20 @@
+package com.dietary.tracking.repository;
+
+import java.util.UUID;
+
+/**
+ * One client's tracking totals over a date range, summed from the daily
+ * summaries, with the last day of the range broken out.
+ */
+public interface ClientActivity {
+
+    UUID getClientId();
+
+    Long getMealsCompleted();
+
+    Long getDaysTracked();
+
+    Long getMealsCompletedOnLastDay();
+
+    Long getWaterMlOnLastDay();
+}
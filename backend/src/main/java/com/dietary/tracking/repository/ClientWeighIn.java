@@ -0,0 +1,17 @@
+package com.dietary.tracking.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A client's most recent day with a recorded weight.
+ */
+public interface ClientWeighIn {
+
+    UUID getClientId();
+
+    LocalDate getDate();
+
+    BigDecimal getWeightKg();
+}
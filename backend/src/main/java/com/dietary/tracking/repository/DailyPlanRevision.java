@@ -0,0 +1,23 @@
+package com.dietary.tracking.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * What a client's daily plan for one day is built from: the active plan's
+ * version, and the day's meal tracking and summary (water and calorie totals).
+ * Tracking rows are never deleted, so their count and latest update change
+ * with every meal logged or re-logged.
+ */
+public interface DailyPlanRevision {
+
+    UUID getPlanId();
+
+    Instant getPlanUpdatedAt();
+
+    Long getTrackedMeals();
+
+    Instant getTrackingUpdatedAt();
+
+    Instant getSummaryUpdatedAt();
+}
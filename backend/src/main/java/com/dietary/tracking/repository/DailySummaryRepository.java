@@ -0,0 +1,114 @@
+package com.dietary.tracking.repository;
+
+import com.dietary.tracking.domain.DailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DailySummaryRepository extends JpaRepository<DailySummary, UUID> {
+
+    /**
+     * Adds the given deltas to the client's summary for the day, creating the
+     * row if needed, and returns the new water total. The upsert is a single
+     * atomic statement, so concurrent writes for the same day cannot lose updates.
+     */
+    @Query(value = """
+            INSERT INTO daily_summaries (id, client_id, summary_date, meals_completed, calories_consumed, water_ml, updated_at)
+            VALUES (gen_random_uuid(), :clientId, :date, :mealsDelta, :caloriesDelta, :waterDelta, now())
+            ON CONFLICT (client_id, summary_date) DO UPDATE SET
+                meals_completed = daily_summaries.meals_completed + EXCLUDED.meals_completed,
+                calories_consumed = daily_summaries.calories_consumed + EXCLUDED.calories_consumed,
+                water_ml = daily_summaries.water_ml + EXCLUDED.water_ml,
+                updated_at = now()
+            RETURNING water_ml
+            """, nativeQuery = true)
+    int addToSummary(UUID clientId, LocalDate date, int mealsDelta, int caloriesDelta, int waterDelta);
+
+    /**
+     * Sets the day's weight and BMI from the latest measurement with a weight
+     * taken that day.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_summaries (id, client_id, summary_date, meals_completed, calories_consumed, water_ml,
+                                         weight_kg, bmi, updated_at)
+            SELECT gen_random_uuid(), :clientId, :date, 0, 0, 0, latest.weight_kg, latest.bmi, now()
+            FROM (SELECT m.weight_kg, m.bmi FROM measurements m
+                  WHERE m.client_id = :clientId AND m.measurement_date = :date AND m.weight_kg IS NOT NULL
+                  ORDER BY m.created_at DESC LIMIT 1) latest
+            ON CONFLICT (client_id, summary_date) DO UPDATE SET
+                weight_kg = EXCLUDED.weight_kg,
+                bmi = EXCLUDED.bmi,
+                updated_at = now()
+            """, nativeQuery = true)
+    int refreshWeight(UUID clientId, LocalDate date);
+
+    @Query("SELECT s FROM DailySummary s WHERE s.client.id = :clientId AND s.summaryDate = :date")
+    Optional<DailySummary> findByClientIdAndDate(UUID clientId, LocalDate date);
+
+    @Query("SELECT s FROM DailySummary s WHERE s.client.id = :clientId AND s.summaryDate BETWEEN :fromDate AND :toDate ORDER BY s.summaryDate")
+    List<DailySummary> findByClientIdAndDateRange(UUID clientId, LocalDate fromDate, LocalDate toDate);
+
+    // Dashboard: one row per client of the dietitian, for all clients at once
+
+    @Query("""
+            SELECT s.client.id AS clientId,
+                   SUM(s.mealsCompleted) AS mealsCompleted,
+                   SUM(CASE WHEN s.mealsCompleted > 0 THEN 1 ELSE 0 END) AS daysTracked,
+                   SUM(CASE WHEN s.summaryDate = :toDate THEN s.mealsCompleted ELSE 0 END) AS mealsCompletedOnLastDay,
+                   SUM(CASE WHEN s.summaryDate = :toDate THEN s.waterMl ELSE 0 END) AS waterMlOnLastDay
+            FROM DailySummary s
+            WHERE s.client.dietitian.id = :dietitianId AND s.client.deletedAt IS NULL
+              AND s.summaryDate BETWEEN :fromDate AND :toDate
+            GROUP BY s.client.id
+            """)
+    List<ClientActivity> findActivityByDietitianId(UUID dietitianId, LocalDate fromDate, LocalDate toDate);
+
+    // Per client, walks the (client_id, summary_date) index back from asOf to the first day with a weight
+    @Query(value = """
+            SELECT c.id AS "clientId", w.summary_date AS "date", w.weight_kg AS "weightKg"
+            FROM clients c
+            CROSS JOIN LATERAL (
+                SELECT summary_date, weight_kg FROM daily_summaries
+                WHERE client_id = c.id AND weight_kg IS NOT NULL AND summary_date <= :asOf
+                ORDER BY summary_date DESC
+                LIMIT 1) w
+            WHERE c.dietitian_id = :dietitianId AND c.deleted_at IS NULL
+            """, nativeQuery = true)
+    List<ClientWeighIn> findLastWeighInsByDietitianId(UUID dietitianId, LocalDate asOf);
+
+    // Rebuild from the raw tracking and measurement tables
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_summaries WHERE client_id = :clientId", nativeQuery = true)
+    int deleteByClientId(UUID clientId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_summaries (id, client_id, summary_date, meals_completed, calories_consumed, water_ml,
+                                         weight_kg, bmi, updated_at)
+            SELECT gen_random_uuid(), :clientId, d.day, COALESCE(t.meals, 0), COALESCE(t.calories, 0),
+                   COALESCE(w.water, 0), m.weight_kg, m.bmi, now()
+            FROM (SELECT tracking_date AS day FROM daily_tracking WHERE client_id = :clientId AND is_completed
+                  UNION SELECT tracking_date FROM water_tracking WHERE client_id = :clientId
+                  UNION SELECT measurement_date FROM measurements WHERE client_id = :clientId AND weight_kg IS NOT NULL) d
+            LEFT JOIN (SELECT dt.tracking_date, COUNT(*) AS meals, SUM(COALESCE(mo.total_calories, 0)) AS calories
+                       FROM daily_tracking dt JOIN meal_options mo ON mo.id = dt.selected_option_id
+                       WHERE dt.client_id = :clientId AND dt.is_completed
+                       GROUP BY dt.tracking_date) t ON t.tracking_date = d.day
+            LEFT JOIN (SELECT tracking_date, SUM(amount_ml) AS water
+                       FROM water_tracking WHERE client_id = :clientId
+                       GROUP BY tracking_date) w ON w.tracking_date = d.day
+            LEFT JOIN (SELECT DISTINCT ON (measurement_date) measurement_date, weight_kg, bmi
+                       FROM measurements WHERE client_id = :clientId AND weight_kg IS NOT NULL
+                       ORDER BY measurement_date, created_at DESC) m ON m.measurement_date = d.day
+            """, nativeQuery = true)
+    int insertFromLogs(UUID clientId);
+}
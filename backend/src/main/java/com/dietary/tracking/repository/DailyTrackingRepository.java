@@ -1,14 +1,17 @@
 package com.dietary.tracking.repository;
 
+import com.dietary.export.repository.ExportStream;
 import com.dietary.tracking.domain.DailyTracking;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface DailyTrackingRepository extends JpaRepository<DailyTracking, UUID> {
@@ -16,6 +19,23 @@ public interface DailyTrackingRepository extends JpaRepository<DailyTracking, UU
     @Query("SELECT dt FROM DailyTracking dt WHERE dt.client.id = :clientId AND dt.trackingDate = :date")
     List<DailyTracking> findByClientIdAndDate(UUID clientId, LocalDate date);
 
+    // Validators of the daily plan in one row, without loading the plan or the day's tracking
+    @Query("""
+            SELECT mp.id AS planId, mp.updatedAt AS planUpdatedAt,
+                   (SELECT COUNT(dt) FROM DailyTracking dt
+                    WHERE dt.client.id = :clientId AND dt.trackingDate = :date) AS trackedMeals,
+                   (SELECT MAX(dt.updatedAt) FROM DailyTracking dt
+                    WHERE dt.client.id = :clientId AND dt.trackingDate = :date) AS trackingUpdatedAt,
+                   (SELECT s.updatedAt FROM DailySummary s
+                    WHERE s.client.id = :clientId AND s.summaryDate = :date) AS summaryUpdatedAt
+            FROM MealPlan mp
+            WHERE mp.client.id = :clientId AND mp.isActive = true
+            """)
+    Optional<DailyPlanRevision> findDailyPlanRevision(UUID clientId, LocalDate date);
+
+    @Query("SELECT dt FROM DailyTracking dt WHERE dt.client.id = :clientId AND dt.trackingDate IN :dates")
+    List<DailyTracking> findByClientIdAndDateIn(UUID clientId, Collection<LocalDate> dates);
+
     @Query("SELECT dt FROM DailyTracking dt WHERE dt.client.id = :clientId AND dt.trackingDate = :date AND dt.meal.id = :mealId")
     Optional<DailyTracking> findByClientIdAndDateAndMealId(UUID clientId, LocalDate date, UUID mealId);
 
@@ -24,4 +44,9 @@ public interface DailyTrackingRepository extends JpaRepository<DailyTracking, UU
 
     @Query("SELECT COUNT(dt) FROM DailyTracking dt WHERE dt.client.id = :clientId AND dt.isCompleted = true AND dt.trackingDate BETWEEN :fromDate AND :toDate")
     long countCompletedByClientIdAndDateRange(UUID clientId, LocalDate fromDate, LocalDate toDate);
+
+    @ExportStream
+    @Query("SELECT dt FROM DailyTracking dt JOIN FETCH dt.meal m JOIN FETCH dt.selectedOption " +
+            "WHERE dt.client.id = :clientId ORDER BY dt.trackingDate, m.displayOrder, dt.id")
+    Stream<DailyTracking> streamAllByClientId(UUID clientId);
 }
@@ -0,0 +1,38 @@
+package com.dietary.tracking.repository;
+
+import com.dietary.tracking.domain.ProcessedSyncEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProcessedSyncEventRepository extends JpaRepository<ProcessedSyncEvent, UUID> {
+
+    /**
+     * Records the keys as processed, with the event type at the same index,
+     * and returns those that were not recorded before. A key another
+     * transaction is recording waits for it, so concurrent replays of a batch
+     * each get a disjoint share of its keys instead of a unique violation.
+     */
+    @Query(value = """
+            INSERT INTO processed_sync_events (id, client_id, idempotency_key, event_type, processed_at)
+            SELECT gen_random_uuid(), :clientId, e.idempotency_key, e.event_type, now()
+            FROM unnest(CAST(:keys AS varchar[]), CAST(:eventTypes AS varchar[])) AS e(idempotency_key, event_type)
+            ON CONFLICT (client_id, idempotency_key) DO NOTHING
+            RETURNING idempotency_key
+            """, nativeQuery = true)
+    List<String> claimKeys(UUID clientId, String[] keys, String[] eventTypes);
+
+    /**
+     * Forgets keys claimed for events that were then rejected, so a corrected
+     * replay can still be applied.
+     */
+    @Modifying
+    @Query("DELETE FROM ProcessedSyncEvent p WHERE p.client.id = :clientId AND p.idempotencyKey IN :keys")
+    int releaseKeys(UUID clientId, Collection<String> keys);
+}
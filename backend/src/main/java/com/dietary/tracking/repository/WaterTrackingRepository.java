@@ -1,5 +1,6 @@
 package com.dietary.tracking.repository;
 
+import com.dietary.export.repository.ExportStream;
 import com.dietary.tracking.domain.WaterTracking;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +9,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface WaterTrackingRepository extends JpaRepository<WaterTracking, UUID> {
@@ -20,4 +22,8 @@ public interface WaterTrackingRepository extends JpaRepository<WaterTracking, UU
 
     @Query("SELECT COALESCE(SUM(wt.amountMl), 0) FROM WaterTracking wt WHERE wt.client.id = :clientId AND wt.trackingDate BETWEEN :fromDate AND :toDate")
     int sumByClientIdAndDateRange(UUID clientId, LocalDate fromDate, LocalDate toDate);
+
+    @ExportStream
+    @Query("SELECT wt FROM WaterTracking wt WHERE wt.client.id = :clientId ORDER BY wt.trackingDate, wt.loggedAt, wt.id")
+    Stream<WaterTracking> streamAllByClientId(UUID clientId);
 }
@@ -0,0 +1,92 @@
+package com.dietary.tracking.service;
+
+import com.dietary.client.repository.ClientRepository;
+import com.dietary.tracking.domain.DailySummary;
+import com.dietary.tracking.repository.DailySummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maintains the per-client daily rollups. Every write to the tracking or
+ * measurement logs applies its delta here in the same transaction; the
+ * rebuild methods recompute rollups from the logs when they may have drifted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailySummaryService {
+
+    private final DailySummaryRepository dailySummaryRepository;
+    private final ClientRepository clientRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Adds a logged amount of water to the day and returns the day's new total.
+     */
+    @Transactional
+    public int addWater(UUID clientId, LocalDate date, int amountMl) {
+        return dailySummaryRepository.addToSummary(clientId, date, 0, 0, amountMl);
+    }
+
+    @Transactional
+    public void addMeals(UUID clientId, LocalDate date, int mealsDelta, int caloriesDelta) {
+        if (mealsDelta != 0 || caloriesDelta != 0) {
+            dailySummaryRepository.addToSummary(clientId, date, mealsDelta, caloriesDelta, 0);
+        }
+    }
+
+    @Transactional
+    public void apply(UUID clientId, LocalDate date, int mealsDelta, int caloriesDelta, int waterDelta) {
+        dailySummaryRepository.addToSummary(clientId, date, mealsDelta, caloriesDelta, waterDelta);
+    }
+
+    /**
+     * Re-reads the day's weight after a measurement was written. The measurement
+     * must already be persisted in the current transaction.
+     */
+    @Transactional
+    public void refreshWeight(UUID clientId, LocalDate date) {
+        dailySummaryRepository.refreshWeight(clientId, date);
+    }
+
+    /**
+     * The day's totals, or empty if nothing was logged that day.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DailySummary> getSummary(UUID clientId, LocalDate date) {
+        return dailySummaryRepository.findByClientIdAndDate(clientId, date);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailySummary> getSummaries(UUID clientId, LocalDate fromDate, LocalDate toDate) {
+        return dailySummaryRepository.findByClientIdAndDateRange(clientId, fromDate, toDate);
+    }
+
+    @Transactional
+    public void rebuild(UUID clientId) {
+        dailySummaryRepository.deleteByClientId(clientId);
+        int days = dailySummaryRepository.insertFromLogs(clientId);
+        log.debug("Rebuilt {} daily summaries for client '{}'", days, clientId);
+    }
+
+    /**
+     * Rebuilds the rollups of every client, one transaction per client.
+     */
+    public void rebuildAll() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<UUID> clientIds = clientRepository.findAllIds();
+        for (UUID clientId : clientIds) {
+            transactionTemplate.executeWithoutResult(status -> rebuild(clientId));
+        }
+        log.info("Rebuilt daily summaries for {} clients", clientIds.size());
+    }
+}
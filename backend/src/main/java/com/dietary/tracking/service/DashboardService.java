@@ -0,0 +1,89 @@
+package com.dietary.tracking.service;
+
+import com.dietary.client.controller.dto.ClientSummaryDTO;
+import com.dietary.client.repository.ClientRepository;
+import com.dietary.mealplan.repository.MealPlanRepository;
+import com.dietary.mealplan.repository.PlannedMealCount;
+import com.dietary.tracking.controller.dto.DashboardDTO;
+import com.dietary.tracking.repository.ClientActivity;
+import com.dietary.tracking.repository.ClientWeighIn;
+import com.dietary.tracking.repository.DailySummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Status of all of a dietitian's clients on one screen. Built from four
+ * set-based queries (clients, daily summary totals, last weigh-ins and
+ * active plan sizes) whatever the number of clients.
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardService {
+
+    private static final int COMPLIANCE_DAYS = 7;
+    // Assumed without an active plan, as in progress reports
+    private static final int DEFAULT_MEALS_PER_DAY = 3;
+
+    private final ClientRepository clientRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final MealPlanRepository mealPlanRepository;
+
+    @Transactional(readOnly = true)
+    public DashboardDTO getDashboard(UUID dietitianId, LocalDate date, Boolean active) {
+        LocalDate fromDate = date.minusDays(COMPLIANCE_DAYS - 1);
+
+        List<ClientSummaryDTO> clients = clientRepository.findAllSummaries(dietitianId, active, null);
+        Map<UUID, ClientActivity> activity = dailySummaryRepository
+                .findActivityByDietitianId(dietitianId, fromDate, date).stream()
+                .collect(Collectors.toMap(ClientActivity::getClientId, Function.identity()));
+        Map<UUID, ClientWeighIn> weighIns = dailySummaryRepository
+                .findLastWeighInsByDietitianId(dietitianId, date).stream()
+                .collect(Collectors.toMap(ClientWeighIn::getClientId, Function.identity()));
+        Map<UUID, Integer> plannedMeals = mealPlanRepository.findActiveMealCountsByDietitianId(dietitianId).stream()
+                .collect(Collectors.toMap(PlannedMealCount::getClientId, count -> count.getMeals().intValue()));
+
+        List<DashboardDTO.ClientStatus> statuses = new ArrayList<>(clients.size());
+        for (ClientSummaryDTO client : clients) {
+            ClientActivity totals = activity.get(client.getId());
+            ClientWeighIn weighIn = weighIns.get(client.getId());
+            Integer mealsPlanned = plannedMeals.get(client.getId());
+
+            int mealsPerDay = mealsPlanned != null ? mealsPlanned : DEFAULT_MEALS_PER_DAY;
+            int mealsExpected = mealsPerDay * COMPLIANCE_DAYS;
+            int mealsCompleted = totals != null ? totals.getMealsCompleted().intValue() : 0;
+
+            statuses.add(DashboardDTO.ClientStatus.builder()
+                    .clientId(client.getId())
+                    .fullName(client.getFullName())
+                    .active(client.getActive())
+                    .hasActivePlan(mealsPlanned != null)
+                    .mealsPlanned(mealsPlanned)
+                    .mealsCompleted(totals != null ? totals.getMealsCompletedOnLastDay().intValue() : 0)
+                    .waterMl(totals != null ? totals.getWaterMlOnLastDay().intValue() : 0)
+                    .lastWeighInDate(weighIn != null ? weighIn.getDate() : null)
+                    .lastWeightKg(weighIn != null ? weighIn.getWeightKg() : null)
+                    .daysTracked(totals != null ? totals.getDaysTracked().intValue() : 0)
+                    .periodMealsExpected(mealsExpected)
+                    .periodMealsCompleted(mealsCompleted)
+                    .mealCompliancePercentage(mealsExpected > 0
+                            ? ((double) mealsCompleted / mealsExpected) * 100
+                            : 0)
+                    .build());
+        }
+
+        return DashboardDTO.builder()
+                .date(date)
+                .complianceDays(COMPLIANCE_DAYS)
+                .clients(statuses)
+                .build();
+    }
+}
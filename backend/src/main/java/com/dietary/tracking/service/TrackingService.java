@@ -4,18 +4,23 @@ import com.dietary.client.domain.Client;
 import com.dietary.client.repository.ClientRepository;
 import com.dietary.common.exception.BadRequestException;
 import com.dietary.common.exception.ResourceNotFoundException;
-import com.dietary.mealplan.controller.dto.MealOptionDTO;
+import com.dietary.common.web.ResourceVersion;
+import com.dietary.common.web.Versioned;
 import com.dietary.mealplan.domain.Meal;
 import com.dietary.mealplan.domain.MealOption;
 import com.dietary.mealplan.domain.MealPlan;
 import com.dietary.mealplan.repository.MealPlanRepository;
+import com.dietary.mealplan.service.ActivePlanSnapshot;
+import com.dietary.mealplan.service.ActivePlanSnapshotCache;
 import com.dietary.measurement.domain.Measurement;
 import com.dietary.measurement.repository.MeasurementRepository;
 import com.dietary.tracking.controller.dto.*;
+import com.dietary.tracking.domain.DailySummary;
 import com.dietary.tracking.domain.DailyTracking;
 import com.dietary.tracking.domain.WaterTracking;
 import com.dietary.tracking.repository.DailyTrackingRepository;
 import com.dietary.tracking.repository.WaterTrackingRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -31,6 +36,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Timed("dietary.service")
 @RequiredArgsConstructor
 public class TrackingService {
 
@@ -39,34 +45,50 @@ public class TrackingService {
     private final MealPlanRepository mealPlanRepository;
     private final MeasurementRepository measurementRepository;
     private final ClientRepository clientRepository;
+    private final ActivePlanSnapshotCache activePlanSnapshotCache;
+    private final DailySummaryService dailySummaryService;
 
+    /**
+     * Validators of {@link #getDailyPlan}'s response, from one projection query.
+     * Empty when the client has no active plan.
+     */
     @Transactional(readOnly = true)
-    public DailyPlanDTO getDailyPlan(UUID clientId, LocalDate date) {
-        MealPlan activePlan = mealPlanRepository.findActiveByClientId(clientId)
+    public Optional<ResourceVersion> getDailyPlanVersion(UUID clientId, LocalDate date) {
+        return dailyTrackingRepository.findDailyPlanRevision(clientId, date)
+                .map(revision -> dailyPlanVersion(revision.getPlanId(), revision.getPlanUpdatedAt(), date,
+                        revision.getTrackedMeals(), revision.getTrackingUpdatedAt(), revision.getSummaryUpdatedAt()));
+    }
+
+    /**
+     * The day's plan with its tracking overlay, and its validators taken from
+     * the snapshot and rows it was built from.
+     */
+    @Transactional(readOnly = true)
+    public Versioned<DailyPlanDTO> getDailyPlan(UUID clientId, LocalDate date) {
+        ActivePlanSnapshot activePlan = activePlanSnapshotCache.getActivePlan(clientId)
                 .orElseThrow(
                         () -> new ResourceNotFoundException("No active meal plan for client", "clientId", clientId));
 
+        // Only the day's tracking overlay is read per request; meal and option ids come from the proxies
         List<DailyTracking> trackings = dailyTrackingRepository.findByClientIdAndDate(clientId, date);
         Map<UUID, DailyTracking> trackingByMealId = trackings.stream()
                 .collect(Collectors.toMap(t -> t.getMeal().getId(), t -> t, (a, b) -> a));
 
-        int totalWater = waterTrackingRepository.sumByClientIdAndDate(clientId, date);
+        Optional<DailySummary> summary = dailySummaryService.getSummary(clientId, date);
+        int totalWater = summary.map(DailySummary::getWaterMl).orElse(0);
 
-        List<DailyMealDTO> mealDTOs = activePlan.getMeals().stream()
-                .sorted(Comparator.comparing(Meal::getDisplayOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+        List<DailyMealDTO> mealDTOs = activePlan.meals().stream()
                 .map(meal -> {
-                    DailyTracking tracking = trackingByMealId.get(meal.getId());
+                    DailyTracking tracking = trackingByMealId.get(meal.mealId());
                     return DailyMealDTO.builder()
-                            .mealId(meal.getId())
-                            .mealType(meal.getMealType())
-                            .name(meal.getName())
-                            .displayOrder(meal.getDisplayOrder())
+                            .mealId(meal.mealId())
+                            .mealType(meal.mealType())
+                            .name(meal.name())
+                            .displayOrder(meal.displayOrder())
                             .isCompleted(tracking != null && tracking.getIsCompleted())
                             .selectedOptionId(tracking != null ? tracking.getSelectedOption().getId() : null)
                             .completedAt(tracking != null ? tracking.getCompletedAt() : null)
-                            .options(meal.getOptions().stream()
-                                    .map(MealOptionDTO::fromEntity)
-                                    .collect(Collectors.toList()))
+                            .options(meal.options())
                             .build();
                 })
                 .collect(Collectors.toList());
@@ -74,22 +96,34 @@ public class TrackingService {
         int mealsCompleted = (int) mealDTOs.stream().filter(DailyMealDTO::getIsCompleted).count();
         int caloriesConsumed = trackings.stream()
                 .filter(DailyTracking::getIsCompleted)
-                .mapToInt(
-                        t -> t.getSelectedOption().getTotalCalories() != null ? t.getSelectedOption().getTotalCalories()
-                                : 0)
+                .mapToInt(t -> optionCalories(activePlan, t.getSelectedOption()))
                 .sum();
 
-        return DailyPlanDTO.builder()
+        DailyPlanDTO plan = DailyPlanDTO.builder()
                 .date(date)
-                .mealPlanId(activePlan.getId())
-                .mealPlanName(activePlan.getName())
-                .dailyCalorieTarget(activePlan.getDailyCalories())
+                .mealPlanId(activePlan.planId())
+                .mealPlanName(activePlan.name())
+                .dailyCalorieTarget(activePlan.dailyCalories())
                 .meals(mealDTOs)
                 .totalWaterMl(totalWater)
                 .caloriesConsumed(caloriesConsumed)
                 .mealsCompleted(mealsCompleted)
                 .totalMeals(mealDTOs.size())
                 .build();
+        ResourceVersion version = dailyPlanVersion(activePlan.planId(), activePlan.updatedAt(), date,
+                (long) trackings.size(),
+                trackings.stream().map(DailyTracking::getUpdatedAt).max(Comparator.naturalOrder()).orElse(null),
+                summary.map(DailySummary::getUpdatedAt).orElse(null));
+        return new Versioned<>(plan, version);
+    }
+
+    /**
+     * The ETag of a daily plan, from the columns {@link com.dietary.tracking.repository.DailyPlanRevision}
+     * lists; the built plan and its revision must agree on it.
+     */
+    private static ResourceVersion dailyPlanVersion(UUID planId, Instant planUpdatedAt, LocalDate date,
+            Long trackedMeals, Instant trackingUpdatedAt, Instant summaryUpdatedAt) {
+        return ResourceVersion.of(planId, planUpdatedAt, date, trackedMeals, trackingUpdatedAt, summaryUpdatedAt);
     }
 
     @Transactional
@@ -121,11 +155,15 @@ public class TrackingService {
                         .meal(meal)
                         .build());
 
+        boolean wasCompleted = Boolean.TRUE.equals(tracking.getIsCompleted());
+        int previousCalories = wasCompleted ? caloriesOf(tracking.getSelectedOption()) : 0;
+
         tracking.setSelectedOption(selectedOption);
         tracking.setNotes(request.getNotes());
         tracking.markCompleted();
 
         tracking = dailyTrackingRepository.save(tracking);
+        dailySummaryService.addMeals(clientId, date, wasCompleted ? 0 : 1, caloriesOf(selectedOption) - previousCalories);
         log.info("Client '{}' tracked meal '{}' with option '{}'",
                 client.getFullName(), meal.getName(), selectedOption.getName());
 
@@ -155,9 +193,10 @@ public class TrackingService {
                 .build();
 
         waterTrackingRepository.save(tracking);
+        int dailyTotal = dailySummaryService.addWater(clientId, date, request.getAmountMl());
         log.info("Client '{}' tracked {} ml of water", client.getFullName(), request.getAmountMl());
 
-        return waterTrackingRepository.sumByClientIdAndDate(clientId, date);
+        return dailyTotal;
     }
 
     @Transactional(readOnly = true)
@@ -166,52 +205,53 @@ public class TrackingService {
         clientRepository.findByIdAndDietitianId(clientId, dietitianId)
                 .orElseThrow(() -> new ResourceNotFoundException("Client", "id", clientId));
 
-        List<Measurement> measurements = measurementRepository.findAllByClientIdOrderByDateDesc(clientId);
-        List<DailyTracking> trackings = dailyTrackingRepository.findByClientIdAndDateRange(clientId, fromDate, toDate);
-        int totalWater = waterTrackingRepository.sumByClientIdAndDateRange(clientId, fromDate, toDate);
+        List<DailySummary> summaries = dailySummaryService.getSummaries(clientId, fromDate, toDate);
 
         long totalDays = ChronoUnit.DAYS.between(fromDate, toDate) + 1;
-        long daysTracked = trackings.stream()
-                .map(DailyTracking::getTrackingDate)
-                .distinct()
-                .count();
+        long daysTracked = 0;
+        int mealsCompleted = 0;
+        int totalCalories = 0;
+        int totalWater = 0;
 
-        // Calculate weight trend
+        // Calculate weight trend; summaries are in date order
         BigDecimal startWeight = null;
-        BigDecimal currentWeight = null;
         List<ProgressDTO.WeightEntry> weightHistory = new ArrayList<>();
 
-        for (Measurement m : measurements) {
-            if (m.getMeasurementDate().isAfter(fromDate.minusDays(1)) &&
-                    m.getMeasurementDate().isBefore(toDate.plusDays(1))) {
+        for (DailySummary summary : summaries) {
+            if (summary.getMealsCompleted() > 0) {
+                daysTracked++;
+            }
+            mealsCompleted += summary.getMealsCompleted();
+            totalCalories += summary.getCaloriesConsumed();
+            totalWater += summary.getWaterMl();
+
+            if (summary.getWeightKg() != null) {
+                if (startWeight == null) {
+                    startWeight = summary.getWeightKg();
+                }
                 weightHistory.add(ProgressDTO.WeightEntry.builder()
-                        .date(m.getMeasurementDate())
-                        .weightKg(m.getWeightKg())
-                        .bmi(m.getBmi())
+                        .date(summary.getSummaryDate())
+                        .weightKg(summary.getWeightKg())
+                        .bmi(summary.getBmi())
                         .build());
             }
-            if (startWeight == null || m.getMeasurementDate().isAfter(fromDate.minusDays(1))) {
-                startWeight = m.getWeightKg();
-            }
         }
-
-        if (!measurements.isEmpty()) {
-            currentWeight = measurements.get(0).getWeightKg();
+        // Most recent first, as before
+        Collections.reverse(weightHistory);
+
+        BigDecimal currentWeight = measurementRepository.findLatestByClientId(clientId)
+                .map(Measurement::getWeightKg)
+                .orElse(null);
+        if (startWeight == null) {
+            startWeight = currentWeight;
         }
 
         // Meal compliance
-        MealPlan activePlan = mealPlanRepository.findActiveByClientId(clientId).orElse(null);
+        MealPlan activePlan = mealPlanRepository.findActiveWithMealsByClientId(clientId).orElse(null);
         int mealsPerDay = activePlan != null ? activePlan.getMeals().size() : 3;
         int totalMealsExpected = (int) totalDays * mealsPerDay;
-        long mealsCompleted = trackings.stream().filter(DailyTracking::getIsCompleted).count();
 
         // Averages
-        int totalCalories = trackings.stream()
-                .filter(DailyTracking::getIsCompleted)
-                .mapToInt(
-                        t -> t.getSelectedOption().getTotalCalories() != null ? t.getSelectedOption().getTotalCalories()
-                                : 0)
-                .sum();
         int avgCalories = daysTracked > 0 ? (int) (totalCalories / daysTracked) : 0;
         int avgWater = daysTracked > 0 ? (int) (totalWater / daysTracked) : 0;
 
@@ -230,7 +270,7 @@ public class TrackingService {
                         ? ((double) daysTracked / totalDays) * 100
                         : 0)
                 .totalMealsExpected(totalMealsExpected)
-                .mealsCompleted((int) mealsCompleted)
+                .mealsCompleted(mealsCompleted)
                 .mealCompliancePercentage(totalMealsExpected > 0
                         ? ((double) mealsCompleted / totalMealsExpected) * 100
                         : 0)
@@ -238,4 +278,17 @@ public class TrackingService {
                 .avgDailyWaterMl(avgWater)
                 .build();
     }
+
+    private int optionCalories(ActivePlanSnapshot activePlan, MealOption option) {
+        Integer calories = activePlan.optionCalories().get(option.getId());
+        if (calories != null) {
+            return calories;
+        }
+        // Option is no longer part of the active plan; fall back to the entity
+        return caloriesOf(option);
+    }
+
+    private static int caloriesOf(MealOption option) {
+        return option.getTotalCalories() != null ? option.getTotalCalories() : 0;
+    }
 }
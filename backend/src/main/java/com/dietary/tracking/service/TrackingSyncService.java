@@ -0,0 +1,248 @@
+package com.dietary.tracking.service;
+
+import com.dietary.client.domain.Client;
+import com.dietary.client.repository.ClientRepository;
+import com.dietary.common.exception.ResourceNotFoundException;
+import com.dietary.mealplan.domain.Meal;
+import com.dietary.mealplan.domain.MealOption;
+import com.dietary.mealplan.repository.MealPlanRepository;
+import com.dietary.tracking.controller.dto.SyncEventRequest;
+import com.dietary.tracking.controller.dto.SyncRequest;
+import com.dietary.tracking.controller.dto.SyncResultDTO;
+import com.dietary.tracking.domain.*;
+import com.dietary.tracking.repository.DailyTrackingRepository;
+import com.dietary.tracking.repository.ProcessedSyncEventRepository;
+import com.dietary.tracking.repository.WaterTrackingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Applies batches of tracking events recorded offline by the mobile app.
+ * The client, active plan and existing trackings are each loaded once per
+ * batch, and all inserts go out as JDBC batches in a single transaction.
+ * Daily summaries are updated once per affected date.
+ * <p>
+ * Idempotency keys are claimed in one insert before any event is applied; an
+ * event whose key was already claimed, by an earlier sync or by a concurrent
+ * replay of the same batch, is a duplicate.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrackingSyncService {
+
+    private final ClientRepository clientRepository;
+    private final MealPlanRepository mealPlanRepository;
+    private final DailyTrackingRepository dailyTrackingRepository;
+    private final WaterTrackingRepository waterTrackingRepository;
+    private final ProcessedSyncEventRepository processedSyncEventRepository;
+    private final DailySummaryService dailySummaryService;
+
+    @Transactional
+    public SyncResultDTO sync(UUID clientId, SyncRequest request) {
+        Client client = clientRepository.findById(clientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Client", "id", clientId));
+
+        List<SyncEventRequest> events = request.getEvents();
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.now();
+
+        Set<String> claimedKeys = claimKeys(clientId, events);
+        Set<String> appliedKeys = new HashSet<>();
+
+        SyncBatch batch = new SyncBatch(client, now, today);
+        if (events.stream().anyMatch(e -> e.getType() == SyncEventType.MEAL)) {
+            loadMealContext(batch, events);
+        }
+
+        List<SyncResultDTO.EventResult> results = new ArrayList<>(events.size());
+        int applied = 0;
+        int duplicates = 0;
+        for (SyncEventRequest event : events) {
+            String key = event.getIdempotencyKey();
+            if (!claimedKeys.contains(key) || appliedKeys.contains(key)) {
+                duplicates++;
+                results.add(result(key, SyncEventStatus.DUPLICATE, null));
+                continue;
+            }
+
+            String rejection = event.getType() == SyncEventType.MEAL
+                    ? applyMeal(batch, event)
+                    : applyWater(batch, event);
+            if (rejection != null) {
+                results.add(result(key, SyncEventStatus.REJECTED, rejection));
+                continue;
+            }
+
+            appliedKeys.add(key);
+            applied++;
+            results.add(result(key, SyncEventStatus.APPLIED, null));
+        }
+
+        dailyTrackingRepository.saveAll(batch.newTrackings);
+        waterTrackingRepository.saveAll(batch.waterLogs);
+        claimedKeys.removeAll(appliedKeys);
+        if (!claimedKeys.isEmpty()) {
+            processedSyncEventRepository.releaseKeys(clientId, claimedKeys);
+        }
+        batch.deltas.forEach((date, delta) ->
+                dailySummaryService.apply(clientId, date, delta.meals, delta.calories, delta.waterMl));
+
+        int rejected = events.size() - applied - duplicates;
+        log.info("Synced {} tracking events for client '{}': {} applied, {} duplicate, {} rejected",
+                events.size(), client.getFullName(), applied, duplicates, rejected);
+
+        return SyncResultDTO.builder()
+                .applied(applied)
+                .duplicates(duplicates)
+                .rejected(rejected)
+                .results(results)
+                .build();
+    }
+
+    /** Claims the batch's keys and returns those not processed before. */
+    private Set<String> claimKeys(UUID clientId, List<SyncEventRequest> events) {
+        // A key's first event names its type; later events with the same key are duplicates. Sorted, so
+        // batches sharing keys claim them in the same order and wait for each other instead of deadlocking
+        Map<String, SyncEventType> types = new TreeMap<>();
+        for (SyncEventRequest event : events) {
+            types.putIfAbsent(event.getIdempotencyKey(), event.getType());
+        }
+        String[] keys = types.keySet().toArray(String[]::new);
+        String[] eventTypes = types.values().stream().map(SyncEventType::name).toArray(String[]::new);
+        return new HashSet<>(processedSyncEventRepository.claimKeys(clientId, keys, eventTypes));
+    }
+
+    private void loadMealContext(SyncBatch batch, List<SyncEventRequest> events) {
+        UUID clientId = batch.client.getId();
+        mealPlanRepository.findActiveWithMealsByClientId(clientId).ifPresent(plan -> {
+            mealPlanRepository.fetchOptions(plan.getMeals());
+            for (Meal meal : plan.getMeals()) {
+                batch.mealsById.put(meal.getId(), meal);
+                for (MealOption option : meal.getOptions()) {
+                    batch.optionsById.put(option.getId(), option);
+                }
+            }
+        });
+
+        Set<LocalDate> dates = events.stream()
+                .filter(e -> e.getType() == SyncEventType.MEAL)
+                .map(batch::dateOf)
+                .collect(Collectors.toSet());
+        for (DailyTracking tracking : dailyTrackingRepository.findByClientIdAndDateIn(clientId, dates)) {
+            batch.trackings.put(new TrackingKey(tracking.getTrackingDate(), tracking.getMeal().getId()), tracking);
+        }
+    }
+
+    private String applyMeal(SyncBatch batch, SyncEventRequest event) {
+        if (event.getMealId() == null || event.getSelectedOptionId() == null) {
+            return "Meal ID and selected option ID are required";
+        }
+        if (batch.mealsById.isEmpty()) {
+            return "No active meal plan for client";
+        }
+        Meal meal = batch.mealsById.get(event.getMealId());
+        if (meal == null) {
+            return "Meal not found in the active plan";
+        }
+        MealOption option = batch.optionsById.get(event.getSelectedOptionId());
+        if (option == null || !option.getMeal().getId().equals(meal.getId())) {
+            return "Option does not belong to the meal";
+        }
+
+        LocalDate date = batch.dateOf(event);
+        DailyTracking tracking = batch.trackings.computeIfAbsent(new TrackingKey(date, meal.getId()), k -> {
+            DailyTracking created = DailyTracking.builder()
+                    .client(batch.client)
+                    .trackingDate(date)
+                    .meal(meal)
+                    .build();
+            batch.newTrackings.add(created);
+            return created;
+        });
+
+        SummaryDelta delta = batch.deltaFor(date);
+        if (Boolean.TRUE.equals(tracking.getIsCompleted())) {
+            delta.calories -= caloriesOf(tracking.getSelectedOption());
+        } else {
+            delta.meals++;
+        }
+        delta.calories += caloriesOf(option);
+
+        tracking.setSelectedOption(option);
+        tracking.setNotes(event.getNotes());
+        tracking.markCompleted(event.getOccurredAt() != null ? event.getOccurredAt() : batch.now);
+        return null;
+    }
+
+    private String applyWater(SyncBatch batch, SyncEventRequest event) {
+        if (event.getAmountMl() == null || event.getAmountMl() <= 0) {
+            return "Amount must be positive";
+        }
+
+        LocalDate date = batch.dateOf(event);
+        batch.waterLogs.add(WaterTracking.builder()
+                .client(batch.client)
+                .trackingDate(date)
+                .amountMl(event.getAmountMl())
+                .loggedAt(event.getOccurredAt() != null ? event.getOccurredAt() : batch.now)
+                .build());
+        batch.deltaFor(date).waterMl += event.getAmountMl();
+        return null;
+    }
+
+    private static SyncResultDTO.EventResult result(String key, SyncEventStatus status, String message) {
+        return SyncResultDTO.EventResult.builder()
+                .idempotencyKey(key)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    private static int caloriesOf(MealOption option) {
+        return option.getTotalCalories() != null ? option.getTotalCalories() : 0;
+    }
+
+    private record TrackingKey(LocalDate date, UUID mealId) {
+    }
+
+    private static final class SummaryDelta {
+        int meals;
+        int calories;
+        int waterMl;
+    }
+
+    /** Lookups and pending writes for one sync request. */
+    private static final class SyncBatch {
+        final Client client;
+        final Instant now;
+        final LocalDate today;
+        final Map<UUID, Meal> mealsById = new HashMap<>();
+        final Map<UUID, MealOption> optionsById = new HashMap<>();
+        final Map<TrackingKey, DailyTracking> trackings = new HashMap<>();
+        final List<DailyTracking> newTrackings = new ArrayList<>();
+        final List<WaterTracking> waterLogs = new ArrayList<>();
+        final Map<LocalDate, SummaryDelta> deltas = new TreeMap<>();
+
+        SyncBatch(Client client, Instant now, LocalDate today) {
+            this.client = client;
+            this.now = now;
+            this.today = today;
+        }
+
+        SummaryDelta deltaFor(LocalDate date) {
+            return deltas.computeIfAbsent(date, d -> new SummaryDelta());
+        }
+
+        LocalDate dateOf(SyncEventRequest event) {
+            return event.getTrackingDate() != null ? event.getTrackingDate() : today;
+        }
+    }
+}
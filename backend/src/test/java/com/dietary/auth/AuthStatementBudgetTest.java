@@ -0,0 +1,80 @@
+package com.dietary.auth;
+
+import com.dietary.auth.domain.ClientInvite;
+import com.dietary.auth.repository.ClientInviteRepository;
+import com.dietary.support.StatementBudgetTest;
+import com.dietary.support.TestData;
+import com.dietary.support.TestData.SeededDietitian;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class AuthStatementBudgetTest extends StatementBudgetTest {
+
+    @Autowired
+    private ClientInviteRepository clientInviteRepository;
+
+    @Test
+    void register() throws Exception {
+        assertStatementBudget(d -> post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of(
+                        "email", "registered-" + UUID.randomUUID() + "@example.com",
+                        "password", TestData.PASSWORD, "fullName", "Registered Dietitian"))));
+    }
+
+    @Test
+    void loginAsDietitian() throws Exception {
+        assertStatementBudget(d -> post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of("email", d.email(), "password", TestData.PASSWORD))));
+    }
+
+    @Test
+    void loginAsClient() throws Exception {
+        assertStatementBudget(d -> post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of("email", d.client().email(), "password", TestData.PASSWORD))));
+    }
+
+    @Test
+    void refreshToken() throws Exception {
+        assertStatementBudget(d -> post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of("refreshToken", freshRefreshToken(d)))));
+    }
+
+    @Test
+    void acceptInvite() throws Exception {
+        assertStatementBudget(d -> post("/api/auth/client/accept-invite")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of("inviteToken", invite(d), "password", TestData.PASSWORD))));
+    }
+
+    private String freshRefreshToken(SeededDietitian dietitian) throws Exception {
+        return testData.post(null, "/api/auth/login", Map.of("email", dietitian.email(), "password", TestData.PASSWORD))
+                .at("/refreshToken").asText();
+    }
+
+    private String invite(SeededDietitian dietitian) throws Exception {
+        String email = "invited-" + UUID.randomUUID() + "@example.com";
+        UUID clientId = UUID.fromString(testData.post(dietitian.token(), "/api/clients", Map.of(
+                "fullName", "Invited Client", "email", email, "birthDate", "1992-02-02",
+                "heightCm", 165, "gender", "FEMALE")).at("/id").asText());
+        String token = UUID.randomUUID().toString();
+        clientInviteRepository.save(ClientInvite.builder()
+                .clientId(clientId)
+                .email(email)
+                .token(token)
+                .expiresAt(Instant.now().plus(Duration.ofDays(7)))
+                .build());
+        return token;
+    }
+}
@@ -0,0 +1,85 @@
+package com.dietary.client;
+
+import com.dietary.support.StatementBudgetTest;
+import com.dietary.support.TestData.SeededDietitian;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+class ClientStatementBudgetTest extends StatementBudgetTest {
+
+    @Test
+    void getAllClients() throws Exception {
+        assertStatementBudget(d -> get("/api/clients")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getClientPage() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/page")
+                .param("limit", "2")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getClientPageFiltered() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/page")
+                .param("query", "client")
+                .param("active", "true")
+                .param("sort", "CREATED")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getClientById() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{id}", d.client().id())
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void createClient() throws Exception {
+        assertStatementBudget(d -> post("/api/clients")
+                .header(AUTHORIZATION, bearer(d.token()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(clientRequest("created-" + UUID.randomUUID() + "@example.com"))));
+    }
+
+    @Test
+    void updateClient() throws Exception {
+        assertStatementBudget(d -> put("/api/clients/{id}", d.client().id())
+                .header(AUTHORIZATION, bearer(d.token()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(clientRequest(d.client().email()))));
+    }
+
+    @Test
+    void toggleClientActive() throws Exception {
+        assertStatementBudget(d -> patch("/api/clients/{id}/toggle-active", d.clients().get(1).id())
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void deleteClient() throws Exception {
+        assertStatementBudget(d -> delete("/api/clients/{id}", spareClient(d))
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    private UUID spareClient(SeededDietitian dietitian) throws Exception {
+        return UUID.fromString(testData.post(dietitian.token(), "/api/clients",
+                clientRequest("spare-" + UUID.randomUUID() + "@example.com")).at("/id").asText());
+    }
+
+    private static Map<String, Object> clientRequest(String email) {
+        return Map.of("fullName", "Budget Client", "email", email, "birthDate", "1990-06-01",
+                "heightCm", 172, "gender", "MALE", "phone", "+15550100");
+    }
+}
@@ -0,0 +1,34 @@
+package com.dietary.common.metrics;
+
+import com.dietary.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every API endpoint declares a statement budget, so a new endpoint cannot
+ * skip the statement count tests by accident.
+ */
+class SqlStatementBudgetCoverageTest extends IntegrationTest {
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void everyApiEndpointDeclaresABudget() {
+        List<String> missing = handlerMapping.getHandlerMethods().entrySet().stream()
+                .filter(entry -> entry.getKey().getPatternValues().stream().anyMatch(path -> path.startsWith("/api/")))
+                .filter(entry -> !entry.getValue().hasMethodAnnotation(SqlStatementBudget.class))
+                .map(entry -> entry.getKey() + " " + entry.getValue().getShortLogMessage())
+                .sorted()
+                .toList();
+
+        assertThat(missing).as("Endpoints without @SqlStatementBudget").isEmpty();
+    }
+}
@@ -0,0 +1,37 @@
+package com.dietary.common.security;
+
+import com.dietary.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // One thread and one queue slot; a strength 16 hash takes seconds, far over the wait
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(meterRegistry, 16, 1, 1, 100);
+
+    @AfterEach
+    void shutDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void timedOutHashesGiveUpTheirQueueSlot() {
+        // Keeps the only thread busy past its own timeout
+        assertThatThrownBy(() -> encoder.encode("first")).isInstanceOf(ServiceUnavailableException.class);
+
+        // Waits in the queue behind it and times out there
+        assertThatThrownBy(() -> encoder.encode("second")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("security.password.hashing.queued").gauge().value()).isZero();
+
+        // Queued again rather than refused as if the queue were still full
+        assertThatThrownBy(() -> encoder.encode("third")).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("security.password.hashing.timed-out").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("security.password.hashing.rejected").counter().count()).isZero();
+    }
+}
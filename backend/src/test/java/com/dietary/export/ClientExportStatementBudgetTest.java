@@ -0,0 +1,26 @@
+package com.dietary.export;
+
+import com.dietary.support.StatementBudgetTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class ClientExportStatementBudgetTest extends StatementBudgetTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = { "NDJSON", "CSV" })
+    void exportAll(String format) throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{clientId}/export", d.client().id())
+                .param("format", format)
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "measurements", "goals", "tracking", "water", "meal-plans" })
+    void exportDataset(String dataset) throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{clientId}/export/{dataset}", d.client().id(), dataset)
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+}
@@ -0,0 +1,45 @@
+package com.dietary.export.repository;
+
+import com.dietary.goal.repository.GoalRepository;
+import com.dietary.mealplan.repository.MealPlanRepository;
+import com.dietary.measurement.repository.MeasurementRepository;
+import com.dietary.tracking.repository.DailyTrackingRepository;
+import com.dietary.tracking.repository.WaterTrackingRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportStreamTest {
+
+    @ParameterizedTest
+    @ValueSource(classes = { MeasurementRepository.class, GoalRepository.class, DailyTrackingRepository.class,
+            WaterTrackingRepository.class, MealPlanRepository.class })
+    void streamedQueriesCarryTheExportHints(Class<?> repository) {
+        Method[] streams = Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> Modifier.isAbstract(method.getModifiers()) && method.getReturnType() == Stream.class)
+                .toArray(Method[]::new);
+        assertThat(streams).isNotEmpty();
+
+        for (Method method : streams) {
+            // Resolved the way Spring Data JPA resolves hints of a query method
+            QueryHints hints = AnnotatedElementUtils.findMergedAnnotation(method, QueryHints.class);
+            assertThat(hints).as("%s has no query hints", method).isNotNull();
+            Map<String, String> values = Arrays.stream(hints.value())
+                    .collect(Collectors.toMap(QueryHint::name, QueryHint::value));
+            assertThat(values).as(method.toString()).containsEntry(HibernateHints.HINT_FETCH_SIZE,
+                    String.valueOf(ExportStream.FETCH_SIZE)).containsEntry(HibernateHints.HINT_READ_ONLY, "true");
+        }
+    }
+}
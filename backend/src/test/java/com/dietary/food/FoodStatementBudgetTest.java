@@ -0,0 +1,47 @@
+package com.dietary.food;
+
+import com.dietary.support.StatementBudgetTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class FoodStatementBudgetTest extends StatementBudgetTest {
+
+    @Test
+    void searchFoods() throws Exception {
+        assertStatementBudget(d -> get("/api/foods/search")
+                .param("query", "food")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void searchFoodsByCategory() throws Exception {
+        assertStatementBudget(d -> get("/api/foods/search")
+                .param("category", "Grains")
+                .param("source", "CUSTOM")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getCategories() throws Exception {
+        assertStatementBudget(d -> get("/api/foods/categories")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void createFood() throws Exception {
+        assertStatementBudget(d -> post("/api/foods")
+                .header(AUTHORIZATION, bearer(d.token()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of(
+                        "name", "Budget Food " + UUID.randomUUID(), "servingSize", "1", "servingUnit", "cup",
+                        "caloriesPerServing", 210, "proteinGrams", 7.5, "carbsGrams", 31, "fatGrams", 4.2,
+                        "category", "Grains"))));
+    }
+}
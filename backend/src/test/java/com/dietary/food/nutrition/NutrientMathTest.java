@@ -0,0 +1,232 @@
+package com.dietary.food.nutrition;
+
+import com.dietary.food.domain.Food;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compares {@link NutrientMath} with the BigDecimal arithmetic it replaced:
+ * the serving size parsed per item, the ratio divided to four decimals, and
+ * calories and nutrients scaled from it, all HALF_UP. Quantities are in the
+ * food's own serving unit (or carry none), the case the old code assumed for
+ * every item; the conversions between units are checked against a table.
+ */
+class NutrientMathTest {
+
+    private static final int[] NUTRIENTS = {
+            NutrientVector.PROTEIN, NutrientVector.CARBS, NutrientVector.FAT,
+            NutrientVector.FIBER, NutrientVector.SUGAR, NutrientVector.SODIUM };
+
+    private static final String[] ODD_SERVINGS = {
+            "1 medium", " 100", "100 ", "", "-", "+", ".", "e", "1e", "1E2", "1e-3", "2.5E+1", "+5", "-4", "-0.25",
+            ".5", "5.", "1.2.3", "1,5", "00", "0007.50", "1E-30", "9E+30", "12345678901234567890",
+            "0.000000000000000000001", "1/2", "NaN", "Infinity", "١٢" };
+
+    private static final String[] UNITS = { "g", "ml", "oz", "cup", "medium", "slice", "bowl", null };
+
+    @Test
+    void randomInputsMatchBigDecimalArithmetic() {
+        Random random = new Random(20261018L);
+        for (int i = 0; i < 300_000; i++) {
+            Food food = randomFood(random);
+            assertMatches(food, decimal(random), random.nextBoolean());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1 medium", " 100", "", "-", "1E2", "1e-3", "2.5E+1", "+5", "-4", ".5", "5.", "1.2.3", "00",
+            "1E-30", "9E+30", "12345678901234567890", "0.000000000000000000001", "NaN", "١٢" })
+    void oddServingSizesMatchBigDecimalArithmetic(String servingSize) {
+        Random random = new Random(servingSize.hashCode());
+        for (int i = 0; i < 2_000; i++) {
+            Food food = randomFood(random);
+            food.setServingSize(servingSize);
+            assertMatches(food, decimal(random), random.nextBoolean());
+        }
+    }
+
+    @Test
+    void productsBeyondLongRangeFallBackToBigDecimal() {
+        // ratio * calories and ratio * nutrient hundredths overflow a long here
+        Food food = food("0.0001", Integer.MAX_VALUE, new BigDecimal("9999999999.99"));
+        assertMatches(food, new BigDecimal("90000000000"), false);
+        assertMatches(food, new BigDecimal("123456789012.3456"), true);
+
+        // Serving and quantity too wide or too finely scaled for the fast path
+        assertMatches(food("1E-25", 300, new BigDecimal("12.5")), new BigDecimal("3E-20"), false);
+        assertMatches(food("98765432109876543210", 300, new BigDecimal("12.5")),
+                new BigDecimal("98765432109876543210.5"), false);
+        assertMatches(food("100", 300, new BigDecimal("1.23456")), new BigDecimal("1E+3"), false);
+        assertMatches(food("100", 300, new BigDecimal("1E+5")), new BigDecimal("33.3333333333333333333"), false);
+    }
+
+    @ParameterizedTest(name = "{0} {1} of \"{2}\" {3} ({4} g) is {5} servings")
+    @CsvSource({
+            // Mass and volume in another unit of the serving's kind
+            "0.5,  kg,      100,        g,      ,    5.0000",
+            "250,  g,       1,          kg,     ,    0.2500",
+            "1,    cup,     100,        ml,     ,    2.3659",
+            "250,  ml,      1,          cup,    ,    1.0567",
+            "2,    tbsp,    1,          'fl oz', ,   1.0000",
+            "0.5,  ' l ',   250,        'ml ',  ,    2.0000",
+            // Mass against a serving of another kind, through its gram weight
+            "60,   g,       '1 medium', medium, 120, 0.5000",
+            "3,    oz,      '1 medium', medium, 170, 0.5003",
+            "1,    lb,      1,          cup,    227, 1.9982",
+            // No gram weight: the quantity is taken in the serving's unit
+            "100,  g,       '1 medium', medium, ,    1.0000",
+            "100,  ml,      50,         g,      ,    2.0000",
+            // Servings, and quantities without a unit
+            "2,    serving, '1 medium', medium, 120, 2.0000",
+            "1.5,  portion, 100,        g,      ,    1.5000",
+            "150,  ,        100,        g,      ,    1.5000"
+    })
+    void convertsQuantitiesToTheServingsUnit(BigDecimal quantity, String unit, String servingSize,
+            String servingUnit, BigDecimal servingGrams, BigDecimal servings) {
+        Food food = food(servingSize, 100, BigDecimal.TEN);
+        food.setServingUnit(servingUnit);
+        food.setServingGrams(servingGrams);
+        long ratio = NutrientMath.servingRatio(quantity, UnitRegistry.lookup(unit), NutrientVector.of(food));
+        assertThat(BigDecimal.valueOf(ratio, NutrientMath.RATIO_SCALE)).isEqualTo(servings);
+    }
+
+    @Test
+    void zeroServingSizeFailsLikeBigDecimalDivision() {
+        for (String servingSize : new String[] { "0", "0.00", "0E+3" }) {
+            NutrientVector nutrients = NutrientVector.of(food(servingSize, 100, BigDecimal.ONE));
+            assertThatThrownBy(() -> NutrientMath.servingRatio(BigDecimal.TEN, null, nutrients))
+                    .isInstanceOf(ArithmeticException.class);
+            assertThatThrownBy(() -> referenceRatio(BigDecimal.TEN, servingSize))
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Test
+    void divideHalfUpRoundsHalfAwayFromZero() {
+        Random random = new Random(7L);
+        for (int i = 0; i < 100_000; i++) {
+            long dividend = random.nextLong() >> random.nextInt(63);
+            long divisor = random.nextLong() >> random.nextInt(63);
+            if (divisor == 0 || dividend == Long.MIN_VALUE) {
+                continue;
+            }
+            BigDecimal expected = new BigDecimal(dividend).divide(new BigDecimal(divisor), 0, RoundingMode.HALF_UP);
+            assertThat(NutrientMath.divideHalfUp(dividend, divisor))
+                    .as("%d / %d", dividend, divisor)
+                    .isEqualTo(expected.longValueExact());
+        }
+    }
+
+    private static void assertMatches(Food food, BigDecimal quantity, boolean withUnit) {
+        NutrientVector nutrients = NutrientVector.of(food);
+        UnitRegistry.Unit unit = withUnit ? UnitRegistry.lookup(food.getServingUnit()) : null;
+        String description = String.format("quantity %s %s of serving \"%s\" %s", quantity.toString(),
+                withUnit ? food.getServingUnit() : "(no unit)", food.getServingSize(), food.getServingUnit());
+
+        BigDecimal expectedRatio;
+        try {
+            expectedRatio = referenceRatio(quantity, food.getServingSize());
+        } catch (ArithmeticException e) {
+            assertThatExceptionOfType(ArithmeticException.class).as(description)
+                    .isThrownBy(() -> NutrientMath.servingRatio(quantity, unit, nutrients));
+            return;
+        }
+        if (expectedRatio.unscaledValue().bitLength() > 63) {
+            // Not representable in ten-thousandths of a long
+            assertThatExceptionOfType(ArithmeticException.class).as(description)
+                    .isThrownBy(() -> NutrientMath.servingRatio(quantity, unit, nutrients));
+            return;
+        }
+
+        long ratio = NutrientMath.servingRatio(quantity, unit, nutrients);
+        assertThat(BigDecimal.valueOf(ratio, NutrientMath.RATIO_SCALE)).as(description).isEqualTo(expectedRatio);
+        assertThat(NutrientMath.calories(nutrients, ratio)).as(description + ", calories")
+                .isEqualTo(expectedRatio.multiply(BigDecimal.valueOf(food.getCaloriesPerServing()))
+                        .setScale(0, RoundingMode.HALF_UP).intValue());
+        BigDecimal[] perServing = perServing(food);
+        for (int nutrient : NUTRIENTS) {
+            BigDecimal expected = perServing[nutrient] != null
+                    ? perServing[nutrient].multiply(expectedRatio).setScale(2, RoundingMode.HALF_UP)
+                    : null;
+            assertThat(Objects.equals(NutrientMath.amount(nutrients, nutrient, ratio), expected))
+                    .as("%s, nutrient %d of %s: expected %s but was %s", description, nutrient,
+                            perServing[nutrient], expected, NutrientMath.amount(nutrients, nutrient, ratio))
+                    .isTrue();
+        }
+    }
+
+    /** The serving ratio as computed before {@link NutrientMath}. */
+    private static BigDecimal referenceRatio(BigDecimal quantity, String servingSize) {
+        try {
+            return quantity.divide(new BigDecimal(servingSize), NutrientMath.RATIO_SCALE, RoundingMode.HALF_UP);
+        } catch (NumberFormatException e) {
+            return BigDecimal.ONE.setScale(NutrientMath.RATIO_SCALE);
+        }
+    }
+
+    private static Food randomFood(Random random) {
+        String servingSize = switch (random.nextInt(4)) {
+            case 0 -> ODD_SERVINGS[random.nextInt(ODD_SERVINGS.length)];
+            case 1 -> decimal(random).abs().toString();
+            default -> decimal(random).abs().toPlainString();
+        };
+        Food food = food(servingSize, random.nextInt(10) == 0 ? random.nextInt() : random.nextInt(2_000),
+                nutrient(random));
+        food.setServingUnit(UNITS[random.nextInt(UNITS.length)]);
+        food.setCarbsGrams(nutrient(random));
+        food.setFatGrams(nutrient(random));
+        food.setFiberGrams(nutrient(random));
+        food.setSugarGrams(nutrient(random));
+        food.setSodiumMg(nutrient(random));
+        return food;
+    }
+
+    private static Food food(String servingSize, int calories, BigDecimal protein) {
+        return Food.builder()
+                .name("Food")
+                .servingSize(servingSize)
+                .servingUnit("g")
+                .caloriesPerServing(calories)
+                .proteinGrams(protein)
+                .build();
+    }
+
+    /** A decimal with up to 25 digits and a scale from -3 to 20, mostly in everyday ranges. */
+    private static BigDecimal decimal(Random random) {
+        if (random.nextInt(4) > 0) {
+            return BigDecimal.valueOf(1 + random.nextInt(100_000), random.nextInt(4));
+        }
+        BigInteger unscaled = new BigInteger(1 + random.nextInt(83), random);
+        if (unscaled.signum() == 0) {
+            unscaled = BigInteger.ONE;
+        }
+        return new BigDecimal(random.nextInt(8) == 0 ? unscaled.negate() : unscaled, random.nextInt(24) - 3);
+    }
+
+    private static BigDecimal nutrient(Random random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> null;
+            case 1 -> decimal(random);
+            default -> BigDecimal.valueOf(random.nextInt(500_000), random.nextInt(3));
+        };
+    }
+
+    private static BigDecimal[] perServing(Food food) {
+        return new BigDecimal[] {
+                food.getProteinGrams(), food.getCarbsGrams(), food.getFatGrams(),
+                food.getFiberGrams(), food.getSugarGrams(), food.getSodiumMg() };
+    }
+}
@@ -0,0 +1,62 @@
+package com.dietary.food.nutrition;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit lookups and gram conversions. Blank cells stand for {@code null}.
+ */
+class UnitRegistryTest {
+
+    @ParameterizedTest(name = "\"{0}\" is {1}")
+    @CsvSource({
+            "g,            g,      MASS",
+            "G,            g,      MASS",
+            "Grams,        g,      MASS",
+            "' kg ',       kg,     MASS",
+            "µg,           mcg,    MASS",
+            "LBS,          lb,     MASS",
+            "ml,           ml,     VOLUME",
+            "'fl oz',      'fl oz', VOLUME",
+            "Tbsp,         tbsp,   VOLUME",
+            "'cup ',       cup,    VOLUME",
+            "medium,       medium, COUNT",
+            "Slices,       slice,  COUNT",
+            "portion,      serving, SERVING",
+            "stone,        ,       ",
+            "'',           ,       ",
+            ",             ,       "
+    })
+    void looksUpUnitsIgnoringCaseAndSurroundingWhitespace(String name, String symbol, UnitRegistry.Kind kind) {
+        UnitRegistry.Unit unit = UnitRegistry.lookup(name);
+        if (symbol == null) {
+            assertThat(unit).isNull();
+        } else {
+            assertThat(unit.symbol()).isEqualTo(symbol);
+            assertThat(unit.kind()).isEqualTo(kind);
+        }
+    }
+
+    @ParameterizedTest(name = "{0} {1} is {2} g")
+    @CsvSource({
+            "100,      g,      100.00",
+            "2,        kg,     2000.00",
+            "250,      mg,     0.25",
+            "8,        oz,     226.80",
+            "1.5,      ' lb ', 680.39",
+            "0.001,    g,      ",
+            "0,        g,      ",
+            "-5,       g,      ",
+            "100,      ml,     ",
+            "1,        medium, ",
+            "'1 medium', g,    ",
+            "100,      ,       "
+    })
+    void convertsMassServingsToGrams(String size, String unit, BigDecimal grams) {
+        assertThat(UnitRegistry.toGrams(size, unit)).isEqualTo(grams);
+    }
+}
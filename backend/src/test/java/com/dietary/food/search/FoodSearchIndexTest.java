@@ -0,0 +1,93 @@
+package com.dietary.food.search;
+
+import com.dietary.auth.domain.User;
+import com.dietary.food.domain.Food;
+import com.dietary.food.domain.FoodSource;
+import com.dietary.food.repository.FoodRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FoodSearchIndexTest {
+
+    private static final UUID DIETITIAN = UUID.randomUUID();
+
+    private final FoodRepository foodRepository = mock(FoodRepository.class);
+    private final FoodSearchIndex index = new FoodSearchIndex(foodRepository);
+
+    @Test
+    void findsOneEditTyposInALargeCatalog() {
+        List<Food> foods = catalog(5_000);
+        Food rice = systemFood("Rice, white, cooked");
+        Food chicken = systemFood("Chicken breast");
+        foods.add(rice);
+        foods.add(chicken);
+        load(foods);
+
+        // Transposed and dropped letters that share no trigram with the name
+        assertThat(search("rcie")).startsWith(rice.getId());
+        assertThat(search("chcken brest")).startsWith(chicken.getId());
+    }
+
+    @Test
+    void findsTwoEditTyposByFirstLetterInASmallCatalog() {
+        Food granola = customFood("Granola");
+        load(new ArrayList<>(List.of(granola, customFood("Greek yogurt"), systemFood("Apple"))));
+
+        assertThat(search("garnloa")).containsExactly(granola.getId());
+    }
+
+    @Test
+    void replacedAndRemovedFoodsStayCorrectAcrossCompaction() {
+        List<Food> foods = catalog(300);
+        Food renamed = customFood("Oat milk");
+        foods.add(renamed);
+        load(foods);
+
+        for (int i = 0; i < 500; i++) {
+            renamed.setName("Oat milk " + i);
+            index.indexAfterCommit(renamed);
+        }
+        for (Food food : foods.subList(0, 200)) {
+            index.remove(food.getId());
+        }
+
+        assertThat(search("oat milk 499")).containsExactly(renamed.getId());
+        assertThat(search("oat milk 42")).isEmpty();
+        assertThat(search("catalog item 150")).isEmpty();
+        assertThat(search("catalog item 250")).hasSize(1);
+    }
+
+    private void load(List<Food> foods) {
+        when(foodRepository.findAllActive()).thenReturn(foods);
+        index.load();
+    }
+
+    private List<UUID> search(String query) {
+        return index.search(DIETITIAN, query, null, null, 20);
+    }
+
+    private static List<Food> catalog(int size) {
+        List<Food> foods = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            // Plenty of names sharing first letters with the foods searched for
+            foods.add(systemFood((i % 2 == 0 ? "Roasted " : "Cured ") + "catalog item " + i));
+        }
+        return foods;
+    }
+
+    private static Food systemFood(String name) {
+        return Food.builder().id(UUID.randomUUID()).name(name).source(FoodSource.SYSTEM).build();
+    }
+
+    private static Food customFood(String name) {
+        return Food.builder().id(UUID.randomUUID()).name(name).source(FoodSource.CUSTOM)
+                .dietitian(User.builder().id(DIETITIAN).build()).build();
+    }
+}
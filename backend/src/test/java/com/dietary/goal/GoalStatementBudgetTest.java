@@ -0,0 +1,69 @@
+package com.dietary.goal;
+
+import com.dietary.support.StatementBudgetTest;
+import com.dietary.support.StatementCounter.Counted;
+import com.dietary.support.TestData.SeededDietitian;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class GoalStatementBudgetTest extends StatementBudgetTest {
+
+    // The read finding no more candidates
+    private static final int RECALCULATION_FIXED = 1;
+    // The chunk's read, and the deactivation, insert batch and touch of its goals
+    private static final int RECALCULATION_PER_CHUNK = 4;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void getCurrentGoal() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{clientId}/goals/current", d.client().id())
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void createOrReplaceGoal() throws Exception {
+        assertStatementBudget(d -> post("/api/clients/{clientId}/goals", d.client().id())
+                .header(AUTHORIZATION, bearer(d.token()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of(
+                        "goalType", "LOSE_WEIGHT", "activityLevel", "LIGHT", "targetWeightKg", 72))));
+    }
+
+    /**
+     * Recalculation works through the goals in chunks (of two here, see
+     * application-test.yml), so its statements grow with the chunks, never
+     * with the goals in them.
+     */
+    @Test
+    void recalculateGoalsRunsAFixedNumberOfStatementsPerChunk() throws Exception {
+        for (SeededDietitian d : List.of(small, large)) {
+            Counted<MvcResult> counted = perform(post("/api/goals/recalculate")
+                    .param("all", "true")
+                    .header(AUTHORIZATION, bearer(d.token())), HttpStatus.OK);
+            JsonNode result = objectMapper.readTree(counted.result().getResponse().getContentAsString()).at("/data");
+            int chunks = result.at("/chunks").asInt();
+
+            assertThat(result.at("/examined").asInt()).as("goals examined").isEqualTo(d.clients().size());
+            assertThat(chunks).as("chunks").isEqualTo((d.clients().size() + 1) / 2);
+            assertThat(counted.count())
+                    .as("Recalculating %d goals in %d chunks ran %d statements:%n%s", d.clients().size(), chunks,
+                            counted.count(), counted.describe())
+                    .isLessThanOrEqualTo(RECALCULATION_FIXED + RECALCULATION_PER_CHUNK * chunks);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.dietary.goal.service;
+
+import com.dietary.common.exception.ConflictException;
+import com.dietary.common.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecalculationRunsTest {
+
+    private final RecalculationRuns runs = new RecalculationRuns(2);
+
+    @Test
+    void secondRunOfSameDietitianConflicts() {
+        UUID dietitian = UUID.randomUUID();
+        try (RecalculationRuns.Run run = runs.start(dietitian)) {
+            assertThatThrownBy(() -> runs.start(dietitian)).isInstanceOf(ConflictException.class);
+        }
+        assertThatCode(() -> runs.start(dietitian).close()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void runsBeyondTheLimitAreRefused() {
+        RecalculationRuns.Run first = runs.start(UUID.randomUUID());
+        RecalculationRuns.Run second = runs.start(UUID.randomUUID());
+        UUID third = UUID.randomUUID();
+        assertThatThrownBy(() -> runs.start(third))
+                .isInstanceOf(ServiceUnavailableException.class);
+
+        first.close();
+        // The refused dietitian was not left marked as running
+        assertThatCode(() -> runs.start(third).close()).doesNotThrowAnyException();
+        second.close();
+    }
+
+    @Test
+    void conflictDoesNotTakeAPermit() {
+        UUID dietitian = UUID.randomUUID();
+        RecalculationRuns.Run run = runs.start(dietitian);
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> runs.start(dietitian)).isInstanceOf(ConflictException.class);
+        }
+        assertThatCode(() -> runs.start(UUID.randomUUID()).close()).doesNotThrowAnyException();
+        run.close();
+    }
+}
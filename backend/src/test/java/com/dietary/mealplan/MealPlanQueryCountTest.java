@@ -0,0 +1,64 @@
+package com.dietary.mealplan;
+
+import com.dietary.support.DataSize;
+import com.dietary.support.IntegrationTest;
+import com.dietary.support.StatementCounter.Counted;
+import com.dietary.support.TestData.SeededDietitian;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The plan aggregate loads in three queries, for 3x2x3 and 8x6x8 plans alike:
+ * the plan with its client and meals, the options, and the items with their
+ * foods. Each request is counted whole, authentication included.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MealPlanQueryCountTest extends IntegrationTest {
+
+    private List<SeededDietitian> dietitians;
+
+    @BeforeAll
+    void seed() throws Exception {
+        dietitians = List.of(testData.dietitian(DataSize.SMALL), testData.dietitian(DataSize.LARGE));
+    }
+
+    @Test
+    void getMealPlanByIdRunsThreeStatements() throws Exception {
+        for (SeededDietitian d : dietitians) {
+            assertStatements(3, d, get("/api/meal-plans/{id}", d.client().planId())
+                    .header(AUTHORIZATION, "Bearer " + d.token()));
+        }
+    }
+
+    @Test
+    void getActiveMealPlanRunsThreeStatements() throws Exception {
+        for (SeededDietitian d : dietitians) {
+            assertStatements(3, d, get("/api/clients/{clientId}/meal-plans/active", d.client().id())
+                    .header(AUTHORIZATION, "Bearer " + d.token()));
+        }
+    }
+
+    private void assertStatements(int expected, SeededDietitian dietitian, MockHttpServletRequestBuilder request)
+            throws Exception {
+        Counted<MvcResult> counted = statementCounter.count(() -> mockMvc.perform(request).andReturn());
+        MvcResult result = counted.result();
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+
+        assertThat(result.getResponse().getStatus())
+                .as("%s returned: %s", endpoint, result.getResponse().getContentAsString())
+                .isEqualTo(200);
+        assertThat(counted.count())
+                .as("%s on %s data ran %d statements:%n%s", endpoint, dietitian.size().name(), counted.count(),
+                        counted.describe())
+                .isEqualTo(expected);
+    }
+}
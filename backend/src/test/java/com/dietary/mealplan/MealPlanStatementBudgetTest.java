@@ -0,0 +1,96 @@
+package com.dietary.mealplan;
+
+import com.dietary.support.DataSize;
+import com.dietary.support.StatementBudgetTest;
+import com.dietary.support.TestData.SeededDietitian;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Plans are created, replaced and activated with a request of the small
+ * shape on both dietitians: what must not grow is the work caused by the
+ * data already stored, not by the size of the request.
+ */
+class MealPlanStatementBudgetTest extends StatementBudgetTest {
+
+    @Test
+    void getTemplates() throws Exception {
+        assertStatementBudget(d -> get("/api/meal-plans/templates")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getMealPlanById() throws Exception {
+        assertStatementBudget(d -> get("/api/meal-plans/{id}", d.client().planId())
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getMealPlanByIdNotModified() throws Exception {
+        assertStatementBudget(HttpStatus.NOT_MODIFIED, d -> {
+            MvcResult current = mockMvc.perform(get("/api/meal-plans/{id}", d.client().planId())
+                    .header(AUTHORIZATION, bearer(d.token()))).andReturn();
+            return get("/api/meal-plans/{id}", d.client().planId())
+                    .header(AUTHORIZATION, bearer(d.token()))
+                    .header(IF_NONE_MATCH, current.getResponse().getHeader(ETAG));
+        });
+    }
+
+    @Test
+    void getMealPlanByIdWithStaleTag() throws Exception {
+        assertStatementBudget(HttpStatus.OK, d -> get("/api/meal-plans/{id}", d.client().planId())
+                .header(AUTHORIZATION, bearer(d.token()))
+                .header(IF_NONE_MATCH, "W/\"stale\""));
+    }
+
+    @Test
+    void getActiveMealPlan() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{clientId}/meal-plans/active", d.client().id())
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void createMealPlan() throws Exception {
+        assertStatementBudget(d -> post("/api/meal-plans")
+                .header(AUTHORIZATION, bearer(d.token()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(smallPlan(d, "Created plan"))));
+    }
+
+    @Test
+    void updateMealPlan() throws Exception {
+        assertStatementBudget(d -> put("/api/meal-plans/{id}", newPlan(d))
+                .header(AUTHORIZATION, bearer(d.token()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(smallPlan(d, "Replaced plan"))));
+    }
+
+    @Test
+    void activateMealPlan() throws Exception {
+        assertStatementBudget(d -> post("/api/meal-plans/{id}/activate", newPlan(d))
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    private UUID newPlan(SeededDietitian dietitian) throws Exception {
+        return UUID.fromString(testData.post(dietitian.token(), "/api/meal-plans",
+                smallPlan(dietitian, "Spare plan")).at("/id").asText());
+    }
+
+    private Map<String, Object> smallPlan(SeededDietitian dietitian, String name) {
+        DataSize shape = DataSize.SMALL;
+        return testData.planRequest(name, dietitian.clients().get(1).id(), dietitian.foodIds(),
+                shape.mealsPerPlan(), shape.optionsPerMeal(), shape.itemsPerOption());
+    }
+}
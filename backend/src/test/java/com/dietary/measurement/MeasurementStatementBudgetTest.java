@@ -0,0 +1,43 @@
+package com.dietary.measurement;
+
+import com.dietary.support.StatementBudgetTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class MeasurementStatementBudgetTest extends StatementBudgetTest {
+
+    @Test
+    void getAllMeasurements() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{clientId}/measurements", d.client().id())
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getMeasurementPage() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{clientId}/measurements/page", d.client().id())
+                .param("limit", "2")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getLatestMeasurement() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{clientId}/measurements/latest", d.client().id())
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void createMeasurement() throws Exception {
+        assertStatementBudget(d -> post("/api/clients/{clientId}/measurements", d.client().id())
+                .header(AUTHORIZATION, bearer(d.token()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of(
+                        "measurementDate", LocalDate.now().minusDays(1).toString(), "weightKg", 78.4, "bodyFatPercentage", 26.1))));
+    }
+}
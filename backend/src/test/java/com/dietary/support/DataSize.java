@@ -0,0 +1,13 @@
+package com.dietary.support;
+
+/**
+ * How much data {@link TestData} seeds for a dietitian. Statement counts
+ * measured on {@link #SMALL} and {@link #LARGE} must match: a count that
+ * grows with the data is an N+1.
+ */
+public record DataSize(String name, int foods, int clients, int mealsPerPlan, int optionsPerMeal,
+        int itemsPerOption, int measurements, int trackedDays) {
+
+    public static final DataSize SMALL = new DataSize("small", 4, 2, 3, 2, 3, 3, 2);
+    public static final DataSize LARGE = new DataSize("large", 24, 6, 8, 6, 8, 25, 12);
+}
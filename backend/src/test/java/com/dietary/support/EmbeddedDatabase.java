@@ -0,0 +1,41 @@
+package com.dietary.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * One embedded PostgreSQL server per test JVM, started on first use and
+ * stopped when the JVM exits. Spring caches the application context across
+ * test classes, so they all share this database; seed data under fresh
+ * dietitians rather than relying on empty tables.
+ * <p>
+ * PostgreSQL refuses to run as root, so run the tests as a regular user.
+ */
+public final class EmbeddedDatabase {
+
+    private static EmbeddedPostgres server;
+
+    private EmbeddedDatabase() {
+    }
+
+    public static synchronized String jdbcUrl() {
+        if (server == null) {
+            try {
+                server = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the embedded PostgreSQL server", e);
+            }
+            EmbeddedPostgres started = server;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    started.close();
+                } catch (IOException ignored) {
+                    // The JVM is exiting; the data directory is temporary
+                }
+            }));
+        }
+        return server.getJdbcUrl("postgres", "postgres");
+    }
+}
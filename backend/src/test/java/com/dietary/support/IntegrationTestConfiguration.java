@@ -0,0 +1,44 @@
+package com.dietary.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's DataSource in a proxy reporting to a
+ * {@link StatementCounter}, outside or inside the application's own counting
+ * proxy, and provides {@link TestData} for seeding.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class IntegrationTestConfiguration {
+
+    @Bean
+    public StatementCounter statementCounter() {
+        return new StatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSource(ObjectProvider<StatementCounter> statementCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(statementCounter.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public TestData testData() {
+        return new TestData();
+    }
+}
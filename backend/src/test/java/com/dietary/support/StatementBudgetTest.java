@@ -0,0 +1,146 @@
+package com.dietary.support;
+
+import com.dietary.common.metrics.SqlStatementBudget;
+import com.dietary.support.StatementCounter.Counted;
+import com.dietary.support.TestData.SeededDietitian;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * Runs endpoints against a {@link DataSize#SMALL} and a {@link DataSize#LARGE}
+ * dietitian and checks the statements each request runs: the count must not
+ * depend on the data size and must stay within the endpoint's
+ * {@link SqlStatementBudget}. Authentication, the handler and the response
+ * body are all counted, as is work the request hands to other threads. The
+ * application's own count, {@code http.server.requests.sql.statements}, must
+ * agree with the test's.
+ * <p>
+ * Both dietitians see the same sequence of requests, so caches are warm or
+ * cold alike for the two.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class StatementBudgetTest extends IntegrationTest {
+
+    protected SeededDietitian small;
+    protected SeededDietitian large;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @FunctionalInterface
+    protected interface RequestFor {
+        MockHttpServletRequestBuilder build(SeededDietitian dietitian) throws Exception;
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        small = testData.dietitian(DataSize.SMALL);
+        large = testData.dietitian(DataSize.LARGE);
+    }
+
+    /**
+     * Sends the request built for the small and then for the large dietitian
+     * and asserts both succeed with the same statement count, within budget.
+     *
+     * @return the statement count
+     */
+    protected int assertStatementBudget(RequestFor request) throws Exception {
+        return assertStatementBudget(null, request);
+    }
+
+    /**
+     * As {@link #assertStatementBudget(RequestFor)}, also asserting the response status.
+     */
+    protected int assertStatementBudget(HttpStatus expectedStatus, RequestFor request) throws Exception {
+        // Built up front: building may seed what the request needs
+        MockHttpServletRequestBuilder forSmall = request.build(small);
+        MockHttpServletRequestBuilder forLarge = request.build(large);
+        int budget = budgetOf(forSmall);
+        Counted<MvcResult> onSmall = perform(forSmall, expectedStatus);
+        Counted<MvcResult> onLarge = perform(forLarge, expectedStatus);
+        String endpoint = onSmall.result().getRequest().getMethod() + " " + onSmall.result().getRequest().getRequestURI();
+
+        assertThat(onLarge.count())
+                .as("%s ran %d statements on %s data and %d on %s data; statements on %s data:%n%s",
+                        endpoint, onSmall.count(), DataSize.SMALL.name(), onLarge.count(), DataSize.LARGE.name(),
+                        DataSize.LARGE.name(), onLarge.describe())
+                .isEqualTo(onSmall.count());
+        assertThat(onSmall.count())
+                .as("%s ran %d statements, over its budget of %d:%n%s", endpoint, onSmall.count(), budget,
+                        onSmall.describe())
+                .isLessThanOrEqualTo(budget);
+        return onSmall.count();
+    }
+
+    protected static String bearer(String token) {
+        return "Bearer " + token;
+    }
+
+    /**
+     * Sends the request, and its async dispatch if it has one, and returns the
+     * result with the statements it ran, failing unless the status is the
+     * expected one (or below 400 if none is given).
+     */
+    protected Counted<MvcResult> perform(MockHttpServletRequestBuilder request, HttpStatus expectedStatus)
+            throws Exception {
+        double recordedBefore = recordedStatements();
+        Counted<MvcResult> counted = statementCounter.count(() -> {
+            MvcResult result = mockMvc.perform(request).andReturn();
+            // Streamed responses are written after the handler returns
+            if (result.getRequest().isAsyncStarted()) {
+                result = mockMvc.perform(asyncDispatch(result)).andReturn();
+            }
+            return result;
+        });
+        int status = counted.result().getResponse().getStatus();
+        String description = String.format("%s %s returned HTTP %d: %s", counted.result().getRequest().getMethod(),
+                counted.result().getRequest().getRequestURI(), status,
+                counted.result().getResponse().getContentAsString());
+        if (expectedStatus != null) {
+            assertThat(status).as(description).isEqualTo(expectedStatus.value());
+        } else {
+            assertThat(status).as(description).isLessThan(400);
+        }
+        assertThat((long) (recordedStatements() - recordedBefore))
+                .as("http.server.requests.sql.statements for %s %s", counted.result().getRequest().getMethod(),
+                        counted.result().getRequest().getRequestURI())
+                .isEqualTo(counted.count());
+        return counted;
+    }
+
+    private double recordedStatements() {
+        return meterRegistry.find("http.server.requests.sql.statements").summaries().stream()
+                .mapToDouble(DistributionSummary::totalAmount)
+                .sum();
+    }
+
+    private int budgetOf(MockHttpServletRequestBuilder request) throws Exception {
+        HandlerExecutionChain chain = handlerMapping.getHandler(request.buildRequest(webApplicationContext.getServletContext()));
+        assertThat(chain).as("No handler for the request").isNotNull();
+        HandlerMethod handler = (HandlerMethod) chain.getHandler();
+        SqlStatementBudget budget = handler.getMethodAnnotation(SqlStatementBudget.class);
+        assertThat(budget).as("%s declares no @SqlStatementBudget", handler.getShortLogMessage()).isNotNull();
+        return budget.value();
+    }
+}
@@ -0,0 +1,65 @@
+package com.dietary.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+/**
+ * Records the statements sent through the application's DataSource while a
+ * count is open, from every thread: Hibernate, JdbcTemplate and work handed
+ * to executors alike. A JDBC batch is one round trip and counts once.
+ * <p>
+ * Only one count can be open at a time; tests that count statements must not
+ * run in parallel.
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean counting;
+
+    /**
+     * Runs {@code action} and returns its result with the statements it ran.
+     */
+    public synchronized <T> Counted<T> count(Callable<T> action) throws Exception {
+        statements.clear();
+        counting = true;
+        try {
+            T result = action.call();
+            counting = false;
+            return new Counted<>(result, List.copyOf(statements));
+        } finally {
+            counting = false;
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!counting) {
+            return;
+        }
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        statements.add(execInfo.isBatch() ? "[batch of " + execInfo.getBatchSize() + "] " + sql : sql);
+    }
+
+    public record Counted<T>(T result, List<String> statements) {
+
+        public int count() {
+            return statements.size();
+        }
+
+        /** The statements one per line, for assertion messages. */
+        public String describe() {
+            return statements.stream().map(sql -> "  " + sql).collect(Collectors.joining("\n"));
+        }
+    }
+}
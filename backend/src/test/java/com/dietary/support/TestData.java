@@ -0,0 +1,219 @@
+package com.dietary.support;
+
+import com.dietary.auth.domain.Role;
+import com.dietary.auth.domain.User;
+import com.dietary.auth.repository.UserRepository;
+import com.dietary.client.repository.ClientRepository;
+import com.dietary.common.security.JwtTokenProvider;
+import com.dietary.common.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Seeds a dietitian with foods and clients through the API, so the data
+ * carries the totals, summaries and caches the application maintains itself.
+ * Every client gets an active plan of the requested shape, a measurement
+ * history, a goal, tracked days and a login; client accounts are inserted
+ * directly, as there is no endpoint that creates them without an invite.
+ */
+public class TestData {
+
+    public static final String PASSWORD = "integration-password";
+
+    private static final String[] MEAL_TYPES = {
+            "BREAKFAST", "MORNING_SNACK", "LUNCH", "AFTERNOON_SNACK", "DINNER", "EVENING_SNACK" };
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String clientPasswordHash;
+
+    public record SeededDietitian(DataSize size, String email, String token, String refreshToken,
+            List<UUID> foodIds, List<SeededClient> clients) {
+
+        /** The client whose history the per-client endpoints are measured on. */
+        public SeededClient client() {
+            return clients.get(0);
+        }
+    }
+
+    public record SeededClient(UUID id, String email, String token, UUID planId, List<SeededMeal> meals) {
+    }
+
+    public record SeededMeal(UUID id, List<UUID> optionIds) {
+    }
+
+    public SeededDietitian dietitian(DataSize size) throws Exception {
+        String run = size.name() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        String email = "dietitian-" + run + "@example.com";
+        JsonNode auth = post(null, "/api/auth/register", Map.of(
+                "email", email, "password", PASSWORD, "fullName", "Dietitian " + run));
+        String token = auth.at("/accessToken").asText();
+
+        List<UUID> foodIds = new ArrayList<>();
+        for (int f = 0; f < size.foods(); f++) {
+            foodIds.add(id(post(token, "/api/foods", Map.of(
+                    "name", "Food " + run + " " + f, "servingSize", "100", "servingUnit", "g",
+                    "caloriesPerServing", 50 + 17 * f, "proteinGrams", 1 + f % 20,
+                    "carbsGrams", 2 + f % 40, "fatGrams", 1 + f % 15))));
+        }
+
+        List<SeededClient> clients = new ArrayList<>();
+        for (int c = 0; c < size.clients(); c++) {
+            clients.add(client(size, run, c, token, foodIds));
+        }
+        return new SeededDietitian(size, email, token, auth.at("/refreshToken").asText(),
+                List.copyOf(foodIds), List.copyOf(clients));
+    }
+
+    /**
+     * A plan request of the given shape, cycling through {@code foodIds}.
+     */
+    public Map<String, Object> planRequest(String name, UUID clientId, List<UUID> foodIds,
+            int meals, int optionsPerMeal, int itemsPerOption) {
+        List<Map<String, Object>> mealRequests = new ArrayList<>();
+        int food = 0;
+        for (int m = 0; m < meals; m++) {
+            String type = MEAL_TYPES[m % MEAL_TYPES.length];
+            List<Map<String, Object>> options = new ArrayList<>();
+            for (int o = 0; o < optionsPerMeal; o++) {
+                List<Map<String, Object>> items = new ArrayList<>();
+                for (int i = 0; i < itemsPerOption; i++) {
+                    items.add(Map.of("foodId", foodIds.get(food++ % foodIds.size()),
+                            "quantity", 25 + 25 * (i % 6), "quantityUnit", "g"));
+                }
+                options.add(Map.of("name", "Option " + (o + 1), "items", items));
+            }
+            mealRequests.add(Map.of("mealType", type, "name", type.toLowerCase() + " " + m, "options", options));
+        }
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("name", name);
+        request.put("clientId", clientId);
+        request.put("isTemplate", false);
+        request.put("dailyCalories", 2000);
+        request.put("meals", mealRequests);
+        return request;
+    }
+
+    /**
+     * Sends {@code body} as JSON and returns the {@code data} of the response,
+     * failing unless the status is 2xx.
+     */
+    public JsonNode post(String token, String path, Object body) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(path).contentType(MediaType.APPLICATION_JSON);
+        if (body != null) {
+            request.content(objectMapper.writeValueAsString(body));
+        }
+        return send(token, request);
+    }
+
+    public JsonNode send(String token, MockHttpServletRequestBuilder request) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        int status = result.getResponse().getStatus();
+        if (status / 100 != 2) {
+            throw new IllegalStateException(result.getRequest().getRequestURI()
+                    + " returned HTTP " + status + ": " + result.getResponse().getContentAsString());
+        }
+        return objectMapper.readTree(result.getResponse().getContentAsString()).at("/data");
+    }
+
+    public String json(Object body) throws Exception {
+        return objectMapper.writeValueAsString(body);
+    }
+
+    private SeededClient client(DataSize size, String run, int c, String dietitianToken, List<UUID> foodIds)
+            throws Exception {
+        String email = "client-" + run + "-" + c + "@example.com";
+        String fullName = "Client " + run + " " + c;
+        UUID clientId = id(post(dietitianToken, "/api/clients", Map.of(
+                "fullName", fullName, "email", email, "birthDate", "1985-04-12",
+                "heightCm", 160 + c % 30, "gender", c % 2 == 0 ? "FEMALE" : "MALE")));
+
+        JsonNode plan = post(dietitianToken, "/api/meal-plans", planRequest("Plan " + fullName, clientId, foodIds,
+                size.mealsPerPlan(), size.optionsPerMeal(), size.itemsPerOption()));
+        UUID planId = id(plan);
+        post(dietitianToken, "/api/meal-plans/" + planId + "/activate", null);
+        List<SeededMeal> meals = new ArrayList<>();
+        for (JsonNode meal : plan.at("/meals")) {
+            List<UUID> optionIds = new ArrayList<>();
+            for (JsonNode option : meal.at("/options")) {
+                optionIds.add(UUID.fromString(option.at("/id").asText()));
+            }
+            meals.add(new SeededMeal(UUID.fromString(meal.at("/id").asText()), List.copyOf(optionIds)));
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int m = size.measurements(); m > 0; m--) {
+            post(dietitianToken, "/api/clients/" + clientId + "/measurements", Map.of(
+                    "measurementDate", today.minusDays(3L * m).toString(),
+                    "weightKg", 80 - 0.1 * m, "bodyFatPercentage", 28 - 0.05 * m));
+        }
+        post(dietitianToken, "/api/clients/" + clientId + "/goals", Map.of(
+                "goalType", "LOSE_WEIGHT", "activityLevel", "MODERATE"));
+
+        String token = login(clientId, email, fullName);
+        for (int d = size.trackedDays(); d > 0; d--) {
+            String date = today.minusDays(d).toString();
+            for (SeededMeal meal : meals) {
+                post(token, "/api/mobile/tracking/meals", Map.of(
+                        "mealId", meal.id(), "selectedOptionId", meal.optionIds().get(d % meal.optionIds().size()),
+                        "trackingDate", date));
+            }
+            post(token, "/api/mobile/tracking/water", Map.of("amountMl", 250 * (1 + d % 4), "trackingDate", date));
+        }
+        return new SeededClient(clientId, email, token, planId, List.copyOf(meals));
+    }
+
+    private String login(UUID clientId, String email, String fullName) {
+        if (clientPasswordHash == null) {
+            clientPasswordHash = passwordEncoder.encode(PASSWORD);
+        }
+        User user = new TransactionTemplate(transactionManager).execute(status -> {
+            User created = userRepository.save(User.builder()
+                    .email(email)
+                    .passwordHash(clientPasswordHash)
+                    .fullName(fullName)
+                    .role(Role.CLIENT)
+                    .build());
+            clientRepository.findById(clientId).orElseThrow().setUser(created);
+            return created;
+        });
+        return tokenProvider.generateAccessToken(UserPrincipal.fromClaims(
+                user.getId(), email, fullName, Role.CLIENT, clientId));
+    }
+
+    private static UUID id(JsonNode data) {
+        return UUID.fromString(data.at("/id").asText());
+    }
+}
@@ -0,0 +1,144 @@
+package com.dietary.tracking;
+
+import com.dietary.support.StatementBudgetTest;
+import com.dietary.support.TestData.SeededClient;
+import com.dietary.support.TestData.SeededMeal;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class TrackingStatementBudgetTest extends StatementBudgetTest {
+
+    @Test
+    void getDailyPlan() throws Exception {
+        assertStatementBudget(d -> get("/api/mobile/tracking/daily")
+                .header(AUTHORIZATION, bearer(d.client().token())));
+    }
+
+    @Test
+    void getDailyPlanOfATrackedDay() throws Exception {
+        assertStatementBudget(d -> get("/api/mobile/tracking/daily")
+                .param("date", LocalDate.now().minusDays(1).toString())
+                .header(AUTHORIZATION, bearer(d.client().token())));
+    }
+
+    @Test
+    void getDailyPlanNotModified() throws Exception {
+        assertStatementBudget(HttpStatus.NOT_MODIFIED, d -> {
+            MvcResult current = mockMvc.perform(get("/api/mobile/tracking/daily")
+                    .header(AUTHORIZATION, bearer(d.client().token()))).andReturn();
+            return get("/api/mobile/tracking/daily")
+                    .header(AUTHORIZATION, bearer(d.client().token()))
+                    .header(IF_NONE_MATCH, current.getResponse().getHeader(ETAG));
+        });
+    }
+
+    @Test
+    void getDailyPlanOfATrackedDayNotModified() throws Exception {
+        // The tag built with the plan must match the one read from the version columns
+        String date = LocalDate.now().minusDays(1).toString();
+        assertStatementBudget(HttpStatus.NOT_MODIFIED, d -> {
+            MvcResult current = mockMvc.perform(get("/api/mobile/tracking/daily")
+                    .param("date", date)
+                    .header(AUTHORIZATION, bearer(d.client().token()))).andReturn();
+            return get("/api/mobile/tracking/daily")
+                    .param("date", date)
+                    .header(AUTHORIZATION, bearer(d.client().token()))
+                    .header(IF_NONE_MATCH, current.getResponse().getHeader(ETAG));
+        });
+    }
+
+    @Test
+    void getDailyPlanAfterTrackingWithinTheSameSecond() throws Exception {
+        assertStatementBudget(HttpStatus.OK, d -> {
+            MvcResult before = mockMvc.perform(get("/api/mobile/tracking/daily")
+                    .header(AUTHORIZATION, bearer(d.client().token()))).andReturn();
+            SeededMeal meal = d.client().meals().get(1);
+            testData.post(d.client().token(), "/api/mobile/tracking/meals",
+                    Map.of("mealId", meal.id(), "selectedOptionId", meal.optionIds().get(0)));
+            return get("/api/mobile/tracking/daily")
+                    .header(AUTHORIZATION, bearer(d.client().token()))
+                    .header(IF_NONE_MATCH, before.getResponse().getHeader(ETAG));
+        });
+    }
+
+    @Test
+    void getDailyPlanIgnoresIfModifiedSince() throws Exception {
+        // Without a date the URL is the same every day; only the tag tells the days apart
+        assertStatementBudget(HttpStatus.OK, d -> get("/api/mobile/tracking/daily")
+                .header(AUTHORIZATION, bearer(d.client().token()))
+                .header(IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                        ZonedDateTime.now(ZoneOffset.UTC).plusDays(1))));
+    }
+
+    @Test
+    void trackMeal() throws Exception {
+        assertStatementBudget(d -> {
+            SeededMeal meal = d.client().meals().get(0);
+            return post("/api/mobile/tracking/meals")
+                    .header(AUTHORIZATION, bearer(d.client().token()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(testData.json(Map.of("mealId", meal.id(), "selectedOptionId", meal.optionIds().get(1))));
+        });
+    }
+
+    @Test
+    void trackWater() throws Exception {
+        assertStatementBudget(d -> post("/api/mobile/tracking/water")
+                .header(AUTHORIZATION, bearer(d.client().token()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of("amountMl", 300))));
+    }
+
+    @Test
+    void sync() throws Exception {
+        assertStatementBudget(d -> {
+            SeededClient client = d.client();
+            String date = LocalDate.now().minusDays(2).toString();
+            List<Map<String, Object>> events = List.of(
+                    Map.of("idempotencyKey", UUID.randomUUID().toString(), "type", "MEAL",
+                            "mealId", client.meals().get(0).id(),
+                            "selectedOptionId", client.meals().get(0).optionIds().get(0), "trackingDate", date),
+                    Map.of("idempotencyKey", UUID.randomUUID().toString(), "type", "MEAL",
+                            "mealId", client.meals().get(1).id(),
+                            "selectedOptionId", client.meals().get(1).optionIds().get(1), "trackingDate", date),
+                    Map.of("idempotencyKey", UUID.randomUUID().toString(), "type", "WATER",
+                            "amountMl", 250, "trackingDate", date),
+                    Map.of("idempotencyKey", UUID.randomUUID().toString(), "type", "WATER", "amountMl", 500));
+            return post("/api/mobile/tracking/sync")
+                    .header(AUTHORIZATION, bearer(client.token()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(testData.json(Map.of("events", events)));
+        });
+    }
+
+    @Test
+    void getProgress() throws Exception {
+        assertStatementBudget(d -> get("/api/clients/{clientId}/progress", d.client().id())
+                .param("fromDate", LocalDate.now().minusDays(90).toString())
+                .param("toDate", LocalDate.now().toString())
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+
+    @Test
+    void getDashboard() throws Exception {
+        assertStatementBudget(d -> get("/api/dashboard")
+                .header(AUTHORIZATION, bearer(d.token())));
+    }
+}
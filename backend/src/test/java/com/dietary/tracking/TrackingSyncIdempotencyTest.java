@@ -0,0 +1,101 @@
+package com.dietary.tracking;
+
+import com.dietary.support.DataSize;
+import com.dietary.support.IntegrationTest;
+import com.dietary.support.TestData.SeededClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Idempotency keys of offline tracking events: replays of a batch, even at
+ * the same time as a flaky connection makes the app send them, apply each
+ * event once, and a rejected event can be sent again once corrected.
+ */
+class TrackingSyncIdempotencyTest extends IntegrationTest {
+
+    private static final int REPLAYS = 6;
+
+    @Test
+    void concurrentReplaysApplyEachEventOnce() throws Exception {
+        SeededClient client = testData.dietitian(DataSize.SMALL).client();
+        String date = LocalDate.now().minusDays(40).toString();
+        List<Map<String, Object>> events = List.of(
+                Map.of("idempotencyKey", UUID.randomUUID().toString(), "type", "MEAL",
+                        "mealId", client.meals().get(0).id(),
+                        "selectedOptionId", client.meals().get(0).optionIds().get(0), "trackingDate", date),
+                Map.of("idempotencyKey", UUID.randomUUID().toString(), "type", "MEAL",
+                        "mealId", client.meals().get(1).id(),
+                        "selectedOptionId", client.meals().get(1).optionIds().get(0), "trackingDate", date),
+                Map.of("idempotencyKey", UUID.randomUUID().toString(), "type", "WATER",
+                        "amountMl", 250, "trackingDate", date),
+                Map.of("idempotencyKey", UUID.randomUUID().toString(), "type", "WATER",
+                        "amountMl", 500, "trackingDate", date));
+        String body = testData.json(Map.of("events", events));
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(REPLAYS);
+        List<Future<JsonNode>> replays = new ArrayList<>();
+        try {
+            for (int i = 0; i < REPLAYS; i++) {
+                replays.add(executor.submit(() -> {
+                    start.await();
+                    return testData.send(client.token(), post("/api/mobile/tracking/sync")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body));
+                }));
+            }
+            start.countDown();
+
+            int applied = 0;
+            int duplicates = 0;
+            for (Future<JsonNode> replay : replays) {
+                JsonNode result = replay.get();
+                applied += result.at("/applied").asInt();
+                duplicates += result.at("/duplicates").asInt();
+            }
+            assertThat(applied).as("events applied").isEqualTo(events.size());
+            assertThat(duplicates).as("events reported as duplicates").isEqualTo((REPLAYS - 1) * events.size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        JsonNode day = testData.send(client.token(), get("/api/mobile/tracking/daily").param("date", date));
+        assertThat(day.at("/totalWaterMl").asInt()).isEqualTo(750);
+        assertThat(day.at("/mealsCompleted").asInt()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectedEventsCanBeReplayedOnceCorrected() throws Exception {
+        SeededClient client = testData.dietitian(DataSize.SMALL).client();
+        String key = UUID.randomUUID().toString();
+        Map<String, Object> withoutOption = Map.of("idempotencyKey", key, "type", "MEAL",
+                "mealId", client.meals().get(0).id());
+        Map<String, Object> corrected = Map.of("idempotencyKey", key, "type", "MEAL",
+                "mealId", client.meals().get(0).id(), "selectedOptionId", client.meals().get(0).optionIds().get(0));
+
+        assertThat(sync(client, withoutOption).at("/rejected").asInt()).isEqualTo(1);
+        assertThat(sync(client, corrected).at("/applied").asInt()).isEqualTo(1);
+        assertThat(sync(client, corrected).at("/duplicates").asInt()).isEqualTo(1);
+    }
+
+    private JsonNode sync(SeededClient client, Map<String, Object> event) throws Exception {
+        return testData.send(client.token(), post("/api/mobile/tracking/sync")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(testData.json(Map.of("events", List.of(event)))));
+    }
+}